@@ -0,0 +1,39 @@
+package com.extended.list;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+/**
+ * Concurrent appends take different indexes and both elements are written.<br>
+ * Result: size, element 0, element 1. Lost or overwritten element is forbidden
+ */
+@JCStressTest
+@Outcome(id = "2, 1, 2", expect = Expect.ACCEPTABLE, desc = "The first actor appended first")
+@Outcome(id = "2, 2, 1", expect = Expect.ACCEPTABLE, desc = "The second actor appended first")
+@State
+public class AddAddStressTest {
+
+  private final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+  @Actor
+  public void actor1() {
+    list.add(1);
+  }
+
+  @Actor
+  public void actor2() {
+    list.add(2);
+  }
+
+  @Arbiter
+  public void arbiter(final III_Result r) {
+    r.r1 = list.size();
+    r.r2 = StressResults.valueOf(list, 0);
+    r.r3 = StressResults.valueOf(list, 1);
+  }
+}
@@ -0,0 +1,36 @@
+package com.extended.list;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+/**
+ * Reader sees the size and then reads the last element while another thread appends.<br>
+ * Result: size seen by reader, the last element. Pending element isn't counted by size, so size 1 with
+ * <code>null</code> element is forbidden
+ */
+@JCStressTest
+@Outcome(id = "0, -1", expect = Expect.ACCEPTABLE, desc = "Reader was first")
+@Outcome(id = "1, 42", expect = Expect.ACCEPTABLE, desc = "Reader saw the appended element")
+@Outcome(id = "1, 0", expect = Expect.FORBIDDEN, desc = "Size counts the element which isn't written yet")
+@State
+public class AddGetStressTest {
+
+  private final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+  @Actor
+  public void actor1() {
+    list.add(42);
+  }
+
+  @Actor
+  public void actor2(final II_Result r) {
+    final int size = list.size();
+
+    r.r1 = size;
+    r.r2 = size == 0 ? StressResults.OUT_OF_BOUND : StressResults.valueOf(list, size - 1);
+  }
+}
@@ -0,0 +1,47 @@
+package com.extended.list;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.IIII_Result;
+
+/**
+ * Append to the list [1] races with removal of the last element and the next append, so the index 1 can be written
+ * by add, cleared by remove and written again by add while the first write operation is still helped.<br>
+ * Result: removed element, size, element 0, element 1. Late helper which writes the old element over the new one or
+ * clears it is forbidden
+ */
+@JCStressTest
+@Outcome(id = "2, 2, 1, 3", expect = Expect.ACCEPTABLE, desc = "2 was appended and removed, then 3 was appended")
+@Outcome(id = "1, 2, 2, 3", expect = Expect.ACCEPTABLE, desc = "1 was removed, then 2 and 3 were appended")
+@Outcome(id = "1, 2, 3, 2", expect = Expect.ACCEPTABLE, desc = "1 was removed, then 3 and 2 were appended")
+@State
+public class AddRemoveAddStressTest {
+
+  private final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+  public AddRemoveAddStressTest() {
+    list.add(1);
+  }
+
+  @Actor
+  public void actor1() {
+    list.add(2);
+  }
+
+  @Actor
+  public void actor2(final IIII_Result r) {
+    r.r1 = StressResults.valueOf(list.remove(0));
+    list.add(3);
+  }
+
+  @Arbiter
+  public void arbiter(final IIII_Result r) {
+    r.r2 = list.size();
+    r.r3 = StressResults.valueOf(list, 0);
+    r.r4 = StressResults.valueOf(list, 1);
+  }
+}
@@ -0,0 +1,42 @@
+package com.extended.list;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+/**
+ * Append to the list of <code>int</code> [1] races with removal of its last element.<br>
+ * Result: removed element, size, element 0. Remove of the element which isn't written yet is forbidden
+ */
+@JCStressTest
+@Outcome(id = "1, 1, 2", expect = Expect.ACCEPTABLE, desc = "Remove was first, then 2 was appended")
+@Outcome(id = "2, 1, 1", expect = Expect.ACCEPTABLE, desc = "Append was first, then 2 was removed")
+@State
+public class IntAddRemoveStressTest {
+
+  private final ExtendedIntList list = new ExtendedIntList();
+
+  public IntAddRemoveStressTest() {
+    list.addInt(1);
+  }
+
+  @Actor
+  public void actor1() {
+    list.addInt(2);
+  }
+
+  @Actor
+  public void actor2(final III_Result r) {
+    r.r1 = list.removeInt(0);
+  }
+
+  @Arbiter
+  public void arbiter(final III_Result r) {
+    r.r2 = list.size();
+    r.r3 = StressResults.valueOf(list, 0);
+  }
+}
@@ -0,0 +1,48 @@
+package com.extended.list;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+/**
+ * Replacing of the last element of the list of <code>int</code> [1, 2] races with its removal. Set is published
+ * through the descriptor like remove, so one of them fails its CAS and is repeated.<br>
+ * Result: old value returned by set, removed element, size
+ */
+@JCStressTest
+@Outcome(id = "2, 3, 1", expect = Expect.ACCEPTABLE, desc = "Set was first, remove returned the new value")
+@Outcome(id = "-1, 2, 1", expect = Expect.ACCEPTABLE, desc = "Remove was first, set failed by bounds")
+@Outcome(id = "2, 2, 1", expect = Expect.FORBIDDEN, desc = "Remove returned the value replaced by successful set")
+@State
+public class IntSetRemoveStressTest {
+
+  private final ExtendedIntList list = new ExtendedIntList();
+
+  public IntSetRemoveStressTest() {
+    list.addInt(1);
+    list.addInt(2);
+  }
+
+  @Actor
+  public void actor1(final III_Result r) {
+    try {
+      r.r1 = list.setInt(1, 3);
+    } catch (final IndexOutOfBoundsException e) {
+      r.r1 = StressResults.OUT_OF_BOUND;
+    }
+  }
+
+  @Actor
+  public void actor2(final III_Result r) {
+    r.r2 = list.removeInt(1);
+  }
+
+  @Arbiter
+  public void arbiter(final III_Result r) {
+    r.r3 = list.size();
+  }
+}
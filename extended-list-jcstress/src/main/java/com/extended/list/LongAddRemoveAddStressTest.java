@@ -0,0 +1,50 @@
+package com.extended.list;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.IIII_Result;
+
+/**
+ * Append to the long-indexed list [1] races with removal of the last element and append of the element which the cell
+ * of index 1 kept before, like {@link PackedAddRemoveAddStressTest}.<br>
+ * Result: removed element, size, element 0, element 1. Late helper which writes 2 over the appended 3 is forbidden
+ */
+@JCStressTest
+@Outcome(id = "2, 2, 1, 3", expect = Expect.ACCEPTABLE, desc = "2 was appended and removed, then 3 was appended")
+@Outcome(id = "1, 2, 2, 3", expect = Expect.ACCEPTABLE, desc = "1 was removed, then 2 and 3 were appended")
+@Outcome(id = "1, 2, 3, 2", expect = Expect.ACCEPTABLE, desc = "1 was removed, then 3 and 2 were appended")
+@Outcome(id = "2, 2, 1, 2", expect = Expect.FORBIDDEN, desc = "Late helper wrote 2 over the appended 3")
+@State
+public class LongAddRemoveAddStressTest {
+
+  private final LongExtendedList<Integer> list = new LongExtendedList<Integer>();
+
+  public LongAddRemoveAddStressTest() {
+    // Remove doesn't clear the cell, so the cell of index 1 keeps 3
+    list.add(1);
+    list.add(3);
+    list.remove();
+  }
+
+  @Actor
+  public void actor1() {
+    list.add(2);
+  }
+
+  @Actor
+  public void actor2(final IIII_Result r) {
+    r.r1 = StressResults.valueOf(list.remove());
+    list.add(3);
+  }
+
+  @Arbiter
+  public void arbiter(final IIII_Result r) {
+    r.r2 = (int) list.longSize();
+    r.r3 = StressResults.valueOf(list, 0);
+    r.r4 = StressResults.valueOf(list, 1);
+  }
+}
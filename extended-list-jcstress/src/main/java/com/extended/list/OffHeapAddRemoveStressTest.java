@@ -0,0 +1,45 @@
+package com.extended.list;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+/**
+ * Append to the off-heap list [1] races with removal of its last element.<br>
+ * Result: removed element, size, element 0. Remove of the record which isn't encoded yet is forbidden. Buckets are
+ * freed by the arbiter, so states of the test don't wait for GC to release direct memory
+ */
+@JCStressTest
+@Outcome(id = "1, 1, 2", expect = Expect.ACCEPTABLE, desc = "Remove was first, then 2 was appended")
+@Outcome(id = "2, 1, 1", expect = Expect.ACCEPTABLE, desc = "Append was first, then 2 was removed")
+@State
+public class OffHeapAddRemoveStressTest {
+
+  private final OffHeapExtendedList<Integer> list = new OffHeapExtendedList<Integer>(Codecs.INT);
+
+  public OffHeapAddRemoveStressTest() {
+    list.add(1);
+  }
+
+  @Actor
+  public void actor1() {
+    list.add(2);
+  }
+
+  @Actor
+  public void actor2(final III_Result r) {
+    r.r1 = StressResults.valueOf(list.remove(0));
+  }
+
+  @Arbiter
+  public void arbiter(final III_Result r) {
+    r.r2 = list.size();
+    r.r3 = StressResults.valueOf(list, 0);
+
+    list.close();
+  }
+}
@@ -0,0 +1,61 @@
+package com.extended.list;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+/**
+ * Append to the record list [1] races with removal of its last element. The element is one <code>int</code> column.
+ * <br>
+ * Result: removed element, size, element 0. Remove of the element whose fields aren't written yet is forbidden
+ */
+@JCStressTest
+@Outcome(id = "1, 1, 2", expect = Expect.ACCEPTABLE, desc = "Remove was first, then 2 was appended")
+@Outcome(id = "2, 1, 1", expect = Expect.ACCEPTABLE, desc = "Append was first, then 2 was removed")
+@State
+public class RecordAddRemoveStressTest {
+
+  private static final RecordCodec<Integer> INT_CODEC = new RecordCodec.Ints<Integer>() {
+
+    @Override
+    public Integer read(final Fields fields) {
+      return fields.getInt(0);
+    }
+
+    @Override
+    public int intFields() {
+      return 1;
+    }
+
+    @Override
+    public int getInt(final Integer element, final int field) {
+      return element;
+    }
+  };
+
+  private final ExtendedRecordList<Integer> list = new ExtendedRecordList<Integer>(INT_CODEC);
+
+  public RecordAddRemoveStressTest() {
+    list.add(1);
+  }
+
+  @Actor
+  public void actor1() {
+    list.add(2);
+  }
+
+  @Actor
+  public void actor2(final III_Result r) {
+    r.r1 = StressResults.valueOf(list.remove(0));
+  }
+
+  @Arbiter
+  public void arbiter(final III_Result r) {
+    r.r2 = list.size();
+    r.r3 = StressResults.valueOf(list, 0);
+  }
+}
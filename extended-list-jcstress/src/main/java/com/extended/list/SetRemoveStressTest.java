@@ -0,0 +1,49 @@
+package com.extended.list;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+/**
+ * Replacing of the last element of the list [1, 2] races with its removal.<br>
+ * Result: old value returned by set, removed element, size. Set which is decided after remove took the index fails by
+ * bounds, and remove returns the value which it cleared, so the new value is never lost
+ */
+@JCStressTest
+@Outcome(id = "2, 3, 1", expect = Expect.ACCEPTABLE, desc = "Set was first, remove returned the new value")
+@Outcome(id = "-1, 2, 1", expect = Expect.ACCEPTABLE, desc = "Remove was first, set failed by bounds")
+@Outcome(id = "2, 2, 1", expect = Expect.FORBIDDEN, desc = "Remove cleared the value written by successful set")
+@Outcome(id = "0, 2, 1", expect = Expect.FORBIDDEN, desc = "Set wrote the slot cleared by remove")
+@State
+public class SetRemoveStressTest {
+
+  private final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+  public SetRemoveStressTest() {
+    list.add(1);
+    list.add(2);
+  }
+
+  @Actor
+  public void actor1(final III_Result r) {
+    try {
+      r.r1 = StressResults.valueOf(list.set(1, 3));
+    } catch (final IndexOutOfBoundsException e) {
+      r.r1 = StressResults.OUT_OF_BOUND;
+    }
+  }
+
+  @Actor
+  public void actor2(final III_Result r) {
+    r.r2 = StressResults.valueOf(list.remove(1));
+  }
+
+  @Arbiter
+  public void arbiter(final III_Result r) {
+    r.r3 = list.size();
+  }
+}
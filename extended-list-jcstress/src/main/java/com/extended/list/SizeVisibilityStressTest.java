@@ -0,0 +1,34 @@
+package com.extended.list;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+/**
+ * Reader reads the size twice while another thread appends two elements.<br>
+ * Result: the first size, the second size. Size never goes back, so the second size less than the first one is
+ * forbidden
+ */
+@JCStressTest
+@Outcome(id = { "0, 0", "0, 1", "0, 2", "1, 1", "1, 2", "2, 2" }, expect = Expect.ACCEPTABLE, desc = "Size grows")
+@Outcome(id = { "1, 0", "2, 0", "2, 1" }, expect = Expect.FORBIDDEN, desc = "Size went back")
+@State
+public class SizeVisibilityStressTest {
+
+  private final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+  @Actor
+  public void actor1() {
+    list.add(1);
+    list.add(2);
+  }
+
+  @Actor
+  public void actor2(final II_Result r) {
+    r.r1 = list.size();
+    r.r2 = list.size();
+  }
+}
@@ -0,0 +1,42 @@
+package com.extended.list;
+
+import java.util.List;
+
+/**
+ * Encodes elements of lists as <code>int</code> results of stress tests
+ */
+final class StressResults {
+
+  /**
+   * The element is <code>null</code>
+   */
+  static final int NULL         = 0;
+
+  /**
+   * The index is out of bounds
+   */
+  static final int OUT_OF_BOUND = -1;
+
+  private StressResults() {
+  }
+
+  static int valueOf(final List<Integer> list, final int index) {
+    try {
+      return valueOf(list.get(index));
+    } catch (final IndexOutOfBoundsException e) {
+      return OUT_OF_BOUND;
+    }
+  }
+
+  static int valueOf(final LongExtendedList<Integer> list, final long index) {
+    try {
+      return valueOf(list.get(index));
+    } catch (final IndexOutOfBoundsException e) {
+      return OUT_OF_BOUND;
+    }
+  }
+
+  static int valueOf(final Integer element) {
+    return element == null ? NULL : element;
+  }
+}
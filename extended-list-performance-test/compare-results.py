@@ -0,0 +1,81 @@
+#!/usr/bin/env python3
+"""Compares JMH JSON results with a stored baseline and flags regressions.
+
+Usage: compare-results.py BASELINE CURRENT [--threshold 0.1]
+
+BASELINE and CURRENT are JSON files written by RunMicrobenchmarks or directories
+with such files. Benchmarks are matched by name, mode, threads and params.
+A benchmark regresses when its score is worse than the baseline by more than the
+threshold and the difference is larger than the sum of both score errors.
+Throughput is better when it is higher, all other modes when they are lower.
+Exit code is 1 if any benchmark regressed.
+"""
+
+import argparse
+import glob
+import json
+import math
+import os
+import sys
+
+
+def load(path):
+    files = sorted(glob.glob(os.path.join(path, "*.json"))) if os.path.isdir(path) else [path]
+    results = {}
+
+    for file in files:
+        with open(file) as f:
+            for run in json.load(f):
+                params = ",".join("%s=%s" % item for item in sorted(run.get("params", {}).items()))
+                key = (run["benchmark"], run["mode"], run["threads"], params)
+                results[key] = run["primaryMetric"]
+
+    return results
+
+
+def error(metric):
+    value = metric.get("scoreError", 0)
+    return 0 if value in (None, "NaN") or math.isnan(value) else value
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Flags JMH regressions against a baseline run")
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=0.1, help="allowed relative change, 0.1 by default")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+    regressions = 0
+
+    for key in sorted(current):
+        if key not in baseline:
+            continue
+
+        old, new = baseline[key], current[key]
+        change = (new["score"] - old["score"]) / old["score"] if old["score"] else 0
+
+        # Lower is better for time modes
+        worse = -change if key[1] == "thrpt" else change
+        significant = abs(new["score"] - old["score"]) > error(old) + error(new)
+
+        status = "REGRESSION" if worse > args.threshold and significant else "ok"
+        if status != "ok":
+            regressions += 1
+
+        name, mode, threads, params = key
+        print("%-10s %-60s %-6s %3s threads %-50s %12.3f -> %12.3f %s (%+.1f%%)" % (status, name.split(".")[-2] + "."
+              + name.split(".")[-1], mode, threads, params, old["score"], new["score"], new["scoreUnit"], change * 100))
+
+    missing = sorted(set(baseline) - set(current))
+    for key in missing:
+        print("%-10s %s %s %s threads %s" % ("MISSING", key[0], key[1], key[2], key[3]))
+
+    print("%d regressions of %d benchmarks" % (regressions, len(current)))
+
+    return 1 if regressions else 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
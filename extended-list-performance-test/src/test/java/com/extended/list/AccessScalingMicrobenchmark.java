@@ -0,0 +1,159 @@
+package com.extended.list;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Random get and set of lists from 10^3 to 10^8 elements.<br>
+ * <code>get</code> and <code>set</code> scale by count of threads given to the runner, groups mix readers and writers
+ * 3:1 and 1:3. {@link AtomicReferenceArray} is the baseline without any resizing. Elements are taken from the small
+ * pool, so the lists keep only references.<br>
+ * The suite is run by {@link RunMicrobenchmarks}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AccessScalingMicrobenchmark {
+  private static final int POOL_SIZE = 1024;
+  private static final A[] POOL      = new A[POOL_SIZE];
+
+  static {
+    for (int i = 0; i < POOL_SIZE; i++)
+      POOL[i] = new A(i);
+  }
+
+  @Param({ "1000", "10000", "100000", "1000000", "10000000", "100000000" })
+  private int              size;
+
+  @Param({ "ExtendedList", "Vector", "SynchronizedList", "CopyOnWriteArrayList", "AtomicReferenceArray" })
+  private String           implementation;
+
+  private List<A>          list;
+
+  @Setup
+  public void setUp() {
+    final ArrayList<A> elements = new ArrayList<A>(size);
+    for (int i = 0; i < size; i++)
+      elements.add(POOL[i % POOL_SIZE]);
+
+    list = newList(implementation, elements);
+  }
+
+  /**
+   * Copies elements to the list at once, so copy-on-write list isn't filled by n copies
+   */
+  static List<A> newList(final String implementation, final ArrayList<A> elements) {
+    switch (implementation) {
+    case "ExtendedList":
+      final ExtendedList<A> extendedList = new ExtendedList<A>();
+      extendedList.addAll(elements);
+      return extendedList;
+    case "Vector":
+      return new Vector<A>(elements);
+    case "SynchronizedList":
+      return Collections.synchronizedList(new ArrayList<A>(elements));
+    case "CopyOnWriteArrayList":
+      return new CopyOnWriteArrayList<A>(elements);
+    case "AtomicReferenceArray":
+      return new AtomicReferenceArrayList(elements.toArray(new A[elements.size()]));
+    default:
+      throw new IllegalArgumentException("Implementation: " + implementation);
+    }
+  }
+
+  private int nextIndex() {
+    return ThreadLocalRandom.current().nextInt(size);
+  }
+
+  private int getRandom() {
+    return list.get(nextIndex()).i;
+  }
+
+  private A setRandom() {
+    final int index = nextIndex();
+
+    return list.set(index, POOL[index % POOL_SIZE]);
+  }
+
+  @Benchmark
+  public int get() {
+    return getRandom();
+  }
+
+  @Benchmark
+  public A set() {
+    return setRandom();
+  }
+
+  @Benchmark
+  @Group("readMostly")
+  @GroupThreads(3)
+  public int readMostlyGet() {
+    return getRandom();
+  }
+
+  @Benchmark
+  @Group("readMostly")
+  @GroupThreads(1)
+  public A readMostlySet() {
+    return setRandom();
+  }
+
+  @Benchmark
+  @Group("writeMostly")
+  @GroupThreads(1)
+  public int writeMostlyGet() {
+    return getRandom();
+  }
+
+  @Benchmark
+  @Group("writeMostly")
+  @GroupThreads(3)
+  public A writeMostlySet() {
+    return setRandom();
+  }
+
+  /**
+   * Fixed size list over {@link AtomicReferenceArray}
+   */
+  private static class AtomicReferenceArrayList extends AbstractList<A> {
+    private final AtomicReferenceArray<A> array;
+
+    AtomicReferenceArrayList(final A[] elements) {
+      array = new AtomicReferenceArray<A>(elements);
+    }
+
+    @Override
+    public A get(final int index) {
+      return array.get(index);
+    }
+
+    @Override
+    public A set(final int index, final A element) {
+      return array.getAndSet(index, element);
+    }
+
+    @Override
+    public int size() {
+      return array.length();
+    }
+  }
+}
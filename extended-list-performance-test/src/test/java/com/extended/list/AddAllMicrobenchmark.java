@@ -0,0 +1,76 @@
+package com.extended.list;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares appending of batches by one <code>addAll</code> with appending them by <code>add</code> in a loop.<br>
+ * All threads append to the same list, so the descriptor CAS is contended.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AddAllMicrobenchmark {
+  private static final int     BATCH_SIZE = 100;
+  private static final A[]     BUFFER     = new A[BATCH_SIZE];
+  private static final List<A> BATCH      = Arrays.asList(BUFFER);
+
+  private ExtendedList<A>      extendedList;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random();
+    for (int i = 0; i < BATCH_SIZE; i++)
+      BUFFER[i] = new A(random.nextInt());
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpEachIteration() {
+    extendedList = new ExtendedList<A>();
+  }
+
+  @Benchmark
+  public List<A> addInLoopExtendedList() {
+    for (int i = 0; i < BATCH_SIZE; i++)
+      extendedList.add(BUFFER[i]);
+
+    return extendedList;
+  }
+
+  @Benchmark
+  public List<A> addAllCollectionExtendedList() {
+    extendedList.addAll(BATCH);
+
+    return extendedList;
+  }
+
+  @Benchmark
+  public List<A> addAllArrayExtendedList() {
+    extendedList.addAll(BUFFER, 0, BATCH_SIZE);
+
+    return extendedList;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(AddAllMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).threads(8).forks(1).build();
+
+    new Runner(opt).run();
+  }
+
+}
@@ -0,0 +1,107 @@
+package com.extended.list;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Shows latency distribution of add: every iteration starts from empty lists, so adds cross borders of many buckets.<br>
+ * Percentiles p99.9 and higher show allocation of buckets in the hot path and its removal by preallocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AddLatencyMicrobenchmark {
+  private static final A   ELEMENT  = new A(0);
+
+  /**
+   * Capacity of list with ensureCapacity
+   */
+  private static final int CAPACITY = 1 << 27;
+
+  private ExecutorService  preallocationExecutor;
+
+  private ExtendedList<A>  extendedList;
+  private ExtendedList<A>  ensuredExtendedList;
+  private ExtendedList<A>  preallocatedExtendedList;
+  private ExtendedList<A>  backgroundExtendedList;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    preallocationExecutor = Executors.newSingleThreadExecutor();
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpEachIteration() {
+    extendedList = new ExtendedList<A>();
+
+    ensuredExtendedList = new ExtendedList<A>();
+    ensuredExtendedList.ensureCapacity(CAPACITY);
+
+    preallocatedExtendedList = new ExtendedList<A>(0.5);
+    backgroundExtendedList = new ExtendedList<A>(0.5, preallocationExecutor);
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDownEachIteration() {
+    extendedList = null;
+    ensuredExtendedList = null;
+    preallocatedExtendedList = null;
+    backgroundExtendedList = null;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    preallocationExecutor.shutdown();
+  }
+
+  @Benchmark
+  public List<A> addExtendedList() {
+    extendedList.add(ELEMENT);
+
+    return extendedList;
+  }
+
+  @Benchmark
+  public List<A> addEnsuredExtendedList() {
+    ensuredExtendedList.add(ELEMENT);
+
+    return ensuredExtendedList;
+  }
+
+  @Benchmark
+  public List<A> addPreallocatedExtendedList() {
+    preallocatedExtendedList.add(ELEMENT);
+
+    return preallocatedExtendedList;
+  }
+
+  @Benchmark
+  public List<A> addBackgroundPreallocatedExtendedList() {
+    backgroundExtendedList.add(ELEMENT);
+
+    return backgroundExtendedList;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(AddLatencyMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).threads(8).forks(1).jvmArgsAppend("-Xmx8g").build();
+
+    new Runner(opt).run();
+  }
+}
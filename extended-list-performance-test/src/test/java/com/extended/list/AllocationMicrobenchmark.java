@@ -0,0 +1,83 @@
+package com.extended.list;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares allocation rate of add/remove of {@link ExtendedList} and {@link PackedExtendedList}.<br>
+ * GC profiler reports allocated bytes per operation, all threads work with the same list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AllocationMicrobenchmark {
+  private static final A        ELEMENT = new A(0);
+
+  private ExtendedList<A>       extendedList;
+  private PackedExtendedList<A> packedExtendedList;
+
+  @Setup(Level.Iteration)
+  public void setUpEachIteration() {
+    extendedList = new ExtendedList<A>();
+    packedExtendedList = new PackedExtendedList<A>();
+  }
+
+  @Benchmark
+  public List<A> addExtendedList() {
+    extendedList.add(ELEMENT);
+
+    return extendedList;
+  }
+
+  @Benchmark
+  public List<A> addPackedExtendedList() {
+    packedExtendedList.add(ELEMENT);
+
+    return packedExtendedList;
+  }
+
+  @Benchmark
+  public A addRemoveExtendedList() {
+    extendedList.add(ELEMENT);
+
+    try {
+      return extendedList.remove(0);
+    } catch (final IndexOutOfBoundsException e) {
+      // Another thread removed the element
+      return null;
+    }
+  }
+
+  @Benchmark
+  public A addRemovePackedExtendedList() {
+    packedExtendedList.add(ELEMENT);
+
+    try {
+      return packedExtendedList.remove(0);
+    } catch (final IndexOutOfBoundsException e) {
+      // Another thread removed the element
+      return null;
+    }
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(AllocationMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).addProfiler(GCProfiler.class).threads(8).forks(1).build();
+
+    new Runner(opt).run();
+  }
+}
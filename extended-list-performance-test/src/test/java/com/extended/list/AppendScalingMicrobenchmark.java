@@ -0,0 +1,100 @@
+package com.extended.list;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Appends to collections which already keep from 10^3 to 10^8 elements.<br>
+ * <code>add</code> scales by count of threads given to the runner, <code>appendRead</code> group has one writer and
+ * three readers of random elements. {@link ConcurrentLinkedQueue} is the baseline of lock-free append, its readers
+ * peek the head. {@link java.util.concurrent.CopyOnWriteArrayList} isn't measured, it copies the whole array on every
+ * add.<br>
+ * The suite is run by {@link RunMicrobenchmarks}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AppendScalingMicrobenchmark {
+  private static final A ELEMENT = new A(0);
+
+  @Param({ "1000", "10000", "100000", "1000000", "10000000", "100000000" })
+  private int            size;
+
+  @Param({ "ExtendedList", "Vector", "SynchronizedList", "ConcurrentLinkedQueue" })
+  private String         implementation;
+
+  private Collection<A>  collection;
+
+  /**
+   * The same collection for random reading, <code>null</code> for queue
+   */
+  private List<A>        list;
+
+  @Setup(Level.Iteration)
+  public void setUpEachIteration() {
+    final ArrayList<A> elements = new ArrayList<A>(Collections.nCopies(size, ELEMENT));
+
+    switch (implementation) {
+    case "ExtendedList":
+      final ExtendedList<A> extendedList = new ExtendedList<A>();
+      extendedList.addAll(elements);
+      list = extendedList;
+      break;
+    case "Vector":
+      list = new Vector<A>(elements);
+      break;
+    case "SynchronizedList":
+      list = Collections.synchronizedList(new ArrayList<A>(elements));
+      break;
+    case "ConcurrentLinkedQueue":
+      list = null;
+      collection = new ConcurrentLinkedQueue<A>(elements);
+      return;
+    default:
+      throw new IllegalArgumentException("Implementation: " + implementation);
+    }
+
+    collection = list;
+  }
+
+  @Benchmark
+  public boolean add() {
+    return collection.add(ELEMENT);
+  }
+
+  @Benchmark
+  @Group("appendRead")
+  @GroupThreads(1)
+  public boolean appendReadAdd() {
+    return collection.add(ELEMENT);
+  }
+
+  @Benchmark
+  @Group("appendRead")
+  @GroupThreads(3)
+  public A appendReadGet() {
+    if (list == null)
+      return ((ConcurrentLinkedQueue<A>) collection).peek();
+
+    // Elements below the initial size are always there
+    return list.get(ThreadLocalRandom.current().nextInt(size));
+  }
+}
@@ -0,0 +1,132 @@
+package com.extended.list;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures checkpoint and restore through {@link FileChannel}: {@link ExtendedList} with codec, {@link ExtendedLongList}
+ * with bulk copying of buckets and Java serialization of {@link ArrayList}.<br>
+ * Every checkpoint keeps <code>size * 8</code> bytes, so GB/s is <code>size * 8 / time</code>. The file stays in page
+ * cache, so the benchmark measures copying rather than the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CheckpointMicrobenchmark {
+
+  @Param({ "1000000", "10000000" })
+  private int                size;
+
+  private ExtendedList<Long> extendedList;
+  private ExtendedLongList   extendedLongList;
+  private ArrayList<Long>    arrayList;
+
+  private Path               file;
+  private Path               listFile;
+  private Path               longListFile;
+
+  @Setup
+  public void setUp() throws IOException {
+    extendedList = new ExtendedList<Long>();
+    extendedLongList = new ExtendedLongList();
+    arrayList = new ArrayList<Long>(size);
+
+    for (long i = 0; i < size; i++) {
+      extendedList.add(i);
+      extendedLongList.addLong(i);
+      arrayList.add(i);
+    }
+
+    file = Files.createTempFile("checkpoint", ".bin");
+    listFile = Files.createTempFile("checkpoint-list", ".bin");
+    longListFile = Files.createTempFile("checkpoint-long-list", ".bin");
+
+    try (final FileChannel channel = FileChannel.open(listFile, StandardOpenOption.WRITE)) {
+      extendedList.writeTo(channel, Codecs.LONG);
+    }
+
+    try (final FileChannel channel = FileChannel.open(longListFile, StandardOpenOption.WRITE)) {
+      extendedLongList.writeTo(channel);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.delete(file);
+    Files.delete(listFile);
+    Files.delete(longListFile);
+  }
+
+  @Benchmark
+  public long writeExtendedList() throws IOException {
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      extendedList.writeTo(channel, Codecs.LONG);
+
+      return channel.size();
+    }
+  }
+
+  @Benchmark
+  public long writeExtendedLongList() throws IOException {
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      extendedLongList.writeTo(channel);
+
+      return channel.size();
+    }
+  }
+
+  @Benchmark
+  public long serializeArrayList() throws IOException {
+    try (final ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+      out.writeObject(arrayList);
+    }
+
+    return Files.size(file);
+  }
+
+  @Benchmark
+  public long readFromExtendedList() throws IOException {
+    try (final FileChannel channel = FileChannel.open(listFile, StandardOpenOption.READ)) {
+      final ExtendedList<Long> list = ExtendedList.readFrom(channel, Codecs.LONG);
+
+      return list.get(list.size() - 1);
+    }
+  }
+
+  @Benchmark
+  public long readFromExtendedLongList() throws IOException {
+    try (final FileChannel channel = FileChannel.open(longListFile, StandardOpenOption.READ)) {
+      final ExtendedLongList list = ExtendedLongList.readFrom(channel);
+
+      return list.getLong(list.size() - 1);
+    }
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(CheckpointMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).forks(1).jvmArgs("-Xmx8g").build();
+
+    new Runner(opt).run();
+  }
+}
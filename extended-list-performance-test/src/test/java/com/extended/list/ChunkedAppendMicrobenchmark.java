@@ -0,0 +1,76 @@
+package com.extended.list;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares appending by {@link ChunkedAppender} with appending by <code>add</code>.<br>
+ * All threads append to the same list, every thread has its own appender. Throughput is measured from 1 to 64
+ * threads, <code>add</code> CASes the descriptor for every element and appender once per chunk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkedAppendMicrobenchmark {
+  private static final A  ELEMENT = new A(0);
+
+  @Param({ "64", "1024" })
+  private int             chunkSize;
+
+  private ExtendedList<A> extendedList;
+
+  @Setup(Level.Iteration)
+  public void setUpEachIteration() {
+    extendedList = new ExtendedList<A>();
+  }
+
+  @State(Scope.Thread)
+  public static class Producer {
+    private ChunkedAppender<A> appender;
+
+    @Setup(Level.Iteration)
+    public void setUpEachIteration(final ChunkedAppendMicrobenchmark benchmark) {
+      appender = benchmark.extendedList.appender(benchmark.chunkSize);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownEachIteration() {
+      appender.flush();
+    }
+  }
+
+  @Benchmark
+  public boolean addExtendedList() {
+    return extendedList.add(ELEMENT);
+  }
+
+  @Benchmark
+  public ChunkedAppender<A> addChunkedAppender(final Producer producer) {
+    producer.appender.add(ELEMENT);
+
+    return producer.appender;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    for (int threads = 1; threads <= 64; threads *= 2) {
+      final Options opt = new OptionsBuilder().include(ChunkedAppendMicrobenchmark.class.getSimpleName())
+          .warmupIterations(3).measurementIterations(3).threads(threads).forks(1).build();
+
+      new Runner(opt).run();
+    }
+  }
+}
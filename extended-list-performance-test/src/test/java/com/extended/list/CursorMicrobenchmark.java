@@ -0,0 +1,157 @@
+package com.extended.list;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Producer to consumer handoff through {@link ExtendedList} used as append-only log.<br>
+ * Throughput groups compare batches of {@link Cursor} with reading by index after polling of size and with
+ * {@link ConcurrentLinkedQueue}. <code>roundTrip</code> measures end-to-end latency: the request is added to one list,
+ * echo thread waits for it by cursor and adds the response to another list.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CursorMicrobenchmark {
+  private static final A           ELEMENT = new A(0);
+
+  private ExtendedList<A>          extendedList;
+  private Cursor<A>                cursor;
+  private A[]                      batch;
+  private int                      readIndex;
+  private ConcurrentLinkedQueue<A> concurrentLinkedQueue;
+
+  @Setup(Level.Iteration)
+  public void setUpEachIteration() {
+    extendedList = new ExtendedList<A>();
+    cursor = extendedList.cursor();
+    batch = new A[256];
+    readIndex = 0;
+    concurrentLinkedQueue = new ConcurrentLinkedQueue<A>();
+  }
+
+  @Benchmark
+  @Group("cursor")
+  @GroupThreads(1)
+  public boolean addCursor() {
+    return extendedList.add(ELEMENT);
+  }
+
+  @Benchmark
+  @Group("cursor")
+  @GroupThreads(1)
+  public int awaitNextCursor() throws InterruptedException {
+    // Timeout lets the consumer finish when producer stops at the end of iteration
+    return cursor.awaitNext(batch, 1, TimeUnit.MILLISECONDS);
+  }
+
+  @Benchmark
+  @Group("size")
+  @GroupThreads(1)
+  public boolean addSize() {
+    return extendedList.add(ELEMENT);
+  }
+
+  @Benchmark
+  @Group("size")
+  @GroupThreads(1)
+  public int getSize() {
+    final int size = extendedList.size();
+    int result = 0;
+
+    while (readIndex < size)
+      result += extendedList.get(readIndex++).i;
+
+    return result;
+  }
+
+  @Benchmark
+  @Group("concurrentLinkedQueue")
+  @GroupThreads(1)
+  public boolean offerConcurrentLinkedQueue() {
+    return concurrentLinkedQueue.offer(ELEMENT);
+  }
+
+  @Benchmark
+  @Group("concurrentLinkedQueue")
+  @GroupThreads(1)
+  public A pollConcurrentLinkedQueue() {
+    return concurrentLinkedQueue.poll();
+  }
+
+  @State(Scope.Benchmark)
+  public static class RoundTrip {
+    private ExtendedList<A> requests;
+    private ExtendedList<A> responses;
+    private Cursor<A>       responseCursor;
+    private A[]             responseBatch;
+    private Thread          echo;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+      requests = new ExtendedList<A>();
+      responses = new ExtendedList<A>();
+      responseCursor = responses.cursor();
+      responseBatch = new A[16];
+
+      final Cursor<A> requestCursor = requests.cursor();
+
+      echo = new Thread(() -> {
+        final A[] requestBatch = new A[16];
+
+        try {
+          while (true) {
+            final int count = requestCursor.awaitNext(requestBatch);
+
+            for (int i = 0; i < count; i++)
+              responses.add(requestBatch[i]);
+          }
+        } catch (final InterruptedException e) {
+          // Iteration is finished
+        }
+      });
+      echo.setDaemon(true);
+      echo.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+      echo.interrupt();
+      echo.join();
+    }
+  }
+
+  @Benchmark
+  @Group("roundTrip")
+  @GroupThreads(1)
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int roundTrip(final RoundTrip roundTrip) throws InterruptedException {
+    roundTrip.requests.add(ELEMENT);
+
+    return roundTrip.responseCursor.awaitNext(roundTrip.responseBatch);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(CursorMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).forks(1).build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,89 @@
+package com.extended.list;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link BucketGeometry} policies by footprint and <code>get</code> latency.<br>
+ * <code>footprint</code> creates the list and allocates buckets for <code>size</code> elements, GC profiler reports
+ * its bytes as <code>gc.alloc.rate.norm</code>. Sizes are one element over a power of two, so doubled buckets show the
+ * worst waste. <code>get</code> reads random elements of the filled list
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GeometryMicrobenchmark {
+  private static final A  ELEMENT = new A(0);
+
+  @Param({ "17", "1025", "1048577", "16777217" })
+  private int             size;
+
+  @Param({ "Doubling", "SmallFirstBucket", "Growing1.5", "Chunked1M" })
+  private String          geometry;
+
+  private BucketGeometry  bucketGeometry;
+
+  private ExtendedList<A> extendedList;
+
+  @Setup
+  public void setUp() {
+    switch (geometry) {
+    case "Doubling":
+      bucketGeometry = BucketGeometry.DEFAULT;
+      break;
+    case "SmallFirstBucket":
+      bucketGeometry = BucketGeometry.doubling(1);
+      break;
+    case "Growing1.5":
+      bucketGeometry = BucketGeometry.growing(2, 1.5);
+      break;
+    case "Chunked1M":
+      bucketGeometry = BucketGeometry.chunked(2, 1 << 20);
+      break;
+    default:
+      throw new IllegalArgumentException("Geometry: " + geometry);
+    }
+
+    final List<A> elements = new ArrayList<A>(Collections.nCopies(size, ELEMENT));
+
+    extendedList = new ExtendedList<A>(bucketGeometry);
+    extendedList.addAll(elements);
+  }
+
+  @Benchmark
+  public ExtendedList<A> footprint() {
+    final ExtendedList<A> list = new ExtendedList<A>(bucketGeometry);
+    list.ensureCapacity(size);
+
+    return list;
+  }
+
+  @Benchmark
+  public A get() {
+    return extendedList.get(ThreadLocalRandom.current().nextInt(size));
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(GeometryMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).forks(1).addProfiler(GCProfiler.class).build();
+
+    new Runner(opt).run();
+  }
+}
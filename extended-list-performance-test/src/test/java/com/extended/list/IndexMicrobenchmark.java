@@ -0,0 +1,111 @@
+package com.extended.list;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares lookups of {@link ExtendedList} with and without hash index, and the cost which the index adds to
+ * <code>add</code>.<br>
+ * Lookups search random element of the list of <code>size</code> distinct elements, <code>Missing</code> benchmarks
+ * search element which isn't in the list. <code>add</code> benchmarks fill a new list by {@link #ADD_COUNT} elements
+ * and report time of one add
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IndexMicrobenchmark {
+  private static final int      ADD_COUNT = 1 << 20;
+
+  @Param({ "1000", "1000000", "10000000" })
+  private int                   size;
+
+  private ExtendedList<Integer> list;
+
+  private ExtendedList<Integer> indexedList;
+
+  @Setup
+  public void setUp() {
+    list = new ExtendedList<Integer>();
+    for (int i = 0; i < size; i++)
+      list.add(i);
+
+    indexedList = new ExtendedList<Integer>();
+    indexedList.setIndexed(true);
+    for (int i = 0; i < size; i++)
+      indexedList.add(i);
+  }
+
+  private Integer randomElement() {
+    return ThreadLocalRandom.current().nextInt(size);
+  }
+
+  @Benchmark
+  public int indexOf() {
+    return list.indexOf(randomElement());
+  }
+
+  @Benchmark
+  public int indexOfIndexed() {
+    return indexedList.indexOf(randomElement());
+  }
+
+  @Benchmark
+  public int lastIndexOfIndexed() {
+    return indexedList.lastIndexOf(randomElement());
+  }
+
+  @Benchmark
+  public boolean containsMissing() {
+    return list.contains(-1);
+  }
+
+  @Benchmark
+  public boolean containsMissingIndexed() {
+    return indexedList.contains(-1);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ADD_COUNT)
+  public ExtendedList<Integer> add() {
+    final ExtendedList<Integer> result = new ExtendedList<Integer>();
+
+    for (int i = 0; i < ADD_COUNT; i++)
+      result.add(i);
+
+    return result;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ADD_COUNT)
+  public ExtendedList<Integer> addIndexed() {
+    final ExtendedList<Integer> result = new ExtendedList<Integer>();
+    result.setIndexed(true);
+
+    for (int i = 0; i < ADD_COUNT; i++)
+      result.add(i);
+
+    return result;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(IndexMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).forks(1).addProfiler(GCProfiler.class).build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,60 @@
+package com.extended.list;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cost of {@link ExtendedListMetrics}.<br>
+ * {@link #main(String[])} runs the same benchmark with metrics disabled and enabled, all threads add to the same list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MetricsMicrobenchmark {
+  private static final A  ELEMENT = new A(0);
+
+  private ExtendedList<A> extendedList;
+
+  @Setup(Level.Iteration)
+  public void setUpEachIteration() {
+    extendedList = new ExtendedList<A>();
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDownEachIteration() {
+    System.out.println(extendedList.stats());
+  }
+
+  @Benchmark
+  public List<A> addExtendedList() {
+    extendedList.add(ELEMENT);
+
+    return extendedList;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(MetricsMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).threads(8).forks(1).build();
+
+    new Runner(opt).run();
+
+    final Options optMetrics = new OptionsBuilder().include(MetricsMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).threads(8).forks(1).jvmArgsAppend("-Dcom.extended.list.metrics=true").build();
+
+    new Runner(optMetrics).run();
+  }
+}
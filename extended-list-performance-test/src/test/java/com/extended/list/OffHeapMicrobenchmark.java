@@ -0,0 +1,102 @@
+package com.extended.list;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares heap {@link ExtendedList} with {@link OffHeapExtendedList}.<br>
+ * GC profiler shows allocation rate and GC time of both lists.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OffHeapMicrobenchmark {
+  private static final int                BUFFER_SIZE        = 1000000;
+  private static final long[]             BUFFER             = new long[BUFFER_SIZE];
+
+  private final ExtendedList<Long>        extendedListForGet = new ExtendedList<Long>();
+  private final OffHeapExtendedList<Long> offHeapListForGet  = new OffHeapExtendedList<Long>(Codecs.LONG);
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random();
+    for (int i = 0; i < BUFFER_SIZE; i++)
+      BUFFER[i] = random.nextLong();
+
+    for (int i = 0; i < BUFFER_SIZE; i++) {
+      extendedListForGet.add(BUFFER[i]);
+      offHeapListForGet.add(BUFFER[i]);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    offHeapListForGet.close();
+  }
+
+  @Benchmark
+  public List<Long> addExtendedList() {
+    final ExtendedList<Long> extendedList = new ExtendedList<>();
+
+    for (final long l : BUFFER)
+      extendedList.add(l);
+
+    return extendedList;
+  }
+
+  @Benchmark
+  public long addOffHeapExtendedList() {
+    try (final OffHeapExtendedList<Long> offHeapList = new OffHeapExtendedList<>(Codecs.LONG)) {
+      for (final long l : BUFFER)
+        offHeapList.add(l);
+
+      return offHeapList.allocatedBytes();
+    }
+  }
+
+  @Benchmark
+  public long getExtendedList() {
+    long result = 0;
+
+    final int sizeOfList = extendedListForGet.size();
+
+    for (int i = 0; i < sizeOfList; i++)
+      result += extendedListForGet.get(i);
+
+    return result;
+  }
+
+  @Benchmark
+  public long getOffHeapExtendedList() {
+    long result = 0;
+
+    final int sizeOfList = offHeapListForGet.size();
+
+    for (int i = 0; i < sizeOfList; i++)
+      result += offHeapListForGet.get(i);
+
+    return result;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(OffHeapMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).addProfiler(GCProfiler.class).forks(1).build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,93 @@
+package com.extended.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares fork-join sum and filter of parallel streams over lists.<br>
+ * Lists share a small pool of elements, so heap keeps only references.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelStreamMicrobenchmark {
+  private static final int BUFFER_SIZE = 10000;
+  private static final A[] BUFFER      = new A[BUFFER_SIZE];
+
+  @Param({ "100000000" })
+  private int              size;
+
+  private List<A>          arrayList;
+  private List<A>          copyOnWriteArrayList;
+  private ExtendedList<A>  extendedList;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random();
+    for (int i = 0; i < BUFFER_SIZE; i++)
+      BUFFER[i] = new A(random.nextInt());
+
+    arrayList = new ArrayList<A>(size);
+    extendedList = new ExtendedList<A>();
+
+    for (int i = 0; i < size; i++) {
+      arrayList.add(BUFFER[i % BUFFER_SIZE]);
+      extendedList.add(BUFFER[i % BUFFER_SIZE]);
+    }
+
+    copyOnWriteArrayList = new CopyOnWriteArrayList<A>(arrayList);
+  }
+
+  @Benchmark
+  public long sumArrayList() {
+    return arrayList.parallelStream().mapToLong(A::getI).sum();
+  }
+
+  @Benchmark
+  public long sumCopyOnWriteArrayList() {
+    return copyOnWriteArrayList.parallelStream().mapToLong(A::getI).sum();
+  }
+
+  @Benchmark
+  public long sumExtendedList() {
+    return extendedList.parallelStream().mapToLong(A::getI).sum();
+  }
+
+  @Benchmark
+  public long filterArrayList() {
+    return arrayList.parallelStream().filter(a -> (a.getI() & 1) == 0).count();
+  }
+
+  @Benchmark
+  public long filterCopyOnWriteArrayList() {
+    return copyOnWriteArrayList.parallelStream().filter(a -> (a.getI() & 1) == 0).count();
+  }
+
+  @Benchmark
+  public long filterExtendedList() {
+    return extendedList.parallelStream().filter(a -> (a.getI() & 1) == 0).count();
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(ParallelStreamMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).jvmArgs("-Xmx4g").forks(1).build();
+
+    new Runner(opt).run();
+  }
+}
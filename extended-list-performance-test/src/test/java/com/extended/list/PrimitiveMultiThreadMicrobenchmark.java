@@ -0,0 +1,153 @@
+package com.extended.list;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares boxed {@link ExtendedList} with primitive {@link ExtendedIntList} and {@link ExtendedLongList}.<br>
+ * All threads work with the same lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PrimitiveMultiThreadMicrobenchmark {
+  private static final int            BUFFER_SIZE                  = 10000;
+  private static final int[]          INT_BUFFER                   = new int[BUFFER_SIZE];
+  private static final long[]         LONG_BUFFER                  = new long[BUFFER_SIZE];
+
+  private final ExtendedList<Integer> extendedIntegerListForGet    = new ExtendedList<Integer>();
+  private final ExtendedList<Long>    extendedLongObjectListForGet = new ExtendedList<Long>();
+  private final ExtendedIntList       extendedIntListForGet        = new ExtendedIntList();
+  private final ExtendedLongList      extendedLongListForGet       = new ExtendedLongList();
+
+  private ExtendedList<Integer>       extendedIntegerListForAdd;
+  private ExtendedList<Long>          extendedLongObjectListForAdd;
+  private ExtendedIntList             extendedIntListForAdd;
+  private ExtendedLongList            extendedLongListForAdd;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random();
+    for (int i = 0; i < BUFFER_SIZE; i++) {
+      INT_BUFFER[i] = random.nextInt();
+      LONG_BUFFER[i] = random.nextLong();
+    }
+
+    for (int i = 0; i < BUFFER_SIZE; i++) {
+      extendedIntegerListForGet.add(INT_BUFFER[i]);
+      extendedLongObjectListForGet.add(LONG_BUFFER[i]);
+      extendedIntListForGet.addInt(INT_BUFFER[i]);
+      extendedLongListForGet.addLong(LONG_BUFFER[i]);
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpEachIteration() {
+    extendedIntegerListForAdd = new ExtendedList<Integer>();
+    extendedLongObjectListForAdd = new ExtendedList<Long>();
+    extendedIntListForAdd = new ExtendedIntList();
+    extendedLongListForAdd = new ExtendedLongList();
+  }
+
+  @Benchmark
+  public List<Integer> addExtendedIntegerList() {
+    for (final int i : INT_BUFFER)
+      extendedIntegerListForAdd.add(i);
+
+    return extendedIntegerListForAdd;
+  }
+
+  @Benchmark
+  public List<Integer> addExtendedIntList() {
+    for (final int i : INT_BUFFER)
+      extendedIntListForAdd.addInt(i);
+
+    return extendedIntListForAdd;
+  }
+
+  @Benchmark
+  public List<Long> addExtendedLongObjectList() {
+    for (final long l : LONG_BUFFER)
+      extendedLongObjectListForAdd.add(l);
+
+    return extendedLongObjectListForAdd;
+  }
+
+  @Benchmark
+  public List<Long> addExtendedLongList() {
+    for (final long l : LONG_BUFFER)
+      extendedLongListForAdd.addLong(l);
+
+    return extendedLongListForAdd;
+  }
+
+  @Benchmark
+  public long getExtendedIntegerList() {
+    long result = 0;
+
+    final int sizeOfList = extendedIntegerListForGet.size();
+
+    for (int i = 0; i < sizeOfList; i++)
+      result += extendedIntegerListForGet.get(i);
+
+    return result;
+  }
+
+  @Benchmark
+  public long getExtendedIntList() {
+    long result = 0;
+
+    final int sizeOfList = extendedIntListForGet.size();
+
+    for (int i = 0; i < sizeOfList; i++)
+      result += extendedIntListForGet.getInt(i);
+
+    return result;
+  }
+
+  @Benchmark
+  public long getExtendedLongObjectList() {
+    long result = 0;
+
+    final int sizeOfList = extendedLongObjectListForGet.size();
+
+    for (int i = 0; i < sizeOfList; i++)
+      result += extendedLongObjectListForGet.get(i);
+
+    return result;
+  }
+
+  @Benchmark
+  public long getExtendedLongList() {
+    long result = 0;
+
+    final int sizeOfList = extendedLongListForGet.size();
+
+    for (int i = 0; i < sizeOfList; i++)
+      result += extendedLongListForGet.getLong(i);
+
+    return result;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(PrimitiveMultiThreadMicrobenchmark.class.getSimpleName())
+        .warmupIterations(3).measurementIterations(3).threads(8).forks(1).build();
+
+    new Runner(opt).run();
+  }
+
+}
@@ -0,0 +1,145 @@
+package com.extended.list;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares boxed {@link ExtendedList} with primitive {@link ExtendedIntList} and {@link ExtendedLongList}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PrimitiveSingleThreadMicrobenchmark {
+  private static final int            BUFFER_SIZE                  = 10000;
+  private static final int[]          INT_BUFFER                   = new int[BUFFER_SIZE];
+  private static final long[]         LONG_BUFFER                  = new long[BUFFER_SIZE];
+
+  private final ExtendedList<Integer> extendedIntegerListForGet    = new ExtendedList<Integer>();
+  private final ExtendedList<Long>    extendedLongObjectListForGet = new ExtendedList<Long>();
+  private final ExtendedIntList       extendedIntListForGet        = new ExtendedIntList();
+  private final ExtendedLongList      extendedLongListForGet       = new ExtendedLongList();
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random();
+    for (int i = 0; i < BUFFER_SIZE; i++) {
+      INT_BUFFER[i] = random.nextInt();
+      LONG_BUFFER[i] = random.nextLong();
+    }
+
+    for (int i = 0; i < BUFFER_SIZE; i++) {
+      extendedIntegerListForGet.add(INT_BUFFER[i]);
+      extendedLongObjectListForGet.add(LONG_BUFFER[i]);
+      extendedIntListForGet.addInt(INT_BUFFER[i]);
+      extendedLongListForGet.addLong(LONG_BUFFER[i]);
+    }
+  }
+
+  @Benchmark
+  public List<Integer> addExtendedIntegerList() {
+    final ExtendedList<Integer> extendedList = new ExtendedList<>();
+
+    for (final int i : INT_BUFFER)
+      extendedList.add(i);
+
+    return extendedList;
+  }
+
+  @Benchmark
+  public List<Integer> addExtendedIntList() {
+    final ExtendedIntList extendedList = new ExtendedIntList();
+
+    for (final int i : INT_BUFFER)
+      extendedList.addInt(i);
+
+    return extendedList;
+  }
+
+  @Benchmark
+  public List<Long> addExtendedLongObjectList() {
+    final ExtendedList<Long> extendedList = new ExtendedList<>();
+
+    for (final long l : LONG_BUFFER)
+      extendedList.add(l);
+
+    return extendedList;
+  }
+
+  @Benchmark
+  public List<Long> addExtendedLongList() {
+    final ExtendedLongList extendedList = new ExtendedLongList();
+
+    for (final long l : LONG_BUFFER)
+      extendedList.addLong(l);
+
+    return extendedList;
+  }
+
+  @Benchmark
+  public long getExtendedIntegerList() {
+    long result = 0;
+
+    final int sizeOfList = extendedIntegerListForGet.size();
+
+    for (int i = 0; i < sizeOfList; i++)
+      result += extendedIntegerListForGet.get(i);
+
+    return result;
+  }
+
+  @Benchmark
+  public long getExtendedIntList() {
+    long result = 0;
+
+    final int sizeOfList = extendedIntListForGet.size();
+
+    for (int i = 0; i < sizeOfList; i++)
+      result += extendedIntListForGet.getInt(i);
+
+    return result;
+  }
+
+  @Benchmark
+  public long getExtendedLongObjectList() {
+    long result = 0;
+
+    final int sizeOfList = extendedLongObjectListForGet.size();
+
+    for (int i = 0; i < sizeOfList; i++)
+      result += extendedLongObjectListForGet.get(i);
+
+    return result;
+  }
+
+  @Benchmark
+  public long getExtendedLongList() {
+    long result = 0;
+
+    final int sizeOfList = extendedLongListForGet.size();
+
+    for (int i = 0; i < sizeOfList; i++)
+      result += extendedLongListForGet.getLong(i);
+
+    return result;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(PrimitiveSingleThreadMicrobenchmark.class.getSimpleName())
+        .warmupIterations(3).measurementIterations(3).forks(1).build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,116 @@
+package com.extended.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Shows that add of {@link ExtendedList} doesn't depend on count of subscribers of
+ * {@link ExtendedList#publisher(int)}.<br>
+ * Fast subscribers request unbounded demand, slow subscribers request one element and sleep before the next request.
+ * {@link #main(String[])} runs producers from 1 to 8 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PublisherMicrobenchmark {
+  private static final A            ELEMENT = new A(0);
+
+  @Param({ "0", "1", "4", "16" })
+  private int                       fastSubscribers;
+
+  @Param({ "0", "4", "16" })
+  private int                       slowSubscribers;
+
+  private ExtendedList<A>           extendedList;
+  private List<BenchmarkSubscriber> subscribers;
+
+  @Setup(Level.Iteration)
+  public void setUpEachIteration() {
+    extendedList = new ExtendedList<A>();
+    subscribers = new ArrayList<BenchmarkSubscriber>();
+
+    for (int i = 0; i < fastSubscribers; i++)
+      subscribers.add(new BenchmarkSubscriber(Long.MAX_VALUE, 0));
+
+    for (int i = 0; i < slowSubscribers; i++)
+      subscribers.add(new BenchmarkSubscriber(1, TimeUnit.MICROSECONDS.toNanos(100)));
+
+    for (final BenchmarkSubscriber subscriber : subscribers)
+      extendedList.publisher(0).subscribe(subscriber);
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDownEachIteration() {
+    for (final BenchmarkSubscriber subscriber : subscribers)
+      subscriber.subscription.cancel();
+  }
+
+  @Benchmark
+  public boolean addExtendedList() {
+    return extendedList.add(ELEMENT);
+  }
+
+  private static class BenchmarkSubscriber implements Flow.Subscriber<A> {
+    private final long                 request;
+    private final long                 pause;
+    private volatile Flow.Subscription subscription;
+    private long                       sum;
+
+    BenchmarkSubscriber(final long request, final long pause) {
+      this.request = request;
+      this.pause = pause;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(request);
+    }
+
+    @Override
+    public void onNext(final A item) {
+      sum += item.i;
+
+      if (pause > 0) {
+        LockSupport.parkNanos(pause);
+        subscription.request(request);
+      }
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      throwable.printStackTrace();
+    }
+
+    @Override
+    public void onComplete() {
+    }
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    for (int threads = 1; threads <= 8; threads *= 2) {
+      final Options opt = new OptionsBuilder().include(PublisherMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+          .measurementIterations(3).threads(threads).forks(1).build();
+
+      new Runner(opt).run();
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.extended.list;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Copies windows of 10^4 - 10^6 elements from the middle of the list by <code>getRange</code> and
+ * <code>subList().toArray()</code> of {@link ExtendedList} and {@link ArrayList}.<br>
+ * Copied bytes are reported by the <code>bytes</code> counter, so its score per second divided by 10^9 is GB/s.
+ * References are counted as 4 bytes, the JVM is expected to use compressed oops.<br>
+ * Copying to <code>A[]</code> checks type of every element, so <code>getRange</code> is compared with
+ * <code>subList().toArray(A[])</code> of {@link ArrayList}, which does the same checks
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RangeCopyMicrobenchmark {
+  private static final A    ELEMENT        = new A(0);
+
+  private static final int  SIZE           = 2000000;
+
+  private static final long REFERENCE_SIZE = 4;
+
+  @Param({ "10000", "100000", "1000000" })
+  private int               window;
+
+  private ExtendedList<A>   extendedList;
+
+  private ArrayList<A>      arrayList;
+
+  private int               from;
+
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  @State(Scope.Thread)
+  public static class Bytes {
+    public long bytes;
+
+    @Setup(Level.Iteration)
+    public void setUpEachIteration() {
+      bytes = 0;
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    arrayList = new ArrayList<A>(Collections.nCopies(SIZE, ELEMENT));
+
+    extendedList = new ExtendedList<A>();
+    extendedList.addAll(arrayList);
+
+    // The window crosses borders of buckets
+    from = (SIZE - window) / 2;
+  }
+
+  @Benchmark
+  public A[] getRangeExtendedList(final Bytes bytes) {
+    final A[] destination = new A[window];
+    extendedList.getRange(from, from + window, destination, 0);
+
+    bytes.bytes += window * REFERENCE_SIZE;
+    return destination;
+  }
+
+  @Benchmark
+  public Object[] subListToArrayExtendedList(final Bytes bytes) {
+    final List<A> subList = extendedList.subList(from, from + window);
+
+    bytes.bytes += window * REFERENCE_SIZE;
+    return subList.toArray();
+  }
+
+  @Benchmark
+  public Object[] subListToArrayArrayList(final Bytes bytes) {
+    final List<A> subList = arrayList.subList(from, from + window);
+
+    bytes.bytes += window * REFERENCE_SIZE;
+    return subList.toArray();
+  }
+
+  @Benchmark
+  public A[] subListToTypedArrayArrayList(final Bytes bytes) {
+    final List<A> subList = arrayList.subList(from, from + window);
+
+    bytes.bytes += window * REFERENCE_SIZE;
+    return subList.toArray(new A[window]);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(RangeCopyMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).forks(1).build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,126 @@
+package com.extended.list;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares scan of 10^7 {@link A} kept by {@link ExtendedList} as objects and by {@link ExtendedRecordList} as a
+ * column of <code>int</code>.<br>
+ * Setup prints heap used by every list: used heap after full GC is measured before and after filling the list
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RecordListMicrobenchmark {
+  private static final int              SIZE     = 10000000;
+
+  private static final RecordCodec<A>   A_CODEC  = new RecordCodec.Ints<A>() {
+    @Override
+    public int intFields() {
+      return 1;
+    }
+
+    @Override
+    public int getInt(final A element, final int field) {
+      return element.i;
+    }
+
+    @Override
+    public A read(final Fields fields) {
+      return new A(fields.getInt(0));
+    }
+  };
+
+  private ExtendedList<A>               extendedList;
+
+  private ExtendedRecordList<A>         recordList;
+
+  @Setup
+  public void setUp() {
+    long usedHeap = usedHeap();
+
+    extendedList = new ExtendedList<A>();
+    for (int i = 0; i < SIZE; i++)
+      extendedList.add(new A(i));
+
+    System.out.println("\nHeap of ExtendedList<A>: " + (usedHeap() - usedHeap) + " bytes");
+
+    usedHeap = usedHeap();
+
+    recordList = new ExtendedRecordList<A>(A_CODEC);
+    for (int i = 0; i < SIZE; i++)
+      recordList.add(new A(i));
+
+    System.out.println("Heap of ExtendedRecordList<A>: " + (usedHeap() - usedHeap) + " bytes, columns: "
+        + recordList.allocatedBytes() + " bytes");
+  }
+
+  private static long usedHeap() {
+    final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+    // Several collections release objects reachable only from finalizers and references
+    for (int i = 0; i < 3; i++)
+      memoryMXBean.gc();
+
+    return memoryMXBean.getHeapMemoryUsage().getUsed();
+  }
+
+  @Benchmark
+  public long scanExtendedList() {
+    long result = 0;
+
+    for (int i = 0; i < SIZE; i++)
+      result += extendedList.get(i).i;
+
+    return result;
+  }
+
+  @Benchmark
+  public long scanRecordListGet() {
+    long result = 0;
+
+    for (int i = 0; i < SIZE; i++)
+      result += recordList.get(i).i;
+
+    return result;
+  }
+
+  @Benchmark
+  public long scanRecordListGetInt() {
+    long result = 0;
+
+    for (int i = 0; i < SIZE; i++)
+      result += recordList.getInt(i, 0);
+
+    return result;
+  }
+
+  @Benchmark
+  public long scanRecordListForEachInt() {
+    final long[] result = new long[1];
+
+    recordList.forEachInt(0, i -> result[0] += i);
+
+    return result[0];
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(RecordListMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).forks(1).build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,91 @@
+package com.extended.list;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares time of restart: reopening of {@link MappedExtendedList} with deserializing of {@link ArrayList}.<br>
+ * Both benchmarks read the last element, so the list is ready for use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RestartMicrobenchmark {
+
+  @Param({ "1000000", "10000000" })
+  private int  size;
+
+  private Path mappedFile;
+  private Path serializedFile;
+
+  @Setup
+  public void setUp() throws IOException {
+    mappedFile = Files.createTempFile("restart-mapped", ".bin");
+    serializedFile = Files.createTempFile("restart-serialized", ".bin");
+    Files.delete(mappedFile);
+
+    final ArrayList<Long> arrayList = new ArrayList<Long>(size);
+
+    try (final MappedExtendedList<Long> mappedList = new MappedExtendedList<Long>(mappedFile, Codecs.LONG)) {
+      for (long i = 0; i < size; i++) {
+        arrayList.add(i);
+        mappedList.add(i);
+      }
+    }
+
+    try (final ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(serializedFile)))) {
+      out.writeObject(arrayList);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.delete(mappedFile);
+    Files.delete(serializedFile);
+  }
+
+  @Benchmark
+  public long reopenMappedExtendedList() throws IOException {
+    try (final MappedExtendedList<Long> list = new MappedExtendedList<Long>(mappedFile, Codecs.LONG)) {
+      return list.get(list.size() - 1);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Benchmark
+  public long deserializeArrayList() throws IOException, ClassNotFoundException {
+    try (final ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(serializedFile)))) {
+      final ArrayList<Long> list = (ArrayList<Long>) in.readObject();
+
+      return list.get(list.size() - 1);
+    }
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(RestartMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).forks(1).build();
+
+    new Runner(opt).run();
+  }
+}
@@ -1,22 +1,92 @@
 package com.extended.list;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.profile.LinuxPerfAsmProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
-import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
 
+/**
+ * Runs the scaling suite: {@link AccessScalingMicrobenchmark} and {@link AppendScalingMicrobenchmark} from one thread
+ * to all cores. Results of all runs are written to <code>target/jmh-result-&lt;threads&gt;.json</code>, so they can be
+ * compared with the baseline by <code>compare-results.py</code>. Maven runs it by profile <code>benchmarks</code>.<br>
+ * System properties:<br>
+ * <code>benchmarks</code> - regexp of benchmarks, <code>(Access|Append)ScalingMicrobenchmark</code> by default. Only
+ * the scaling suite runs by default, because every run overrides <code>@Threads</code> of benchmarks by the count of
+ * threads, other benchmarks are run by <code>-Dbenchmarks=.*Microbenchmark -Dthreads=1</code><br>
+ * <code>sizes</code> - comma separated sizes, all sizes of <code>@Param</code> by default<br>
+ * <code>threads</code> - comma separated counts of threads, powers of two up to all cores by default<br>
+ * <code>perfasm</code> - adds {@link LinuxPerfAsmProfiler}, it needs <code>perf</code> and <code>hsdis</code><br>
+ * <code>jvmArgs</code> - arguments of forked JVM, <code>-Xmx16g</code> by default
+ */
 public class RunMicrobenchmarks {
 
   public static void main(final String[] args) throws RunnerException {
-    final Options opt = new OptionsBuilder().include(SingleThreadMicrobenchmark.class.getSimpleName()).warmupIterations(3)
-        .measurementIterations(3).forks(1).build();
+    final String benchmarks = property("benchmarks", "(Access|Append)ScalingMicrobenchmark");
+    final String sizes = property("sizes", null);
+    final String jvmArgs = property("jvmArgs", "-Xmx16g");
+
+    for (final int threads : threadCounts()) {
+      final ChainedOptionsBuilder opt = new OptionsBuilder()
+          .include(benchmarks)
+          .warmupIterations(3)
+          .warmupTime(TimeValue.seconds(1))
+          .measurementIterations(3)
+          .measurementTime(TimeValue.seconds(1))
+          .threads(threads)
+          .forks(1)
+          .jvmArgsAppend(jvmArgs.split(" "))
+          .addProfiler(GCProfiler.class)
+          .resultFormat(ResultFormatType.JSON)
+          .result("target/jmh-result-" + threads + ".json");
+
+      if (sizes != null)
+        opt.param("size", sizes.split(","));
+
+      if (Boolean.getBoolean("perfasm"))
+        opt.addProfiler(LinuxPerfAsmProfiler.class);
+
+      new Runner(opt.build()).run();
+    }
+  }
+
+  /**
+   * @return value of the system property or default value if it's empty
+   */
+  private static String property(final String name, final String defaultValue) {
+    final String value = System.getProperty(name, "").trim();
+
+    return value.isEmpty() ? defaultValue : value;
+  }
+
+  /**
+   * @return counts of threads from the system property or powers of two up to all cores
+   */
+  private static List<Integer> threadCounts() {
+    final List<Integer> result = new ArrayList<Integer>();
+    final String threads = property("threads", null);
+
+    if (threads != null) {
+      for (final String count : threads.split(","))
+        result.add(Integer.valueOf(count.trim()));
+
+      return result;
+    }
+
+    final int cores = Runtime.getRuntime().availableProcessors();
 
-    new Runner(opt).run();
+    for (int count = 1; count < cores; count *= 2)
+      result.add(count);
 
-    final Options optMulti = new OptionsBuilder().include(MultiThreadMicrobenchmark.class.getSimpleName()).warmupIterations(3)
-        .measurementIterations(3).threads(8).forks(1).build();
+    result.add(cores);
 
-    new Runner(optMulti).run();
+    return result;
   }
 
 }
@@ -157,6 +157,35 @@ public class SingleThreadMicrobenchmark {
     return result;
   }
 
+  @Benchmark
+  public long getArrayListWithIterator() {
+    long result = 0;
+
+    for (final A a : arrayListForGet)
+      result += a.getI();
+
+    return result;
+  }
+
+  @Benchmark
+  public long getExtendedListWithIterator() {
+    long result = 0;
+
+    for (final A a : extendedListForGet)
+      result += a.getI();
+
+    return result;
+  }
+
+  @Benchmark
+  public long getExtendedListWithForEach() {
+    final long[] result = new long[1];
+
+    extendedListForGet.forEach(a -> result[0] += a.getI());
+
+    return result[0];
+  }
+
   @Benchmark
   public long removeLinkedList() {
     long result = 0;
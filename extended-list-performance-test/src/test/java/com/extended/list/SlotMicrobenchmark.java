@@ -0,0 +1,76 @@
+package com.extended.list;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link ExtendedList} used as a table of counter slots with {@link AtomicReferenceArray}.<br>
+ * All threads increment random slots of the same table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SlotMicrobenchmark {
+  private static final int                 SLOTS                = 1024;
+
+  private final ExtendedList<Long>         extendedList         = new ExtendedList<Long>();
+  private final AtomicReferenceArray<Long> atomicReferenceArray = new AtomicReferenceArray<Long>(SLOTS);
+
+  @Setup
+  public void setUp() {
+    for (int i = 0; i < SLOTS; i++) {
+      extendedList.add(0L);
+      atomicReferenceArray.set(i, 0L);
+    }
+  }
+
+  @Benchmark
+  public Long accumulateExtendedList() {
+    return extendedList.accumulateAndGet(ThreadLocalRandom.current().nextInt(SLOTS), 1L, Long::sum);
+  }
+
+  @Benchmark
+  public Long accumulateAtomicReferenceArray() {
+    return atomicReferenceArray.accumulateAndGet(ThreadLocalRandom.current().nextInt(SLOTS), 1L, Long::sum);
+  }
+
+  @Benchmark
+  public Long getAndUpdateExtendedList() {
+    return extendedList.getAndUpdate(ThreadLocalRandom.current().nextInt(SLOTS), value -> value + 1);
+  }
+
+  @Benchmark
+  public Long getAndUpdateAtomicReferenceArray() {
+    return atomicReferenceArray.getAndUpdate(ThreadLocalRandom.current().nextInt(SLOTS), value -> value + 1);
+  }
+
+  @Benchmark
+  public Long getExtendedList() {
+    return extendedList.get(ThreadLocalRandom.current().nextInt(SLOTS));
+  }
+
+  @Benchmark
+  public Long getAtomicReferenceArray() {
+    return atomicReferenceArray.get(ThreadLocalRandom.current().nextInt(SLOTS));
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(SlotMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).threads(8).forks(1).build();
+
+    new Runner(opt).run();
+  }
+}
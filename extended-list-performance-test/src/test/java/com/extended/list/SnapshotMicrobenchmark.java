@@ -0,0 +1,104 @@
+package com.extended.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares cost of point-in-time view against list size: {@link ExtendedList#snapshot()} with copying of
+ * {@link ArrayList} and {@link CopyOnWriteArrayList}.<br>
+ * <code>snapshotAndSet</code> includes the copy of the bucket made by the first <code>set</code> after snapshot.
+ * <code>get</code> benchmarks compare reading through the snapshot with reading the list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SnapshotMicrobenchmark {
+  private static final A  ELEMENT = new A(0);
+
+  @Param({ "1000", "1000000", "10000000" })
+  private int              size;
+
+  private List<A>          arrayList;
+  private ExtendedList<A>  extendedList;
+  private List<A>          snapshot;
+
+  @Setup
+  public void setUp() {
+    arrayList = new ArrayList<A>(size);
+    extendedList = new ExtendedList<A>();
+
+    for (int i = 0; i < size; i++) {
+      arrayList.add(ELEMENT);
+      extendedList.add(ELEMENT);
+    }
+
+    snapshot = extendedList.snapshot();
+  }
+
+  @Benchmark
+  public List<A> snapshotExtendedList() {
+    return extendedList.snapshot();
+  }
+
+  @Benchmark
+  public List<A> snapshotAndSetExtendedList() {
+    final List<A> result = extendedList.snapshot();
+
+    // The first bucket is the smallest one, the last one keeps half of elements
+    extendedList.set(size - 1, ELEMENT);
+
+    return result;
+  }
+
+  @Benchmark
+  public List<A> copyArrayList() {
+    return new ArrayList<A>(arrayList);
+  }
+
+  @Benchmark
+  public List<A> copyCopyOnWriteArrayList() {
+    return new CopyOnWriteArrayList<A>(arrayList);
+  }
+
+  @Benchmark
+  public long getSnapshot() {
+    long result = 0;
+
+    for (int i = 0; i < size; i++)
+      result += snapshot.get(i).i;
+
+    return result;
+  }
+
+  @Benchmark
+  public long getExtendedList() {
+    long result = 0;
+
+    for (int i = 0; i < size; i++)
+      result += extendedList.get(i).i;
+
+    return result;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder().include(SnapshotMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+        .measurementIterations(3).forks(1).build();
+
+    new Runner(opt).run();
+  }
+}
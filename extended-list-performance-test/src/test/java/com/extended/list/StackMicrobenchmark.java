@@ -0,0 +1,98 @@
+package com.extended.list;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares mixed push/pop of {@link ExtendedStack} with add/remove of {@link ExtendedList} and
+ * {@link ConcurrentLinkedDeque}.<br>
+ * Every group has the same count of pushing and popping threads, {@link #main(String[])} runs it from 2 to 64 threads.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StackMicrobenchmark {
+  private static final A           ELEMENT = new A(0);
+
+  private ExtendedStack<A>         extendedStack;
+  private ExtendedList<A>          extendedList;
+  private ConcurrentLinkedDeque<A> concurrentLinkedDeque;
+
+  @Setup(Level.Iteration)
+  public void setUpEachIteration() {
+    extendedStack = new ExtendedStack<A>();
+    extendedList = new ExtendedList<A>();
+    concurrentLinkedDeque = new ConcurrentLinkedDeque<A>();
+  }
+
+  @Benchmark
+  @Group("extendedStack")
+  @GroupThreads(1)
+  public void pushExtendedStack() {
+    extendedStack.push(ELEMENT);
+  }
+
+  @Benchmark
+  @Group("extendedStack")
+  @GroupThreads(1)
+  public A popExtendedStack() {
+    return extendedStack.pop();
+  }
+
+  @Benchmark
+  @Group("extendedList")
+  @GroupThreads(1)
+  public boolean addExtendedList() {
+    return extendedList.add(ELEMENT);
+  }
+
+  @Benchmark
+  @Group("extendedList")
+  @GroupThreads(1)
+  public A removeExtendedList() {
+    try {
+      return extendedList.remove(0);
+    } catch (final IndexOutOfBoundsException e) {
+      // Empty list
+      return null;
+    }
+  }
+
+  @Benchmark
+  @Group("concurrentLinkedDeque")
+  @GroupThreads(1)
+  public void pushConcurrentLinkedDeque() {
+    concurrentLinkedDeque.push(ELEMENT);
+  }
+
+  @Benchmark
+  @Group("concurrentLinkedDeque")
+  @GroupThreads(1)
+  public A popConcurrentLinkedDeque() {
+    return concurrentLinkedDeque.pollFirst();
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    for (int threads = 2; threads <= 64; threads *= 2) {
+      final Options opt = new OptionsBuilder().include(StackMicrobenchmark.class.getSimpleName()).warmupIterations(3)
+          .measurementIterations(3).threads(threads).forks(1).build();
+
+      new Runner(opt).run();
+    }
+  }
+}
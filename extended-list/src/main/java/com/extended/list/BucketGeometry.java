@@ -0,0 +1,247 @@
+package com.extended.list;
+
+/**
+ * Sizes of buckets of {@link ExtendedList}.<br>
+ * Buckets are grouped by doublings: group g keeps <code>firstBucketSize * bucketsPerDoubling * 2^g</code> elements
+ * split to <code>bucketsPerDoubling</code> buckets of the same size. The default geometry has one bucket per doubling
+ * and the first bucket of 2 elements:<br>
+ * <br>
+ * [0][1] // bucket 0<br>
+ * [2][3][4][5] // bucket 1<br>
+ * ...<br>
+ * <br>
+ * Two buckets per doubling grow by 2^(1/2) = 1.41 on average, so the last bucket wastes up to a third of capacity
+ * instead of a half. Chunked geometry stops doubling at the chunk size, all next buckets are chunks of the same size, so
+ * the huge list wastes less than one chunk.<br>
+ * Sizes are powers of two, so index of bucket and index in bucket are calculated by a few shifts for any geometry
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ */
+public final class BucketGeometry {
+
+  /**
+   * Chunk can't be smaller, so the root array of the huge list stays small
+   */
+  public static final int            MIN_CHUNK_SIZE         = 1 << 16;
+
+  /**
+   * Largest bucket which fits to Java array
+   */
+  private static final int           MAX_BUCKET_SHIFT       = 30;
+
+  private static final int           MAX_SPLIT_SHIFT        = 6;
+
+  /**
+   * Geometry of {@link ExtendedList#ExtendedList()}
+   */
+  public static final BucketGeometry DEFAULT                = doubling(2);
+
+  /**
+   * Size of the first group is <code>2^firstShift</code>
+   */
+  private final int                  firstShift;
+
+  /**
+   * Every group is split to <code>2^splitShift</code> buckets
+   */
+  private final int                  splitShift;
+
+  /**
+   * Size of chunk is <code>2^chunkShift</code>, -1 if buckets are doubled up to the end
+   */
+  private final int                  chunkShift;
+
+  /**
+   * Index of the first element of the first chunk, {@link Integer#MAX_VALUE} if there are no chunks
+   */
+  private final int                  chunkStart;
+
+  /**
+   * Index of the first chunk
+   */
+  private final int                  chunkBucket;
+
+  /**
+   * Count of buckets which fit to Java array
+   */
+  private final int                  bucketCount;
+
+  private BucketGeometry(final int firstShift, final int splitShift, final int chunkShift) {
+    this.firstShift = firstShift;
+    this.splitShift = splitShift;
+    this.chunkShift = chunkShift;
+
+    if (chunkShift < 0) {
+      chunkStart = Integer.MAX_VALUE;
+      chunkBucket = Integer.MAX_VALUE;
+    } else {
+      // Chunks start from the first group of buckets of the chunk size
+      chunkStart = (int) ((1L << (chunkShift + splitShift)) - (1L << firstShift));
+      chunkBucket = (chunkShift - firstShift + splitShift) << splitShift;
+    }
+
+    // The last bucket should fit to Java array
+    int count = indexOfBucket(Integer.MAX_VALUE - 1) + 1;
+    while (bucketShift(count - 1) > MAX_BUCKET_SHIFT)
+      count--;
+
+    bucketCount = count;
+  }
+
+  /**
+   * Creates geometry which doubles buckets starting from <code>firstBucketSize</code>
+   *
+   * @param firstBucketSize
+   *          power of two
+   */
+  public static BucketGeometry doubling(final int firstBucketSize) {
+    return new BucketGeometry(validateShift("First bucket size", firstBucketSize, 1), 0, -1);
+  }
+
+  /**
+   * Creates geometry with <code>bucketsPerDoubling</code> buckets of the same size between doublings, so buckets grow
+   * by <code>2^(1 / bucketsPerDoubling)</code> on average
+   *
+   * @param firstBucketSize
+   *          power of two
+   * @param bucketsPerDoubling
+   *          power of two up to 64
+   */
+  public static BucketGeometry of(final int firstBucketSize, final int bucketsPerDoubling) {
+    final int splitShift = validateShift("Buckets per doubling", bucketsPerDoubling, 1);
+    if (splitShift > MAX_SPLIT_SHIFT)
+      throw new IllegalArgumentException("Buckets per doubling: " + bucketsPerDoubling);
+
+    final int firstShift = validateShift("First bucket size", firstBucketSize, 1) + splitShift;
+    if (firstShift > MAX_BUCKET_SHIFT)
+      throw new IllegalArgumentException("First bucket size: " + firstBucketSize + ", Buckets per doubling: "
+          + bucketsPerDoubling);
+
+    return new BucketGeometry(firstShift, splitShift, -1);
+  }
+
+  /**
+   * Creates geometry with the closest growth factor which can be calculated by shifts: 2, 1.41, 1.19, ...
+   *
+   * @param firstBucketSize
+   *          power of two
+   * @param growthFactor
+   *          from (1, 2]
+   */
+  public static BucketGeometry growing(final int firstBucketSize, final double growthFactor) {
+    if (!(growthFactor > 1 && growthFactor <= 2))
+      throw new IllegalArgumentException("Growth factor: " + growthFactor);
+
+    // Buckets per doubling is log(2) / log(growthFactor) rounded to power of two
+    final double bucketsPerDoubling = Math.log(2) / Math.log(growthFactor);
+    final long splitShift = Math.round(Math.log(bucketsPerDoubling) / Math.log(2));
+
+    return of(firstBucketSize, 1 << Math.min(Math.max(splitShift, 0), MAX_SPLIT_SHIFT));
+  }
+
+  /**
+   * Creates geometry which doubles buckets starting from <code>firstBucketSize</code> up to <code>chunkSize</code>,
+   * all next buckets are chunks of the same size
+   *
+   * @param firstBucketSize
+   *          power of two
+   * @param chunkSize
+   *          power of two from [{@link #MIN_CHUNK_SIZE}, 2^30]
+   */
+  public static BucketGeometry chunked(final int firstBucketSize, final int chunkSize) {
+    final int firstShift = validateShift("First bucket size", firstBucketSize, 1);
+    final int chunkShift = validateShift("Chunk size", chunkSize, MIN_CHUNK_SIZE);
+
+    if (chunkSize < firstBucketSize)
+      throw new IllegalArgumentException("Chunk size: " + chunkSize + " < First bucket size: " + firstBucketSize);
+
+    return new BucketGeometry(firstShift, 0, chunkShift);
+  }
+
+  private static int validateShift(final String name, final int value, final int min) {
+    if (value < min || value > 1 << MAX_BUCKET_SHIFT || Integer.bitCount(value) != 1)
+      throw new IllegalArgumentException(name + ": " + value);
+
+    return Integer.numberOfTrailingZeros(value);
+  }
+
+  /**
+   * @return index of bucket for the index of element
+   */
+  public int indexOfBucket(final int index) {
+    if (index >= chunkStart)
+      return chunkBucket + ((index - chunkStart) >>> chunkShift);
+
+    // Elements of group g are shifted to [2^(firstShift + g), 2^(firstShift + g + 1))
+    final long shifted = index + (1L << firstShift);
+    final int groupShift = 63 - Long.numberOfLeadingZeros(shifted);
+    final int group = groupShift - firstShift;
+
+    // Buckets of the group have the same size
+    return (group << splitShift) + (int) ((shifted - (1L << groupShift)) >>> (groupShift - splitShift));
+  }
+
+  /**
+   * @return index of element in the bucket
+   */
+  public int indexInBucket(final int indexOfBucket, final int indexOfElement) {
+    final long indexOfFirstElement = firstIndexOfBucket(indexOfBucket);
+
+    // Element should be in right bucket
+    assert indexOfElement >= indexOfFirstElement && indexOfElement < indexOfFirstElement + bucketSize(indexOfBucket);
+
+    return (int) (indexOfElement - indexOfFirstElement);
+  }
+
+  /**
+   * @return index of the first element of the bucket, it can be larger than {@link Integer#MAX_VALUE} for buckets
+   *         after the last one
+   */
+  public long firstIndexOfBucket(final int indexOfBucket) {
+    if (indexOfBucket >= chunkBucket)
+      return chunkStart + ((long) (indexOfBucket - chunkBucket) << chunkShift);
+
+    final int group = indexOfBucket >>> splitShift;
+    final int bucketInGroup = indexOfBucket & ((1 << splitShift) - 1);
+
+    return (1L << (firstShift + group)) - (1L << firstShift) + ((long) bucketInGroup << bucketShift(indexOfBucket));
+  }
+
+  /**
+   * @return count of elements of the bucket
+   */
+  public int bucketSize(final int indexOfBucket) {
+    return 1 << bucketShift(indexOfBucket);
+  }
+
+  private int bucketShift(final int indexOfBucket) {
+    if (indexOfBucket >= chunkBucket)
+      return chunkShift;
+
+    return firstShift + (indexOfBucket >>> splitShift) - splitShift;
+  }
+
+  /**
+   * @return count of buckets for {@link Integer#MAX_VALUE} elements. Bucket larger than 2^30 elements doesn't fit to
+   *         Java array, so the list of doubled buckets keeps up to <code>2^31 - firstBucketSize</code> elements
+   */
+  public int bucketCount() {
+    return bucketCount;
+  }
+
+  /**
+   * @return average growth of buckets
+   */
+  public double growthFactor() {
+    return Math.pow(2, 1.0 / (1 << splitShift));
+  }
+
+  @Override
+  public String toString() {
+    return "[BucketGeometry firstBucketSize: " + bucketSize(0) + ", bucketsPerDoubling: " + (1 << splitShift)
+        + ", chunkSize: " + (chunkShift < 0 ? "none" : String.valueOf(1 << chunkShift)) + ", bucketCount: " + bucketCount
+        + "]";
+  }
+}
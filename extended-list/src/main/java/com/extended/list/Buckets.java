@@ -0,0 +1,95 @@
+package com.extended.list;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Index and markers of buckets for lists of the fixed geometry. Bucket <code>b</code> keeps <code>2^(b + 1)</code>
+ * elements starting from the index <code>2^(b + 1) - 2</code>, it's {@link BucketGeometry#DEFAULT} calculated without
+ * the geometry:<br>
+ * <br>
+ * [0][1] // bucket 0<br>
+ * [2][3][4][5] // bucket 1<br>
+ * ...<br>
+ * <br>
+ * Markers are bits of a long array, the bit of bucket is set by the thread which allocates it, so other threads wait
+ * for the bucket instead of allocating it again
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ */
+final class Buckets {
+
+  /**
+   * Count of buckets for {@link Integer#MAX_VALUE} elements
+   */
+  static final int               ROOT_SIZE = BucketGeometry.DEFAULT.bucketCount();
+
+  /**
+   * Atomic access to words of markers
+   */
+  private static final VarHandle MARKER    = MethodHandles.arrayElementVarHandle(long[].class);
+
+  private Buckets() {
+  }
+
+  /**
+   * @return index of bucket for the index of element
+   */
+  static int indexOfBucket(final long index) {
+    // Count of used bits of the shifted index without the first bucket
+    return 62 - Long.numberOfLeadingZeros(index + 2);
+  }
+
+  /**
+   * @return index of element in the bucket
+   */
+  static int indexInBucket(final int indexOfBucket, final int indexOfElement) {
+    return (int) indexInBucket(indexOfBucket, (long) indexOfElement);
+  }
+
+  /**
+   * @return index of element in the bucket, it can be larger than {@link Integer#MAX_VALUE} for long indexes
+   */
+  static long indexInBucket(final int indexOfBucket, final long indexOfElement) {
+    final long indexOfFirstElement = (2L << indexOfBucket) - 2;
+
+    // Element should be in right bucket
+    assert indexOfElement >= indexOfFirstElement && indexOfElement < indexOfFirstElement + (2L << indexOfBucket);
+
+    return indexOfElement - indexOfFirstElement;
+  }
+
+  /**
+   * @return count of elements of the bucket
+   */
+  static int bucketSize(final int indexOfBucket) {
+    return 2 << indexOfBucket;
+  }
+
+  /**
+   * @return markers of <code>bucketCount</code> buckets, all bits are reset
+   */
+  static long[] newMarkers(final int bucketCount) {
+    return new long[(bucketCount + 63) >>> 6];
+  }
+
+  /**
+   * Sets the bit of bucket
+   *
+   * @return <code>true</code> if the bit was set by this thread
+   */
+  static boolean mark(final long[] markers, final int bucket) {
+    final long bit = 1L << bucket;
+
+    return ((long) MARKER.getAndBitwiseOr(markers, bucket >>> 6, bit) & bit) == 0;
+  }
+
+  /**
+   * Resets the bit of bucket, so the bucket can be allocated again
+   */
+  static void unmark(final long[] markers, final int bucket) {
+    MARKER.getAndBitwiseAnd(markers, bucket >>> 6, ~(1L << bucket));
+  }
+}
@@ -0,0 +1,108 @@
+package com.extended.list;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Binary format of <code>writeTo</code> and <code>readFrom</code> of lists.<br>
+ * The header is magic, size of element and count of elements. Elements follow the header in index order, they are
+ * written bucket by bucket through the large direct buffer. Byte order is little-endian, so bulk copying of primitive
+ * buckets doesn't swap bytes on x86, and checkpoint of {@link ExtendedIntList} can be read by {@link ExtendedList}
+ * with {@link Codecs#INT}
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ */
+final class Checkpoints {
+
+  private static final int MAGIC       = 0x45584c43;
+
+  static final int         HEADER_SIZE = 16;
+
+  /**
+   * Size of buffer between buckets and channel
+   */
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  private Checkpoints() {
+  }
+
+  /**
+   * @return direct buffer which keeps whole count of elements
+   */
+  static ByteBuffer newBuffer(final int elementSize) {
+    if (elementSize <= 0)
+      throw new IllegalArgumentException("Element size: " + elementSize);
+
+    final int capacity = Math.max(HEADER_SIZE, BUFFER_SIZE - BUFFER_SIZE % elementSize);
+
+    return ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Puts the header to the empty buffer
+   */
+  static void putHeader(final ByteBuffer buffer, final int elementSize, final int size) {
+    buffer.putInt(MAGIC);
+    buffer.putInt(elementSize);
+    buffer.putLong(size);
+  }
+
+  /**
+   * Reads the header and validates it
+   *
+   * @return count of elements
+   * @throws IOException
+   *           if the channel doesn't contain checkpoint with elements of <code>elementSize</code>
+   */
+  static int readHeader(final ReadableByteChannel channel, final ByteBuffer buffer, final int elementSize) throws IOException {
+    fill(channel, buffer, HEADER_SIZE);
+
+    if (buffer.getInt() != MAGIC)
+      throw new IOException("Channel doesn't contain checkpoint of list");
+
+    final int writtenElementSize = buffer.getInt();
+    if (writtenElementSize != elementSize)
+      throw new IOException("Checkpoint contains elements of " + writtenElementSize + " bytes, expected " + elementSize
+          + " bytes");
+
+    final long size = buffer.getLong();
+    if (size < 0 || size > Integer.MAX_VALUE)
+      throw new IOException("Checkpoint contains " + size + " elements");
+
+    return (int) size;
+  }
+
+  /**
+   * Writes the filled part of the buffer to the channel and clears the buffer
+   */
+  static void flush(final WritableByteChannel channel, final ByteBuffer buffer) throws IOException {
+    buffer.flip();
+
+    while (buffer.hasRemaining())
+      channel.write(buffer);
+
+    buffer.clear();
+  }
+
+  /**
+   * Reads exactly <code>count</code> bytes to the buffer, it's ready for reading of them after return
+   *
+   * @throws EOFException
+   *           if the channel ends before
+   */
+  static void fill(final ReadableByteChannel channel, final ByteBuffer buffer, final int count) throws IOException {
+    buffer.clear().limit(count);
+
+    while (buffer.hasRemaining())
+      if (channel.read(buffer) < 0)
+        throw new EOFException("Checkpoint ends after " + buffer.position() + " of " + count + " bytes");
+
+    buffer.flip();
+  }
+}
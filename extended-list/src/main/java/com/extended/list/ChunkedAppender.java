@@ -0,0 +1,102 @@
+package com.extended.list;
+
+/**
+ * Writer of {@link ExtendedList} for high-throughput appends from many threads.<br>
+ * Appender collects elements in a local chunk and appends the whole chunk by one descriptor CAS when it's full, so
+ * producers contend on the descriptor once per chunk instead of once per element. The chunk is handed over to the
+ * list as it is and a new one is allocated, so elements aren't copied twice.<br>
+ * Indexes are given to the chunk when it's appended, so the list never has unfilled slots: readers see the same
+ * committed prefix as for {@link ExtendedList#add(Object)} and elements of the chunk become visible all together.
+ * Elements collected by the appender aren't visible until the chunk is full or {@link #flush()} is called.<br>
+ * Elements of one appender keep their order, elements of different appenders are ordered by chunks.<br>
+ * Appender mustn't be used by several threads at the same time, every producer thread should have its own one, e.g.
+ * <code>ThreadLocal.withInitial(() -&gt; list.appender(1024))</code>
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ * @param <T>
+ */
+public class ChunkedAppender<T> {
+
+  /**
+   * Chunk size of {@link ExtendedList#appender()}
+   */
+  public static final int       DEFAULT_CHUNK_SIZE = 1024;
+
+  private final ExtendedList<T> list;
+
+  private final int             chunkSize;
+
+  /**
+   * Elements which aren't appended yet
+   */
+  private T[]                   chunk;
+
+  /**
+   * Count of elements in the chunk
+   */
+  private int                   count;
+
+  @SuppressWarnings("unchecked")
+  ChunkedAppender(final ExtendedList<T> list, final int chunkSize) {
+    if (chunkSize < 1)
+      throw new IllegalArgumentException("Chunk size: " + chunkSize);
+
+    this.list = list;
+    this.chunkSize = chunkSize;
+
+    chunk = (T[]) new Object[chunkSize];
+  }
+
+  /**
+   * Puts the element to the chunk. The chunk is appended to the list when it's full
+   */
+  public void add(final T element) {
+    chunk[count++] = element;
+
+    if (count == chunkSize)
+      flush();
+  }
+
+  /**
+   * Appends elements of the partially filled chunk to the list, so they become visible to readers
+   */
+  @SuppressWarnings("unchecked")
+  public void flush() {
+    if (count == 0)
+      return;
+
+    // Other threads can help to copy the chunk after return, so it's never reused
+    list.addRange(chunk, 0, count);
+
+    chunk = (T[]) new Object[chunkSize];
+    count = 0;
+  }
+
+  /**
+   * @return count of elements which aren't appended yet
+   */
+  public int pending() {
+    return count;
+  }
+
+  /**
+   * @return count of elements appended by one CAS
+   */
+  public int chunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * @return the list elements are appended to
+   */
+  public ExtendedList<T> list() {
+    return list;
+  }
+
+  @Override
+  public String toString() {
+    return "[ChunkedAppender chunkSize: " + chunkSize + ", pending: " + count + "]";
+  }
+}
@@ -0,0 +1,79 @@
+package com.extended.list;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Write operation which is completed by one thread.<br>
+ * Only the thread which claimed the operation writes the element, other threads wait until it's written. So a thread
+ * which is late to help can't rewrite the cell after the operation is completed and the cell is reused by next
+ * operations, and can't mix parts of two elements.<br>
+ * It's blocking, not lock-free: the next write of the list waits for the claimed operation, so a writer which is
+ * preempted between the claim and the end of write stalls other writers until it's scheduled again. Elements of
+ * primitives, records and off-heap bytes can't be published by one CAS of a reference, and a value which can appear
+ * in the cell again can't tell the late helper that the cell was reused, so helping can't be made safe without a
+ * reference per cell. The claimed write is a few plain stores without allocation of the element, waiting threads spin
+ * for a short time and then yield to let the writer run.<br>
+ * The thread which failed to write the element releases the operation, so another thread can write it
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ */
+abstract class ClaimedWriteOperation {
+
+  /**
+   * Count of spins before waiting threads yield, the claimed write usually takes less
+   */
+  private static final int       SPINS = 128;
+
+  private static final VarHandle CLAIMED;
+
+  static {
+    try {
+      CLAIMED = MethodHandles.lookup().findVarHandle(ClaimedWriteOperation.class, "claimed", boolean.class);
+    } catch (final ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  public final int         indexOfElement;
+  public volatile boolean  pending;
+
+  /**
+   * Is the element written or being written by some thread
+   */
+  private volatile boolean claimed;
+
+  ClaimedWriteOperation(final int indexOfElement, final boolean pending) {
+    this.indexOfElement = indexOfElement;
+    this.pending = pending;
+  }
+
+  /**
+   * @return <code>true</code> if the calling thread has to write the element and complete the operation
+   */
+  boolean claim() {
+    return CLAIMED.compareAndSet(this, false, true);
+  }
+
+  /**
+   * Lets another thread claim the operation, the calling thread couldn't write the element
+   */
+  void release() {
+    claimed = false;
+  }
+
+  /**
+   * Waits until the thread which claimed the operation completes or releases it
+   */
+  void awaitWriter() {
+    for (int spins = 0; pending && claimed; spins++) {
+      // The writer can be preempted, so it gets the core instead of spinning of waiting threads
+      if (spins < SPINS)
+        Thread.onSpinWait();
+      else
+        Thread.yield();
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.extended.list;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts an element to the fixed count of bytes and back.<br>
+ * Codec should use only absolute get/put methods of buffer, because several threads write to the same buffer
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ * @param <T>
+ */
+public interface Codec<T> {
+
+  /**
+   * @return count of bytes for one element
+   */
+  int size();
+
+  /**
+   * Writes the element to the buffer starting from the position
+   */
+  void write(ByteBuffer buffer, int position, T element);
+
+  /**
+   * Reads the element from the buffer starting from the position
+   */
+  T read(ByteBuffer buffer, int position);
+}
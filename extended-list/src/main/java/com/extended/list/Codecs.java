@@ -0,0 +1,73 @@
+package com.extended.list;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codecs of boxed primitives
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ */
+public final class Codecs {
+
+  public static final Codec<Integer> INT    = new IntCodec();
+
+  public static final Codec<Long>    LONG   = new LongCodec();
+
+  public static final Codec<Double>  DOUBLE = new DoubleCodec();
+
+  private Codecs() {
+  }
+
+  private static final class IntCodec implements Codec<Integer> {
+    @Override
+    public int size() {
+      return Integer.SIZE / Byte.SIZE;
+    }
+
+    @Override
+    public void write(final ByteBuffer buffer, final int position, final Integer element) {
+      buffer.putInt(position, element);
+    }
+
+    @Override
+    public Integer read(final ByteBuffer buffer, final int position) {
+      return buffer.getInt(position);
+    }
+  }
+
+  private static final class LongCodec implements Codec<Long> {
+    @Override
+    public int size() {
+      return Long.SIZE / Byte.SIZE;
+    }
+
+    @Override
+    public void write(final ByteBuffer buffer, final int position, final Long element) {
+      buffer.putLong(position, element);
+    }
+
+    @Override
+    public Long read(final ByteBuffer buffer, final int position) {
+      return buffer.getLong(position);
+    }
+  }
+
+  private static final class DoubleCodec implements Codec<Double> {
+    @Override
+    public int size() {
+      return Double.SIZE / Byte.SIZE;
+    }
+
+    @Override
+    public void write(final ByteBuffer buffer, final int position, final Double element) {
+      buffer.putDouble(position, element);
+    }
+
+    @Override
+    public Double read(final ByteBuffer buffer, final int position) {
+      return buffer.getDouble(position);
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.extended.list;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reader of {@link ExtendedList} used as append-only log.<br>
+ * Cursor keeps the position of the next element and returns batches of elements added after it. Batch is copied by
+ * one {@link System#arraycopy} per bucket. Cursor reads only elements below the size of the list, so it never returns
+ * the slot of pending write operation.<br>
+ * <code>awaitNext</code> parks the thread by {@link java.util.concurrent.locks.LockSupport} until new elements are
+ * added, so waiting readers don't spin on the size and don't hold monitors.<br>
+ * Several cursors can read the same list, but one cursor mustn't be used by several threads at the same time
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ * @param <T>
+ */
+public class Cursor<T> {
+
+  private final ExtendedList<T> list;
+
+  /**
+   * Index of the next element
+   */
+  private int                   position;
+
+  Cursor(final ExtendedList<T> list, final int position) {
+    this.list = list;
+    this.position = position;
+  }
+
+  /**
+   * @return index of the next element
+   */
+  public int position() {
+    return position;
+  }
+
+  /**
+   * @return count of added elements which weren't read by the cursor
+   */
+  public int available() {
+    return Math.max(0, list.size() - position);
+  }
+
+  /**
+   * Copies elements added after the position to the array without waiting
+   *
+   * @return count of copied elements, 0 if there are no new elements
+   */
+  public int poll(final T[] destination) {
+    return poll(destination, 0, destination.length);
+  }
+
+  /**
+   * Copies up to <code>length</code> elements added after the position to the array starting from <code>offset</code>
+   * without waiting
+   *
+   * @return count of copied elements, 0 if there are no new elements
+   */
+  public int poll(final T[] destination, final int offset, final int length) {
+    if (offset < 0 || length < 0 || offset > destination.length - length)
+      throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length + ", Array length: "
+          + destination.length);
+
+    final int to = (int) Math.min((long) position + length, list.size());
+
+    if (to <= position)
+      return 0;
+
+    final int count = list.copyRange(position, to, destination, offset);
+    position += count;
+
+    return count;
+  }
+
+  /**
+   * Waits until new elements are added and copies them to the array
+   *
+   * @return count of copied elements, it's 0 only if all elements after the position were removed
+   * @throws InterruptedException
+   *           if the thread was interrupted while waiting
+   */
+  public int awaitNext(final T[] destination) throws InterruptedException {
+    list.awaitSizeGreaterThan(position, -1);
+
+    return poll(destination);
+  }
+
+  /**
+   * Waits up to the timeout until new elements are added and copies them to the array
+   *
+   * @return count of copied elements, 0 if the timeout elapsed
+   * @throws InterruptedException
+   *           if the thread was interrupted while waiting
+   */
+  public int awaitNext(final T[] destination, final long timeout, final TimeUnit unit) throws InterruptedException {
+    if (!list.awaitSizeGreaterThan(position, Math.max(0, unit.toNanos(timeout))))
+      return 0;
+
+    return poll(destination);
+  }
+
+  @Override
+  public String toString() {
+    return "[Cursor position: " + position + ", available: " + available() + "]";
+  }
+}
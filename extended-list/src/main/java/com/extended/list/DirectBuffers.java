@@ -0,0 +1,47 @@
+package com.extended.list;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Frees memory of direct buffers without waiting for GC.<br>
+ * Java 9+ has <code>Unsafe.invokeCleaner</code>, Java 7 and 8 have <code>DirectBuffer.cleaner()</code>
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ */
+final class DirectBuffers {
+
+  private DirectBuffers() {
+  }
+
+  /**
+   * Frees memory of the direct buffer. The buffer mustn't be used after that
+   */
+  static void free(final ByteBuffer buffer) {
+    if (buffer == null || !buffer.isDirect())
+      return;
+
+    try {
+      final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+
+      try {
+        // Java 9+
+        final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+        theUnsafe.setAccessible(true);
+        invokeCleaner.invoke(theUnsafe.get(null), buffer);
+      } catch (final NoSuchMethodException e) {
+        // Java 7 and 8
+        final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+        cleanerMethod.setAccessible(true);
+        final Object cleaner = cleanerMethod.invoke(buffer);
+        cleaner.getClass().getMethod("clean").invoke(cleaner);
+      }
+    } catch (final Exception e) {
+      // Memory will be freed by GC
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package com.extended.list;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The infinity dynamically resizable array List of <code>double</code>. Remove is lock-free, append and set wait for the
+ * thread which writes the previous element.<br>
+ * It's the same list as {@link ExtendedList} but data is kept in <code>double[][]</code>, so
+ * {@link #addDouble(double)}, {@link #getDouble(int)} and {@link #setDouble(int, double)} don't box elements.<br>
+ * Methods of {@link List} box elements and can't take <code>null</code>
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ */
+public class ExtendedDoubleList extends ExtendedPrimitiveList<Double> {
+
+  /**
+   * Appends the element to the end of the list without boxing
+   */
+  public boolean addDouble(final double element) {
+    Descriptor currentDescriptor;
+    WriteOperation writeOperation;
+
+    do {
+      currentDescriptor = completedDescriptor();
+      writeOperation = new DoubleWriteOperation(currentDescriptor.size, element);
+
+    } while (!casAppend(currentDescriptor, writeOperation));
+
+    // Complete current operation
+    completeWrite(writeOperation);
+
+    return true;
+  }
+
+  /**
+   * Replaces the element at the index without boxing
+   */
+  public double setDouble(final int index, final double element) {
+    Descriptor currentDescriptor;
+    DoubleSetOperation setOperation;
+
+    do {
+      currentDescriptor = completedDescriptor();
+
+      // Another thread can remove the element
+      boundsValidation(index, currentDescriptor);
+
+      setOperation = new DoubleSetOperation(index, element);
+
+    } while (!casSet(currentDescriptor, setOperation));
+
+    // Complete current operation
+    completeWrite(setOperation);
+
+    return setOperation.oldValue;
+  }
+
+  /**
+   * Returns the element at the index without boxing
+   */
+  public double getDouble(final int index) {
+    boundsValidation(index);
+
+    return getUnchecked(index);
+  }
+
+  private double getUnchecked(final int index) {
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+
+    return ((double[]) getBucket(indexOfBucket))[indexInBucket];
+  }
+
+  /**
+   * Removes only the last value without boxing.
+   */
+  public double removeDouble(final int index) {
+    Descriptor currentDescriptor;
+    double currentElement;
+
+    do {
+      currentDescriptor = completedDescriptor();
+
+      // Another thread can remove last element
+      if (currentDescriptor.size == 0)
+        throw new IndexOutOfBoundsException("Size: 0");
+
+      currentElement = getUnchecked(currentDescriptor.size - 1);
+
+    } while (!casRemove(currentDescriptor));
+
+    return currentElement;
+  }
+
+  @Override
+  public boolean add(final Double element) {
+    return addDouble(element);
+  }
+
+  @Override
+  public Double set(final int index, final Double element) {
+    return setDouble(index, element);
+  }
+
+  @Override
+  public Double get(final int index) {
+    return getDouble(index);
+  }
+
+  /**
+   * Removes only the last value.
+   */
+  @Override
+  public Double remove(final int index) {
+    return removeDouble(index);
+  }
+
+  /**
+   * Restores the list written by {@link #writeTo(WritableByteChannel)} or by
+   * {@link ExtendedList#writeTo(WritableByteChannel, Codec)} with {@link Codecs#DOUBLE}.<br>
+   * Buckets are allocated for the whole size and filled by bulk get of {@link DoubleBuffer}
+   *
+   * @throws IOException
+   *           if the channel doesn't contain checkpoint of <code>double</code> elements
+   */
+  public static ExtendedDoubleList readFrom(final ReadableByteChannel channel) throws IOException {
+    final ExtendedDoubleList list = new ExtendedDoubleList();
+
+    list.restore(channel);
+
+    return list;
+  }
+
+  @Override
+  Object newBucket(final int length) {
+    return new double[length];
+  }
+
+  @Override
+  int elementBytes() {
+    return Double.BYTES;
+  }
+
+  @Override
+  void put(final ByteBuffer buffer, final Object bucket, final int indexInBucket, final int count) {
+    buffer.asDoubleBuffer().put((double[]) bucket, indexInBucket, count);
+    buffer.position(buffer.position() + count * Double.BYTES);
+  }
+
+  @Override
+  void get(final ByteBuffer buffer, final Object bucket, final int indexInBucket, final int count) {
+    buffer.asDoubleBuffer().get((double[]) bucket, indexInBucket, count);
+  }
+
+  @Override
+  String bucketToString(final Object bucket) {
+    return Arrays.toString((double[]) bucket);
+  }
+
+  private static class DoubleWriteOperation extends WriteOperation {
+    private final double element;
+
+    /**
+     * Creates write operation for index and element<br>
+     * This operation is pending by default
+     */
+    DoubleWriteOperation(final int indexOfElement, final double element) {
+      super(indexOfElement, true);
+      this.element = element;
+    }
+
+    @Override
+    void write(final Object bucket, final int indexInBucket) {
+      ((double[]) bucket)[indexInBucket] = element;
+    }
+
+    @Override
+    public String toString() {
+      return "[DoubleWriteOperation " + hashCode() + ", indexOfElement: " + indexOfElement + ", element: " + element
+          + ", pending: " + pending + "]";
+    }
+  }
+
+  /**
+   * Replaces the element, the previous element is kept by the thread which writes it
+   */
+  private static final class DoubleSetOperation extends DoubleWriteOperation {
+    private double oldValue;
+
+    DoubleSetOperation(final int indexOfElement, final double element) {
+      super(indexOfElement, element);
+    }
+
+    @Override
+    void write(final Object bucket, final int indexInBucket) {
+      // The old value is published with the completion of operation
+      oldValue = ((double[]) bucket)[indexInBucket];
+      super.write(bucket, indexInBucket);
+    }
+
+    @Override
+    boolean appends() {
+      return false;
+    }
+  }
+
+}
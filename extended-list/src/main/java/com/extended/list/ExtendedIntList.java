@@ -0,0 +1,215 @@
+package com.extended.list;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The infinity dynamically resizable array List of <code>int</code>. Remove is lock-free, append and set wait for the
+ * thread which writes the previous element.<br>
+ * It's the same list as {@link ExtendedList} but data is kept in <code>int[][]</code>, so
+ * {@link #addInt(int)}, {@link #getInt(int)} and {@link #setInt(int, int)} don't box elements.<br>
+ * Methods of {@link List} box elements and can't take <code>null</code>
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ */
+public class ExtendedIntList extends ExtendedPrimitiveList<Integer> {
+
+  /**
+   * Appends the element to the end of the list without boxing
+   */
+  public boolean addInt(final int element) {
+    Descriptor currentDescriptor;
+    WriteOperation writeOperation;
+
+    do {
+      currentDescriptor = completedDescriptor();
+      writeOperation = new IntWriteOperation(currentDescriptor.size, element);
+
+    } while (!casAppend(currentDescriptor, writeOperation));
+
+    // Complete current operation
+    completeWrite(writeOperation);
+
+    return true;
+  }
+
+  /**
+   * Replaces the element at the index without boxing
+   */
+  public int setInt(final int index, final int element) {
+    Descriptor currentDescriptor;
+    IntSetOperation setOperation;
+
+    do {
+      currentDescriptor = completedDescriptor();
+
+      // Another thread can remove the element
+      boundsValidation(index, currentDescriptor);
+
+      setOperation = new IntSetOperation(index, element);
+
+    } while (!casSet(currentDescriptor, setOperation));
+
+    // Complete current operation
+    completeWrite(setOperation);
+
+    return setOperation.oldValue;
+  }
+
+  /**
+   * Returns the element at the index without boxing
+   */
+  public int getInt(final int index) {
+    boundsValidation(index);
+
+    return getUnchecked(index);
+  }
+
+  private int getUnchecked(final int index) {
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+
+    return ((int[]) getBucket(indexOfBucket))[indexInBucket];
+  }
+
+  /**
+   * Removes only the last value without boxing.
+   */
+  public int removeInt(final int index) {
+    Descriptor currentDescriptor;
+    int currentElement;
+
+    do {
+      currentDescriptor = completedDescriptor();
+
+      // Another thread can remove last element
+      if (currentDescriptor.size == 0)
+        throw new IndexOutOfBoundsException("Size: 0");
+
+      currentElement = getUnchecked(currentDescriptor.size - 1);
+
+    } while (!casRemove(currentDescriptor));
+
+    return currentElement;
+  }
+
+  @Override
+  public boolean add(final Integer element) {
+    return addInt(element);
+  }
+
+  @Override
+  public Integer set(final int index, final Integer element) {
+    return setInt(index, element);
+  }
+
+  @Override
+  public Integer get(final int index) {
+    return getInt(index);
+  }
+
+  /**
+   * Removes only the last value.
+   */
+  @Override
+  public Integer remove(final int index) {
+    return removeInt(index);
+  }
+
+  /**
+   * Restores the list written by {@link #writeTo(WritableByteChannel)} or by
+   * {@link ExtendedList#writeTo(WritableByteChannel, Codec)} with {@link Codecs#INT}.<br>
+   * Buckets are allocated for the whole size and filled by bulk get of {@link IntBuffer}
+   *
+   * @throws IOException
+   *           if the channel doesn't contain checkpoint of <code>int</code> elements
+   */
+  public static ExtendedIntList readFrom(final ReadableByteChannel channel) throws IOException {
+    final ExtendedIntList list = new ExtendedIntList();
+
+    list.restore(channel);
+
+    return list;
+  }
+
+  @Override
+  Object newBucket(final int length) {
+    return new int[length];
+  }
+
+  @Override
+  int elementBytes() {
+    return Integer.BYTES;
+  }
+
+  @Override
+  void put(final ByteBuffer buffer, final Object bucket, final int indexInBucket, final int count) {
+    buffer.asIntBuffer().put((int[]) bucket, indexInBucket, count);
+    buffer.position(buffer.position() + count * Integer.BYTES);
+  }
+
+  @Override
+  void get(final ByteBuffer buffer, final Object bucket, final int indexInBucket, final int count) {
+    buffer.asIntBuffer().get((int[]) bucket, indexInBucket, count);
+  }
+
+  @Override
+  String bucketToString(final Object bucket) {
+    return Arrays.toString((int[]) bucket);
+  }
+
+  private static class IntWriteOperation extends WriteOperation {
+    private final int element;
+
+    /**
+     * Creates write operation for index and element<br>
+     * This operation is pending by default
+     */
+    IntWriteOperation(final int indexOfElement, final int element) {
+      super(indexOfElement, true);
+      this.element = element;
+    }
+
+    @Override
+    void write(final Object bucket, final int indexInBucket) {
+      ((int[]) bucket)[indexInBucket] = element;
+    }
+
+    @Override
+    public String toString() {
+      return "[IntWriteOperation " + hashCode() + ", indexOfElement: " + indexOfElement + ", element: " + element
+          + ", pending: " + pending + "]";
+    }
+  }
+
+  /**
+   * Replaces the element, the previous element is kept by the thread which writes it
+   */
+  private static final class IntSetOperation extends IntWriteOperation {
+    private int oldValue;
+
+    IntSetOperation(final int indexOfElement, final int element) {
+      super(indexOfElement, element);
+    }
+
+    @Override
+    void write(final Object bucket, final int indexInBucket) {
+      // The old value is published with the completion of operation
+      oldValue = ((int[]) bucket)[indexInBucket];
+      super.write(bucket, indexInBucket);
+    }
+
+    @Override
+    boolean appends() {
+      return false;
+    }
+  }
+
+}
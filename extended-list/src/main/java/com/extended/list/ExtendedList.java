@@ -1,11 +1,30 @@
 package com.extended.list;
 
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.AbstractList;
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 /**
  * The infinity Lock-free dynamically resizable array List.<br>
@@ -26,6 +45,8 @@ import java.util.concurrent.atomic.AtomicReference;
  * [0][1] // add 10<br>
  * [2][3][4][5]<br>
  * [6][7][8][9][10][null][null][null]<br>
+ * <br>
+ * Sizes of buckets can be changed by {@link BucketGeometry}
  *
  * @author Roman Kostenko, romankoste@gmail.com
  * 
@@ -35,49 +56,237 @@ import java.util.concurrent.atomic.AtomicReference;
 public class ExtendedList<T> extends AbstractList<T> implements List<T> {
 
   /**
-   * The size of root array
+   * Result of single attempt methods when the list is empty
    */
-  private static final int                  ROOT_SIZE = 64;
+  static final Object                       EMPTY      = new Object();
 
   /**
-   * The data array.
+   * Result of single attempt methods when descriptor CAS failed
    */
-  private final T[][]                       array;
+  static final Object                       CAS_FAILED = new Object();
 
   /**
-   * The list of atomic booleans are used for CAS expanding array
+   * Atomic access to elements of bucket arrays
    */
-  private final List<AtomicBoolean>         rootArrayMarker;
+  private static final VarHandle            ELEMENT    = MethodHandles.arrayElementVarHandle(Object[].class);
 
   /**
-   * Represents current pointer of array
+   * Atomic access to buckets of root array
    */
-  private final AtomicReference<Descriptor> descriptor;
+  private static final VarHandle            BUCKET     = MethodHandles.arrayElementVarHandle(Object[][].class);
+
+  /**
+   * Atomic access to seals of buckets
+   */
+  private static final VarHandle            SEAL       = MethodHandles.arrayElementVarHandle(Seal[].class);
+
+  private static final VarHandle            ROOT;
+  private static final VarHandle            SEALS;
+  private static final VarHandle            MARKERS;
+  private static final VarHandle            DESCRIPTOR;
+  private static final VarHandle            WAITING_READERS;
+  private static final VarHandle            HASH_INDEX;
+  private static final VarHandle            SET_CLAIM_STATE;
+  private static final VarHandle            PRESERVED;
+  private static final VarHandle            HOLDERS;
+  private static final VarHandle            PREALLOCATED_BUCKET;
+
+  static {
+    try {
+      final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+      ROOT = lookup.findVarHandle(ExtendedList.class, "array", Object[][].class);
+      SEALS = lookup.findVarHandle(ExtendedList.class, "seals", Seal[].class);
+      MARKERS = lookup.findVarHandle(ExtendedList.class, "bucketMarkers", long[].class);
+      DESCRIPTOR = lookup.findVarHandle(ExtendedList.class, "descriptor", ExtendedList.Descriptor.class);
+      WAITING_READERS = lookup.findVarHandle(ExtendedList.class, "waitingReaders", Queue.class);
+      HASH_INDEX = lookup.findVarHandle(ExtendedList.class, "hashIndex", ExtendedListIndex.class);
+      SET_CLAIM_STATE = lookup.findVarHandle(ExtendedList.SetClaim.class, "state", int.class);
+      PRESERVED = lookup.findVarHandle(Seal.class, "preserved", Object[].class);
+      HOLDERS = lookup.findVarHandle(Seal.class, "holders", int.class);
+      PREALLOCATED_BUCKET = lookup.findVarHandle(ExtendedList.class, "preallocatedBucket", int.class);
+    } catch (final ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * State of {@link SetClaim} before it's completed
+   */
+  private static final int                  UNDECIDED  = 0;
+
+  /**
+   * State of {@link SetClaim} completed by the new value
+   */
+  private static final int                  APPLIED    = 1;
+
+  /**
+   * State of {@link SetClaim} completed by the old value, because the bucket is shared with snapshots or the element
+   * was removed
+   */
+  private static final int                  ABORTED    = 2;
+
+  /**
+   * Holders of {@link Seal} taken by {@link #snapshot()}. The snapshot isn't released, so the seal is kept until the
+   * bucket is changed
+   */
+  private static final int                  PINNED     = -1;
+
+  /**
+   * The data array. Root array and other arrays of buckets are allocated by the first add, so empty list keeps only
+   * its fields.<br>
+   * Root array isn't grown with the size: it has a slot for every bucket of the geometry, because threads allocate and
+   * release buckets by CAS of their slots, and the slot changed while the root was copied would be lost
+   */
+  private T[][]                             array;
+
+  /**
+   * Sizes of buckets
+   */
+  private final BucketGeometry              geometry;
+
+  /**
+   * Bit of bucket is set by the thread which allocates it, one bit per bucket is used for CAS expanding array
+   */
+  private long[]                            bucketMarkers;
+
+  /**
+   * Represents current pointer of array, <code>null</code> until the first add
+   */
+  private volatile Descriptor               descriptor;
+
+  /**
+   * Seals of buckets shared with snapshots, <code>null</code> for buckets which aren't shared. Array is allocated by the
+   * first snapshot
+   */
+  private volatile Seal[]                   seals;
+
+  /**
+   * Contention counters, <code>null</code> if metrics are disabled
+   */
+  private final ExtendedListMetrics         metrics;
+
+  /**
+   * Part of bucket which should be filled before the next bucket is allocated, 0 if preallocation is disabled
+   */
+  private final double                      preallocationThreshold;
+
+  /**
+   * Allocates the next bucket, <code>null</code> if it's allocated by the writing thread
+   */
+  private final Executor                    preallocationExecutor;
+
+  /**
+   * The last bucket which preallocation was started for, so every bucket is preallocated once
+   */
+  private volatile int                      preallocatedBucket;
+
+  /**
+   * Are empty buckets released by remove
+   */
+  private volatile boolean                  autoShrink;
+
+  /**
+   * Readers parked by {@link Cursor} until new elements are added, <code>null</code> until the first reader waits
+   */
+  private volatile Queue<Thread>            waitingReaders;
+
+  /**
+   * Index of elements for {@link #indexOf(Object)}, {@link #lastIndexOf(Object)} and {@link #contains(Object)},
+   * <code>null</code> unless it's enabled
+   */
+  private volatile ExtendedListIndex        hashIndex;
 
-  @SuppressWarnings("unchecked")
   public ExtendedList() {
-    array = (T[][]) new Object[ROOT_SIZE][];
+    this(BucketGeometry.DEFAULT, null, 0);
+  }
+
+  /**
+   * Creates the list with buckets of the geometry. Small first bucket saves memory of small lists, chunks save memory
+   * of huge lists
+   */
+  public ExtendedList(final BucketGeometry geometry) {
+    this(Objects.requireNonNull(geometry), null, 0);
+  }
+
+  /**
+   * Creates the list which allocates bucket k + 1 when bucket k is filled by the threshold, so the thread which crosses
+   * the border of buckets doesn't allocate the bucket.<br>
+   * The next bucket is allocated by the thread which reaches the threshold
+   *
+   * @param preallocationThreshold
+   *          part of bucket from (0, 1]
+   */
+  public ExtendedList(final double preallocationThreshold) {
+    this(BucketGeometry.DEFAULT, null, validatePreallocationThreshold(preallocationThreshold));
+  }
+
+  /**
+   * Creates the list which allocates bucket k + 1 by the executor when bucket k is filled by the threshold, so writing
+   * threads never allocate buckets after the first one unless they are faster than the executor. Such writer allocates
+   * the bucket itself, so slow or discarding executor doesn't stall writers.<br>
+   * Single thread executor is enough, allocations are rare
+   *
+   * @param preallocationThreshold
+   *          part of bucket from (0, 1]
+   */
+  public ExtendedList(final double preallocationThreshold, final Executor preallocationExecutor) {
+    this(BucketGeometry.DEFAULT, Objects.requireNonNull(preallocationExecutor),
+        validatePreallocationThreshold(preallocationThreshold));
+  }
+
+  @SuppressWarnings("unchecked")
+  private ExtendedList(final BucketGeometry geometry, final Executor preallocationExecutor,
+      final double preallocationThreshold) {
+    this.geometry = geometry;
+
+    metrics = ExtendedListMetrics.ENABLED ? new ExtendedListMetrics() : null;
+
+    this.preallocationThreshold = preallocationThreshold;
+    this.preallocationExecutor = preallocationExecutor;
+  }
+
+  /**
+   * Allocates the root array and markers of buckets once. Threads which race for the first add CAS every
+   * array, the root array is the last one, so the thread which sees it sees all arrays
+   */
+  @SuppressWarnings("unchecked")
+  private void initializeBuckets() {
+    if (ROOT.getAcquire(this) != null)
+      return;
+
+    final int rootSize = geometry.bucketCount();
 
-    rootArrayMarker = new ArrayList<AtomicBoolean>(ROOT_SIZE);
-    for (int i = 0; i < ROOT_SIZE; i++)
-      rootArrayMarker.add(new AtomicBoolean());
+    MARKERS.compareAndSet(this, null, Buckets.newMarkers(rootSize));
+    ROOT.compareAndSet(this, null, (T[][]) new Object[rootSize][]);
+  }
+
+  /**
+   * Initializes the first operation. Buckets are initialized before, so the thread which sees descriptor sees buckets
+   */
+  private void initializeDescriptor() {
+    initializeBuckets();
 
-    descriptor = new AtomicReference<Descriptor>(null);
+    while (descriptor == null)
+      DESCRIPTOR.compareAndSet(this, null, new Descriptor(0, new WriteOperation<T>(0, null, false), 0));
+  }
+
+  private static double validatePreallocationThreshold(final double preallocationThreshold) {
+    if (!(preallocationThreshold > 0 && preallocationThreshold <= 1))
+      throw new IllegalArgumentException("Preallocation threshold: " + preallocationThreshold);
+
+    return preallocationThreshold;
   }
 
   /**
-   * Calculates bucked id by formula: USED_BITS(elementIndex + 2) - 2
+   * Calculates bucked id by the geometry. For the default geometry it's USED_BITS(elementIndex + 2) - 2
    *
    * @param index
    *          an index of element
-   * @return counts of bits for the index of element
+   * @return index of bucket for the index of element
    */
   protected int getIndexOfBucket(final int index) {
-    // Get counts of used bits
-    final int countOfUsedBits = 64 - Long.numberOfLeadingZeros(index + 2);
-
-    // Get index of bucket
-    return countOfUsedBits - 2;
+    return geometry.indexOfBucket(index);
   }
 
   /**
@@ -90,43 +299,109 @@ public class ExtendedList<T> extends AbstractList<T> implements List<T> {
    * @return index in bucket for element
    */
   protected int getIndexInBucket(final int indexOfBucket, final int indexOfElement) {
-    // The index of first element in bucket
-    final int indexOfFirstElement = (2 << indexOfBucket) - 2;
-
-    // Element should be in right bucket
-    assert indexOfElement >= indexOfFirstElement;
-
-    // Max index for element in bucket: [(2 ^ NEXT_BUCKET) - 3]
-    final int maxIndexOfBucket = (2 << (indexOfBucket + 1)) - 3;
-
-    // Element should be in right bucket
-    assert indexOfElement <= maxIndexOfBucket;
+    return geometry.indexInBucket(indexOfBucket, indexOfElement);
+  }
 
-    // Element index in the bucket
-    return indexOfElement - indexOfFirstElement;
+  /**
+   * @return sizes of buckets of the list
+   */
+  public BucketGeometry geometry() {
+    return geometry;
   }
 
-  @SuppressWarnings("unchecked")
   protected void allocateBucket(final int bucket) {
     // If you could mark this bucket
-    if (rootArrayMarker.get(bucket).compareAndSet(false, true))
+    if (Buckets.mark(bucketMarkers, bucket))
       // You can expand array
-      array[bucket] = (T[]) new Object[2 << bucket];
+      createBucket(bucket);
+  }
+
+  /**
+   * Publishes new bucket by CAS, so preallocation and the thread which marked the bucket can race for it
+   */
+  private void createBucket(final int bucket) {
+    final int bucketSize = geometry.bucketSize(bucket);
+
+    if (array[bucket] == null && BUCKET.compareAndSet(array, bucket, null, new Object[bucketSize])
+        && ExtendedListMetrics.ENABLED)
+      metrics.bucketAllocated(bucketSize);
+  }
+
+  /**
+   * Allocates the next bucket if the element with the index in bucket fills the bucket by the preallocation threshold
+   */
+  private void preallocateNextBucket(final int bucket, final int indexInBucket) {
+    final int nextBucket = bucket + 1;
+
+    // The last bucket has no next one
+    if (indexInBucket + 1 < geometry.bucketSize(bucket) * preallocationThreshold || nextBucket >= geometry.bucketCount())
+      return;
+
+    final int lastPreallocatedBucket = preallocatedBucket;
+
+    // Only one thread starts the allocation
+    if (nextBucket <= lastPreallocatedBucket || array[nextBucket] != null
+        || !PREALLOCATED_BUCKET.compareAndSet(this, lastPreallocatedBucket, nextBucket))
+      return;
+
+    if (preallocationExecutor == null) {
+      createBucket(nextBucket);
+      return;
+    }
+
+    try {
+      // The bucket isn't marked, so writers which reach it before the executor allocate it themselves
+      preallocationExecutor.execute(() -> createBucket(nextBucket));
+    } catch (final RejectedExecutionException e) {
+      createBucket(nextBucket);
+    }
+  }
+
+  /**
+   * Allocates buckets for <code>minCapacity</code> elements, so adding of them doesn't allocate buckets
+   */
+  public void ensureCapacity(final int minCapacity) {
+    if (minCapacity <= 0)
+      return;
+
+    initializeBuckets();
+
+    final int lastBucket = getIndexOfBucket(minCapacity - 1);
+
+    for (int bucket = 0; bucket <= lastBucket; bucket++)
+      while (array[bucket] == null)
+        allocateBucket(bucket);
   }
 
   protected void completeWrite(final WriteOperation<T> writeOperation) {
     if (writeOperation.pending) {
+      // Range is copied bucket by bucket
+      if (writeOperation instanceof RangeWriteOperation) {
+        completeRangeWrite((RangeWriteOperation<T>) writeOperation);
+        return;
+      }
+
+      if (writeOperation instanceof ShrinkOperation) {
+        completeShrink((ShrinkOperation<T>) writeOperation);
+        return;
+      }
+
       // Try to find a bucket to put element
       final int bucket = getIndexOfBucket(writeOperation.indexOfElement);
 
-      // Add new bucket if it's needed
-      while (array[bucket] == null)
-        allocateBucket(bucket);
+      final T[] bucketArray = getOrAllocateBucket(bucket, writeOperation);
+
+      // Late helper found the bucket released by shrinking
+      if (bucketArray == null)
+        return;
 
       final int indexInBucket = getIndexInBucket(bucket, writeOperation.indexOfElement);
 
-      // Add element
-      array[bucket][indexInBucket] = writeOperation.element;
+      if (preallocationThreshold > 0)
+        preallocateNextBucket(bucket, indexInBucket);
+
+      // Add element. Late helper mustn't overwrite elements put to the cell after the operation was completed
+      writeCell(writeOperation, 0, bucketArray, indexInBucket, writeOperation.element);
 
       // Complete write
       // Important point. Pending should be volatile for preventing reordering with previous line of code
@@ -134,170 +409,2138 @@ public class ExtendedList<T> extends AbstractList<T> implements List<T> {
     }
   }
 
-  @Override
-  public boolean add(final T element) {
-    // Initialize the first operation
-    while (descriptor.get() == null)
-      descriptor.compareAndSet(null, new Descriptor(0, new WriteOperation<T>(0, element)));
+  /**
+   * Copies all elements of the range write operation to their buckets or clears the range if elements are
+   * <code>null</code>.<br>
+   * Elements are copied by one thread which claimed the range, bucket by bucket by {@link System#arraycopy}, and
+   * published by completion of the operation. Other threads wait for it, so late helper never writes cells which
+   * were reused after the range was completed. Cells of the range are beyond the size, so nobody else writes them while
+   * the range is pending.<br>
+   * Any thread can help to clear the range, every cell is cleared like single write, so late helper doesn't clear
+   * elements added later
+   */
+  protected void completeRangeWrite(final RangeWriteOperation<T> writeOperation) {
+    if (writeOperation.elements == null) {
+      clearRange(writeOperation);
+      return;
+    }
 
-    Descriptor currentDescriptor;
-    Descriptor operationDescriptor;
+    while (writeOperation.pending) {
+      if (!writeOperation.claim()) {
+        writeOperation.awaitWriter();
+        continue;
+      }
 
-    do {
-      currentDescriptor = descriptor.get();
+      try {
+        copyRange(writeOperation);
+      } catch (final RuntimeException | Error e) {
+        // Let another thread try again
+        writeOperation.release();
+        throw e;
+      }
 
-      // Try to complete previous write operation
-      completeWrite(currentDescriptor.writeOperation);
+      // Complete write
+      // Important point. Pending should be volatile for publishing of copied elements
+      writeOperation.pending = false;
+    }
+  }
 
-      operationDescriptor = new Descriptor(currentDescriptor.size + 1, new WriteOperation<T>(currentDescriptor.size, element));
+  /**
+   * Copies elements of the claimed range write operation
+   */
+  private void copyRange(final RangeWriteOperation<T> writeOperation) {
+    int indexOfElement = writeOperation.indexOfElement;
+    int position = writeOperation.offset;
+    final int end = writeOperation.offset + writeOperation.length;
 
-    } while (!descriptor.compareAndSet(currentDescriptor, operationDescriptor));
+    while (position < end) {
+      final int bucket = getIndexOfBucket(indexOfElement);
 
-    // Complete current operation
-    completeWrite(operationDescriptor.writeOperation);
+      // Buckets of the pending range can't be released by shrinking
+      final T[] bucketArray = getOrAllocateBucket(bucket, writeOperation);
 
-    return true;
+      final int indexInBucket = getIndexInBucket(bucket, indexOfElement);
+
+      // Copy as many elements as the bucket can hold
+      final int count = Math.min(bucketArray.length - indexInBucket, end - position);
+
+      if (preallocationThreshold > 0)
+        preallocateNextBucket(bucket, indexInBucket + count - 1);
+
+      System.arraycopy(writeOperation.elements, position, bucketArray, indexInBucket, count);
+
+      position += count;
+      indexOfElement += count;
+    }
   }
 
-  @Override
-  public T set(final int index, final T element) {
-    boundsValidation(index);
+  /**
+   * Clears cells of the range bucket by bucket. Pending is checked before every cell, so late helper stops as soon as
+   * it sees completed operation
+   */
+  private void clearRange(final RangeWriteOperation<T> writeOperation) {
+    int indexOfElement = writeOperation.indexOfElement;
+    int slot = 0;
 
-    final int indexOfBucket = getIndexOfBucket(index);
-    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+    while (slot < writeOperation.length && writeOperation.pending) {
+      final int bucket = getIndexOfBucket(indexOfElement);
 
-    final T oldValue = array[indexOfBucket][indexInBucket];
+      final T[] bucketArray = getOrAllocateBucket(bucket, writeOperation);
 
-    array[indexOfBucket][indexInBucket] = element;
+      // Late helper found the bucket released by shrinking
+      if (bucketArray == null)
+        return;
 
-    return oldValue;
-  }
+      final int indexInBucket = getIndexInBucket(bucket, indexOfElement);
 
-  @Override
-  public T get(final int index) {
-    boundsValidation(index);
+      // Clear as many elements as the bucket holds
+      final int count = Math.min(bucketArray.length - indexInBucket, writeOperation.length - slot);
 
-    return getUnchecked(index);
-  }
+      for (int i = 0; i < count && writeOperation.pending; i++)
+        writeCell(writeOperation, slot + i, bucketArray, indexInBucket + i, null);
 
-  private T getUnchecked(final int index) {
-    final int indexOfBucket = getIndexOfBucket(index);
-    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+      slot += count;
+      indexOfElement += count;
+    }
 
-    return array[indexOfBucket][indexInBucket];
+    // Complete write
+    writeOperation.pending = false;
   }
 
   /**
-   * Removes only the last value.
+   * Allocates the bucket for pending write operation if it's needed
+   *
+   * @return the bucket or <code>null</code> if the operation was completed and the bucket was released by shrinking
    */
-  @Override
-  public T remove(final int index) {
-    // Can't remove element from empty list
-    if (descriptor.get() == null)
-      throw new IndexOutOfBoundsException("Size: 0");
+  private T[] getOrAllocateBucket(final int bucket, final WriteOperation<T> writeOperation) {
+    T[] bucketArray;
 
-    Descriptor currentDescriptor;
-    Descriptor operationDescriptor;
-    T currentElement;
-    int currentIndex;
+    while ((bucketArray = array[bucket]) == null) {
+      // Late helper mustn't allocate released bucket again
+      if (!writeOperation.pending)
+        return null;
 
-    do {
-      currentDescriptor = descriptor.get();
+      allocateBucket(bucket);
 
-      // Another thread can remove last element
-      if (currentDescriptor.size == 0)
-        throw new IndexOutOfBoundsException("Size: 0");
+      // Another thread is allocating the bucket
+      if (ExtendedListMetrics.ENABLED && array[bucket] == null)
+        metrics.bucketSpin();
+    }
 
-      // Try to complete previous write operation
-      completeWrite(currentDescriptor.writeOperation);
+    return bucketArray;
+  }
 
-      currentIndex = currentDescriptor.writeOperation.indexOfElement;
-      currentElement = getUnchecked(currentIndex);
+  /**
+   * Puts the element of pending operation to the cell through the {@link Claim}. The claim is completed by the
+   * element only if the operation is still pending, so late helper which read the old value of the cell before the
+   * operation was completed can't overwrite the cell even if it got the same old value again.<br>
+   * The value which the write replaced is passed to {@link WriteOperation#replaced(int, Object)} before the operation
+   * can be completed
+   *
+   * @param slot
+   *          index of the cell in the operation
+   */
+  private static void writeCell(final WriteOperation<?> writeOperation, final int slot, final Object[] bucketArray,
+      final int index, final Object element) {
+    while (writeOperation.pending) {
+      final Object value = ELEMENT.getVolatile(bucketArray, index);
+
+      // Another write can't start before the claim is completed
+      if (value instanceof Claim) {
+        ((Claim) value).complete(bucketArray, index);
+        continue;
+      }
 
-      operationDescriptor = new Descriptor(currentDescriptor.size - 1, new WriteOperation<T>(currentIndex - 1, null, false));
+      // Another helper put the element already, or the cell kept it before the write
+      if (value == element) {
+        writeOperation.replaced(slot, value);
+        return;
+      }
 
-    } while (!descriptor.compareAndSet(currentDescriptor, operationDescriptor));
+      final Claim claim = writeOperation instanceof RemoveOperation ? new RemoveClaim(
+          (RemoveOperation<?>) writeOperation, slot, value) : new WriteClaim(writeOperation, value, element);
 
-    return currentElement;
+      if (ELEMENT.compareAndSet(bucketArray, index, value, claim)) {
+        claim.complete(bucketArray, index);
+        return;
+      }
+    }
   }
 
-  private void boundsValidation(final int index) {
-    if (descriptor.get() == null)
-      throw new IndexOutOfBoundsException("Index: " + index + ", Size: 0");
+  /**
+   * @return the value of the cell, the claim of pending write is completed first
+   */
+  private static Object getCell(final Object[] bucketArray, final int index) {
+    Object value = ELEMENT.getAcquire(bucketArray, index);
 
-    if (index >= size())
-      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    while (value instanceof Claim) {
+      ((Claim) value).complete(bucketArray, index);
+      value = ELEMENT.getAcquire(bucketArray, index);
+    }
+
+    return value;
   }
 
-  @Override
-  public int size() {
-    final Descriptor currentDescriptor = descriptor.get();
+  /**
+   * Plain read of the cell for iteration, the claim of pending write is completed
+   */
+  @SuppressWarnings("unchecked")
+  private T cellValue(final T[] bucketArray, final int index) {
+    final T element = bucketArray[index];
 
-    if (currentDescriptor.writeOperation.pending)
-      return currentDescriptor.size - 1;
+    return element instanceof Claim ? (T) getCell(bucketArray, index) : element;
+  }
 
-    return currentDescriptor.size;
+  /**
+   * Copies cells of the bucket by {@link System#arraycopy}. Claims of pending writes are replaced by values of their
+   * cells
+   */
+  private static void copyCells(final Object[] bucketArray, final int from, final Object[] destination, final int position,
+      final int count) {
+    try {
+      System.arraycopy(bucketArray, from, destination, position, count);
+    } catch (final ArrayStoreException e) {
+      // Claim can't be stored to the typed array, so cells are copied one by one
+      for (int i = 0; i < count; i++)
+        destination[position + i] = getCell(bucketArray, from + i);
+
+      return;
+    }
+
+    for (int i = 0; i < count; i++)
+      if (destination[position + i] instanceof Claim)
+        destination[position + i] = getCell(bucketArray, from + i);
   }
 
-  @Override
-  public String toString() {
-    final StringBuilder sb = new StringBuilder();
-    for (int i = 0; i < ROOT_SIZE; i++) {
-      if (array[i] == null)
+  /**
+   * Releases buckets starting from the last one. Any thread can help, but only one of them releases a bucket and
+   * resets its marker. Late helper can't release the bucket allocated again, because it's a new array
+   */
+  private void completeShrink(final ShrinkOperation<T> shrinkOperation) {
+    for (int bucket = geometry.bucketCount() - 1; bucket >= shrinkOperation.fromBucket && shrinkOperation.pending; bucket--) {
+      final T[] bucketArray = array[bucket];
+
+      if (bucketArray == null || !shrinkOperation.pending || !BUCKET.compareAndSet(array, bucket, bucketArray, null))
         continue;
 
-      sb.append(Arrays.asList(array[i]));
-      sb.append("\n");
+      // Bucket can be allocated again only after this line
+      Buckets.unmark(bucketMarkers, bucket);
+
+      if (ExtendedListMetrics.ENABLED)
+        metrics.bucketReleased(bucketArray.length);
     }
 
-    if (sb.length() > 0)
-      sb.deleteCharAt(sb.length() - 1);
+    // Released buckets can be preallocated again
+    int lastPreallocatedBucket = preallocatedBucket;
 
-    return sb.toString();
+    while (lastPreallocatedBucket >= shrinkOperation.fromBucket
+        && !PREALLOCATED_BUCKET.compareAndSet(this, lastPreallocatedBucket, shrinkOperation.fromBucket - 1))
+      lastPreallocatedBucket = preallocatedBucket;
+
+    // Complete shrink
+    shrinkOperation.pending = false;
   }
 
-  private class Descriptor {
-    public final int               size;
-    public final WriteOperation<T> writeOperation;
+  /**
+   * Releases all buckets starting from <code>fromBucket</code> if they are empty.<br>
+   * Shrinking is a pending operation of descriptor, so the next add completes it before it takes the index
+   */
+  private void shrink(final int fromBucket) {
+    if (fromBucket >= geometry.bucketCount())
+      return;
 
-    public Descriptor(final int size, final WriteOperation<T> writeOperation) {
-      this.size = size;
-      this.writeOperation = writeOperation;
-    }
+    while (true) {
+      final Descriptor currentDescriptor = descriptor;
 
-    @Override
-    public String toString() {
-      return "[Descriptor " + hashCode() + ", size: " + size + ", writeOperation: " + writeOperation + "]";
-    }
-  }
+      // Nothing was added yet
+      if (currentDescriptor == null)
+        return;
 
-  protected static class WriteOperation<T> {
-    public final int        indexOfElement;
-    public final T          element;
-    public volatile boolean pending;
+      // Try to complete previous write operation
+      helpCompleteWrite(currentDescriptor.writeOperation);
 
-    /**
-     * Creates write operation for index and element<br>
-     * This operation is pending by default
-     */
-    public WriteOperation(final int indexOfElement, final T element) {
-      this(indexOfElement, element, true);
-    }
+      // Elements were added to the bucket after the decision
+      if (currentDescriptor.size > geometry.firstIndexOfBucket(fromBucket))
+        return;
 
-    /**
-     * Creates finished write operation for index and element<br>
-     * This operation is pending by default
-     */
-    public WriteOperation(final int indexOfElement, final T element, final boolean pending) {
-      this.indexOfElement = indexOfElement;
-      this.element = element;
-      this.pending = pending;
+      final Descriptor operationDescriptor = new Descriptor(currentDescriptor.size, new ShrinkOperation<T>(currentDescriptor.size,
+          fromBucket), currentDescriptor.removals);
+
+      if (casDescriptor(currentDescriptor, operationDescriptor)) {
+        completeWrite(operationDescriptor.writeOperation);
+        return;
+      }
     }
+  }
 
-    @Override
-    public String toString() {
-      return "[WriteOperation " + hashCode() + ", indexOfElement: " + indexOfElement + ", element: " + element + ", pending: "
-          + pending + "]";
+  /**
+   * Releases buckets after the last element, so the list keeps only buckets for its elements
+   */
+  public void trimToSize() {
+    final int size = size();
+
+    shrink(size == 0 ? 0 : getIndexOfBucket(size - 1) + 1);
+  }
+
+  /**
+   * Enables releasing of empty buckets by remove. One empty bucket after the last element is kept, so add and remove
+   * at the border of buckets don't allocate and release the same bucket
+   */
+  public void setAutoShrink(final boolean autoShrink) {
+    this.autoShrink = autoShrink;
+  }
+
+  /**
+   * Releases empty buckets after remove if auto shrink is enabled
+   */
+  private void shrinkIfNeeded(final int size) {
+    if (!autoShrink)
+      return;
+
+    // The bucket of the next add and one spare bucket are kept
+    final int fromBucket = getIndexOfBucket(size) + 2;
+
+    if (fromBucket < geometry.bucketCount() && array[fromBucket] != null)
+      shrink(fromBucket);
+  }
+
+  /**
+   * Enables the hash index of elements, so {@link #contains(Object)}, {@link #indexOf(Object)} and
+   * {@link #lastIndexOf(Object)} take expected constant time instead of the scan of the list. Elements are compared
+   * by <code>equals</code> and <code>hashCode</code>, so they mustn't change while they are in the list.<br>
+   * Enabling indexes elements which are in the list, lookups use the index when it's built. Add, set and remove
+   * update the index after they change the cell, so the lookup can miss the element of a change which isn't completed
+   * yet. Disabling drops the index
+   */
+  public void setIndexed(final boolean indexed) {
+    if (!indexed) {
+      hashIndex = null;
+      return;
+    }
+
+    if (hashIndex != null)
+      return;
+
+    final ExtendedListIndex index = new ExtendedListIndex(size());
+
+    // Only one thread builds the index
+    if (!HASH_INDEX.compareAndSet(this, null, index))
+      return;
+
+    // Elements added after publication of the index put themselves, stale indexes are skipped by lookups
+    final int size = size();
+    for (int i = 0; i < size; i++)
+      index.put(getUnchecked(i), i);
+
+    index.markReady();
+  }
+
+  public boolean isIndexed() {
+    return hashIndex != null;
+  }
+
+  /**
+   * Puts index of the element added to the cell
+   */
+  private void indexAdded(final T element, final int index) {
+    final ExtendedListIndex currentIndex = hashIndex;
+
+    if (currentIndex != null)
+      currentIndex.put(element, index);
+  }
+
+  /**
+   * Moves index of the cell from the previous element to the new one
+   */
+  private void indexReplaced(final T previous, final T element, final int index) {
+    if (hashIndex == null || Objects.equals(previous, element))
+      return;
+
+    indexAdded(element, index);
+    indexRemoved(previous, index);
+  }
+
+  /**
+   * Removes index of the element removed from the cell
+   */
+  private void indexRemoved(final T element, final int index) {
+    final ExtendedListIndex currentIndex = hashIndex;
+
+    if (currentIndex == null)
+      return;
+
+    currentIndex.remove(element, index);
+
+    // Another thread could put equal element to the cell and its index before this removal
+    if (isElementAt(element, index))
+      currentIndex.put(element, index);
+  }
+
+  /**
+   * @return <code>true</code> if the cell keeps element equal to <code>o</code>
+   */
+  private boolean isElementAt(final Object o, final int index) {
+    return index < size() && Objects.equals(o, getUnchecked(index));
+  }
+
+  /**
+   * Completes write operation of another thread
+   */
+  private void helpCompleteWrite(final WriteOperation<T> writeOperation) {
+    if (ExtendedListMetrics.ENABLED && writeOperation.pending)
+      metrics.helpedWrite();
+
+    completeWrite(writeOperation);
+  }
+
+  private boolean casDescriptor(final Descriptor expected, final Descriptor update) {
+    final boolean succeeded = DESCRIPTOR.compareAndSet(this, expected, update);
+
+    if (ExtendedListMetrics.ENABLED)
+      metrics.descriptorCas(succeeded);
+
+    return succeeded;
+  }
+
+  @Override
+  public boolean add(final T element) {
+    // Initialize the first operation
+    if (descriptor == null)
+      initializeDescriptor();
+
+    Descriptor currentDescriptor;
+    Descriptor operationDescriptor;
+
+    do {
+      currentDescriptor = descriptor;
+
+      // Try to complete previous write operation
+      helpCompleteWrite(currentDescriptor.writeOperation);
+
+      operationDescriptor = new Descriptor(currentDescriptor.size + 1, new WriteOperation<T>(currentDescriptor.size, element),
+          currentDescriptor.removals);
+
+    } while (!casDescriptor(currentDescriptor, operationDescriptor));
+
+    // Complete current operation
+    completeWrite(operationDescriptor.writeOperation);
+
+    indexAdded(element, currentDescriptor.size);
+
+    signalWaitingReaders();
+
+    return true;
+  }
+
+  /**
+   * Tries to append the element by one descriptor CAS
+   *
+   * @return <code>false</code> if another thread changed descriptor
+   */
+  boolean tryAdd(final T element) {
+    // Initialize the first operation
+    if (descriptor == null)
+      initializeDescriptor();
+
+    final Descriptor currentDescriptor = descriptor;
+
+    // Try to complete previous write operation
+    helpCompleteWrite(currentDescriptor.writeOperation);
+
+    final Descriptor operationDescriptor = new Descriptor(currentDescriptor.size + 1, new WriteOperation<T>(
+        currentDescriptor.size, element), currentDescriptor.removals);
+
+    if (!casDescriptor(currentDescriptor, operationDescriptor))
+      return false;
+
+    // Complete current operation
+    completeWrite(operationDescriptor.writeOperation);
+
+    indexAdded(element, currentDescriptor.size);
+
+    signalWaitingReaders();
+
+    return true;
+  }
+
+  /**
+   * Unparks readers waiting for new elements. Completed write is published before the queue is read, and reader is
+   * queued before it reads the size, so the reader either sees the element or is unparked
+   */
+  private void signalWaitingReaders() {
+    final Queue<Thread> readers = waitingReaders;
+
+    if (readers == null || readers.isEmpty())
+      return;
+
+    for (final Thread reader : readers)
+      LockSupport.unpark(reader);
+  }
+
+  /**
+   * Parks the current thread until the size of the list is greater than <code>position</code>
+   *
+   * @param timeout
+   *          nanoseconds to wait, negative value means waiting without timeout
+   * @return <code>false</code> if the timeout elapsed
+   */
+  boolean awaitSizeGreaterThan(final int position, final long timeout) throws InterruptedException {
+    if (size() > position)
+      return true;
+
+    final long deadline = System.nanoTime() + timeout;
+    final Thread reader = Thread.currentThread();
+
+    // The queue is allocated by the first waiting reader
+    if (waitingReaders == null)
+      WAITING_READERS.compareAndSet(this, null, new ConcurrentLinkedQueue<Thread>());
+
+    final Queue<Thread> readers = waitingReaders;
+    readers.add(reader);
+
+    try {
+      while (size() <= position) {
+        if (Thread.interrupted())
+          throw new InterruptedException();
+
+        if (timeout < 0) {
+          LockSupport.park(this);
+        } else {
+          final long remaining = deadline - System.nanoTime();
+
+          if (remaining <= 0)
+            return false;
+
+          LockSupport.parkNanos(this, remaining);
+        }
+      }
+
+      return true;
+    } finally {
+      readers.remove(reader);
+    }
+  }
+
+  /**
+   * Creates cursor which reads elements added to the list starting from the first one
+   */
+  public Cursor<T> cursor() {
+    return new Cursor<T>(this, 0);
+  }
+
+  /**
+   * Creates cursor which reads elements added to the list starting from <code>position</code>. Cursor created at
+   * {@link #size()} reads only new elements
+   */
+  public Cursor<T> cursor(final int position) {
+    if (position < 0)
+      throw new IndexOutOfBoundsException("Position: " + position);
+
+    return new Cursor<T>(this, position);
+  }
+
+  /**
+   * Creates publisher of elements added to the list starting from <code>fromIndex</code>. Elements are delivered by
+   * shared daemon threads
+   */
+  public Flow.Publisher<T> publisher(final int fromIndex) {
+    return new ExtendedListPublisher<T>(this, fromIndex);
+  }
+
+  /**
+   * Creates publisher of elements added to the list starting from <code>fromIndex</code>. Elements are delivered by
+   * the executor, it should have a thread for every subscriber with demand
+   */
+  public Flow.Publisher<T> publisher(final int fromIndex, final Executor executor) {
+    return new ExtendedListPublisher<T>(this, fromIndex, executor);
+  }
+
+  /**
+   * Creates appender which appends elements by chunks of {@link ChunkedAppender#DEFAULT_CHUNK_SIZE}. Every producer
+   * thread should have its own appender
+   */
+  public ChunkedAppender<T> appender() {
+    return new ChunkedAppender<T>(this, ChunkedAppender.DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Creates appender which appends elements by chunks of <code>chunkSize</code> with one descriptor CAS per chunk.
+   * Every producer thread should have its own appender
+   */
+  public ChunkedAppender<T> appender(final int chunkSize) {
+    return new ChunkedAppender<T>(this, chunkSize);
+  }
+
+  /**
+   * Appends all elements of the collection to the end of the list.<br>
+   * The whole range of indexes is reserved by one descriptor CAS
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public boolean addAll(final Collection<? extends T> collection) {
+    // Array is a private copy, so it can be shared with other threads as it is
+    final T[] elements = (T[]) collection.toArray();
+
+    return addRange(elements, 0, elements.length);
+  }
+
+  /**
+   * Appends <code>length</code> elements of array starting from <code>offset</code> to the end of the list.<br>
+   * The whole range of indexes is reserved by one descriptor CAS
+   */
+  public boolean addAll(final T[] elements, final int offset, final int length) {
+    if (offset < 0 || length < 0 || offset > elements.length - length)
+      throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length + ", Array length: " + elements.length);
+
+    // Other threads can help to copy the range after return, so the caller's array can't be used
+    return addRange(Arrays.copyOfRange(elements, offset, offset + length), 0, length);
+  }
+
+  /**
+   * Appends the range of array which is never changed later, so other threads can copy it as it is
+   */
+  boolean addRange(final T[] elements, final int offset, final int length) {
+    if (length == 0)
+      return false;
+
+    // Initialize the first operation
+    if (descriptor == null)
+      initializeDescriptor();
+
+    Descriptor currentDescriptor;
+    Descriptor operationDescriptor;
+
+    do {
+      currentDescriptor = descriptor;
+
+      // Try to complete previous write operation
+      helpCompleteWrite(currentDescriptor.writeOperation);
+
+      operationDescriptor = new Descriptor(currentDescriptor.size + length, new RangeWriteOperation<T>(currentDescriptor.size,
+          elements, offset, length), currentDescriptor.removals);
+
+    } while (!casDescriptor(currentDescriptor, operationDescriptor));
+
+    // Complete current operation
+    completeWrite(operationDescriptor.writeOperation);
+
+    for (int i = 0; i < length; i++)
+      indexAdded(elements[offset + i], currentDescriptor.size + i);
+
+    signalWaitingReaders();
+
+    return true;
+  }
+
+  /**
+   * Replaces the element atomically, so concurrent setters get different old values
+   */
+  @Override
+  public T set(final int index, final T element) {
+    return getAndSet(index, element);
+  }
+
+  /**
+   * Atomically sets the element to <code>update</code> if the current element is the same object as <code>expected</code>
+   *
+   * @return <code>true</code> if the element was replaced
+   */
+  public boolean compareAndSet(final int index, final T expected, final T update) {
+    boundsValidation(index);
+
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+
+    final boolean replaced = replaceCell(indexOfBucket, getBucketForUpdate(indexOfBucket, index), indexInBucket, index,
+        expected, update);
+
+    if (replaced)
+      indexReplaced(expected, update, index);
+
+    return replaced;
+  }
+
+  /**
+   * Atomically replaces the element
+   *
+   * @return the previous element
+   * @throws IndexOutOfBoundsException
+   *           if the element was removed by another thread before it was replaced
+   */
+  @SuppressWarnings("unchecked")
+  public T getAndSet(final int index, final T element) {
+    boundsValidation(index);
+
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+    final T[] bucketArray = getBucketForUpdate(indexOfBucket, index);
+
+    T previous;
+
+    do {
+      previous = (T) getCell(bucketArray, indexInBucket);
+    } while (!replaceCell(indexOfBucket, bucketArray, indexInBucket, index, previous, element));
+
+
+    indexReplaced(previous, element, index);
+
+    return previous;
+  }
+
+  /**
+   * Atomically replaces the element with result of the function. The function can be called several times
+   *
+   * @return the previous element
+   * @throws IndexOutOfBoundsException
+   *           if the element was removed by another thread before it was replaced
+   */
+  @SuppressWarnings("unchecked")
+  public T getAndUpdate(final int index, final UnaryOperator<T> updateFunction) {
+    boundsValidation(index);
+
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+    final T[] bucketArray = getBucketForUpdate(indexOfBucket, index);
+
+    T previous;
+    T next;
+
+    do {
+      previous = (T) getCell(bucketArray, indexInBucket);
+      next = updateFunction.apply(previous);
+    } while (!replaceCell(indexOfBucket, bucketArray, indexInBucket, index, previous, next));
+
+
+    indexReplaced(previous, next, index);
+
+    return previous;
+  }
+
+  /**
+   * Atomically replaces the element with result of the function applied to the element and <code>x</code>. The
+   * function can be called several times
+   *
+   * @return the updated element
+   * @throws IndexOutOfBoundsException
+   *           if the element was removed by another thread before it was replaced
+   */
+  @SuppressWarnings("unchecked")
+  public T accumulateAndGet(final int index, final T x, final BinaryOperator<T> accumulatorFunction) {
+    boundsValidation(index);
+
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+    final T[] bucketArray = getBucketForUpdate(indexOfBucket, index);
+
+    T previous;
+    T next;
+
+    do {
+      previous = (T) getCell(bucketArray, indexInBucket);
+      next = accumulatorFunction.apply(previous, x);
+    } while (!replaceCell(indexOfBucket, bucketArray, indexInBucket, index, previous, next));
+
+
+    indexReplaced(previous, next, index);
+
+    return next;
+  }
+
+  /**
+   * Replaces the value of the cell if it's the same object as <code>expected</code>. The cell gets the {@link SetClaim}
+   * first, the claim puts the new value only if the bucket isn't shared with snapshots and the element isn't removed.
+   * Otherwise snapshots get the copy of the bucket and the change is repeated, so the thread never waits for snapshots
+   * or other setters
+   *
+   * @return <code>false</code> if the cell keeps another value
+   * @throws IndexOutOfBoundsException
+   *           if the element was removed before the claim was decided
+   */
+  private boolean replaceCell(final int bucket, final T[] bucketArray, final int indexInBucket, final int index,
+      final Object expected, final Object update) {
+    SetClaim claim = null;
+
+    while (true) {
+      // Removals counted before the cell is read abort the claim, even if the index was appended again
+      final int removals = descriptor.removals;
+      boundsValidation(index);
+
+      // The bucket was released by removal and allocated again by append, so the set is ordered after the removal
+      if (array[bucket] != bucketArray)
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+
+      final Object value = ELEMENT.getVolatile(bucketArray, indexInBucket);
+
+      // Claim of another write keeps the cell until it's completed
+      if (value instanceof Claim) {
+        ((Claim) value).complete(bucketArray, indexInBucket);
+        continue;
+      }
+
+      if (value != expected)
+        return false;
+
+      // Claim which wasn't put to the cell can be used for the next attempt
+      if (claim == null || claim.removals != removals)
+        claim = new SetClaim(bucket, removals, expected, update);
+
+      if (!ELEMENT.compareAndSet(bucketArray, indexInBucket, expected, claim))
+        continue;
+
+      if (claim.complete(bucketArray, indexInBucket))
+        return true;
+
+      // Remove took the index before the claim was decided, so the set is ordered after it
+      boundsValidation(index);
+
+      // Snapshots share the bucket, so they get the copy of it before the change
+      preserveBucket(bucket);
+      claim = null;
+    }
+  }
+
+  /**
+   * Returns the element with volatile semantic
+   */
+  @SuppressWarnings("unchecked")
+  public T getVolatile(final int index) {
+    boundsValidation(index);
+
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+
+    final T[] bucketArray = array[indexOfBucket];
+
+    // The element was removed and its bucket was released after bounds validation
+    if (bucketArray == null)
+      return null;
+
+    final Object element = ELEMENT.getVolatile(bucketArray, indexInBucket);
+
+    return (T) (element instanceof Claim ? getCell(bucketArray, indexInBucket) : element);
+  }
+
+  /**
+   * Returns the element with acquire semantic, so element put by {@link #set(int, Object)} in another thread is visible
+   */
+  @Override
+  public T get(final int index) {
+    boundsValidation(index);
+
+    return getUnchecked(index);
+  }
+
+  /**
+   * @return the element or <code>null</code> if it was removed and its bucket was released
+   */
+  @SuppressWarnings("unchecked")
+  private T getUnchecked(final int index) {
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+    final T[] bucketArray = array[indexOfBucket];
+
+    // Descriptor was read before shrinking, so its CAS will fail
+    if (bucketArray == null)
+      return null;
+
+    return (T) getCell(bucketArray, indexInBucket);
+  }
+
+  /**
+   * @return the bucket for changing of the element
+   * @throws IndexOutOfBoundsException
+   *           if the element was removed and its bucket was released after bounds validation
+   */
+  private T[] getBucketForUpdate(final int indexOfBucket, final int index) {
+    final T[] bucketArray = array[indexOfBucket];
+
+    if (bucketArray == null)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+
+    return bucketArray;
+  }
+
+  /**
+   * Removes only the last value.
+   */
+  @Override
+  public T remove(final int index) {
+    // Can't remove element from empty list
+    if (descriptor == null)
+      throw new IndexOutOfBoundsException("Size: 0");
+
+    Descriptor currentDescriptor;
+    RemoveOperation<T> removeOperation;
+    int currentIndex;
+
+    do {
+      currentDescriptor = descriptor;
+
+      // Another thread can remove last element
+      if (currentDescriptor.size == 0)
+        throw new IndexOutOfBoundsException("Size: 0");
+
+      // Try to complete previous write operation
+      helpCompleteWrite(currentDescriptor.writeOperation);
+
+      currentIndex = currentDescriptor.size - 1;
+
+      // The index will be reused by next add
+      preserveSealedBuckets(currentIndex, currentDescriptor.size);
+
+      // Pending clearing of the cell, so the list doesn't keep the removed element
+      removeOperation = new RemoveOperation<T>(currentIndex, 1);
+
+    } while (!casDescriptor(currentDescriptor, new Descriptor(currentIndex, removeOperation,
+        currentDescriptor.removals + 1)));
+
+    // Complete current operation
+    completeWrite(removeOperation);
+
+    // Set which was decided before the removal can change the element after it was read, so the cleared value is taken
+    final T currentElement = removeOperation.takeRemoved(0);
+
+    indexRemoved(currentElement, currentIndex);
+
+    shrinkIfNeeded(currentIndex);
+
+    return currentElement;
+  }
+
+  /**
+   * Tries to remove the last element by one descriptor CAS
+   *
+   * @return removed element, {@link #EMPTY} if the list is empty or {@link #CAS_FAILED} if another thread changed
+   *         descriptor
+   */
+  Object tryRemove() {
+    final Descriptor currentDescriptor = descriptor;
+
+    if (currentDescriptor == null || currentDescriptor.size == 0)
+      return EMPTY;
+
+    // Try to complete previous write operation
+    helpCompleteWrite(currentDescriptor.writeOperation);
+
+    final int currentIndex = currentDescriptor.size - 1;
+
+    // The index will be reused by next add
+    preserveSealedBuckets(currentIndex, currentDescriptor.size);
+
+    // Pending clearing of the cell, so the list doesn't keep the removed element
+    final RemoveOperation<T> removeOperation = new RemoveOperation<T>(currentIndex, 1);
+
+    if (!casDescriptor(currentDescriptor, new Descriptor(currentIndex, removeOperation,
+        currentDescriptor.removals + 1)))
+      return CAS_FAILED;
+
+    // Complete current operation
+    completeWrite(removeOperation);
+
+    final T currentElement = removeOperation.takeRemoved(0);
+
+    indexRemoved(currentElement, currentIndex);
+
+    shrinkIfNeeded(currentIndex);
+
+    return currentElement;
+  }
+
+  /**
+   * Tries to remove up to <code>count</code> last elements by one descriptor CAS.<br>
+   * Removed elements are put to the destination starting from the last element of the list
+   *
+   * @return count of removed elements or <code>-1</code> if another thread changed descriptor
+   */
+  @SuppressWarnings("unchecked")
+  int tryRemove(final Object[] destination, final int count) {
+    final Descriptor currentDescriptor = descriptor;
+
+    if (currentDescriptor == null || currentDescriptor.size == 0)
+      return 0;
+
+    // Try to complete previous write operation
+    helpCompleteWrite(currentDescriptor.writeOperation);
+
+    final int removedCount = Math.min(count, currentDescriptor.size);
+    final int newSize = currentDescriptor.size - removedCount;
+
+    if (removedCount == 0)
+      return 0;
+
+    // Indexes will be reused by next adds
+    preserveSealedBuckets(newSize, currentDescriptor.size);
+
+    // Pending range without elements clears the cells
+    final RemoveOperation<T> removeOperation = new RemoveOperation<T>(newSize, removedCount);
+
+    if (!casDescriptor(currentDescriptor, new Descriptor(newSize, removeOperation, currentDescriptor.removals + 1)))
+      return -1;
+
+    // Complete current operation
+    completeWrite(removeOperation);
+
+    for (int i = 0; i < removedCount; i++)
+      destination[i] = removeOperation.takeRemoved(removedCount - 1 - i);
+
+    for (int i = 0; i < removedCount; i++)
+      indexRemoved((T) destination[i], currentDescriptor.size - 1 - i);
+
+    shrinkIfNeeded(newSize);
+
+    return removedCount;
+  }
+
+  /**
+   * @return the last element or {@link #EMPTY} if the list is empty
+   */
+  Object peekLast() {
+    final Descriptor currentDescriptor = descriptor;
+
+    if (currentDescriptor == null || currentDescriptor.size == 0)
+      return EMPTY;
+
+    // Try to complete previous write operation
+    helpCompleteWrite(currentDescriptor.writeOperation);
+
+    return getUnchecked(currentDescriptor.size - 1);
+  }
+
+  /**
+   * @return <code>true</code> if the bucket is shared with snapshots
+   */
+  private boolean isSealed(final int bucket) {
+    final Seal[] currentSeals = seals;
+
+    if (currentSeals == null)
+      return false;
+
+    final Seal seal = (Seal) SEAL.getVolatile(currentSeals, bucket);
+
+    return seal != null && seal.isHeld();
+  }
+
+  /**
+   * Gives snapshots which share the bucket the copy of it, so the bucket can be changed. Any thread can help, only the
+   * first copy is kept
+   */
+  private void preserveBucket(final int bucket) {
+    final Seal[] currentSeals = seals;
+
+    // Claim was aborted by removal before any snapshot was taken
+    if (currentSeals == null)
+      return;
+
+    final Seal seal = (Seal) SEAL.getVolatile(currentSeals, bucket);
+
+    if (seal == null)
+      return;
+
+    // Snapshots which released the seal don't need the copy
+    if (seal.isHeld())
+      seal.preserve();
+
+    SEAL.compareAndSet(currentSeals, bucket, seal, null);
+  }
+
+  /**
+   * Copies sealed buckets of indexes [from, to), so elements added to these indexes after remove don't change snapshots.
+   * <br>
+   * It's called before descriptor CAS of remove. Snapshot changes descriptor too, so if it seals the bucket after this
+   * check, remove fails and checks it again
+   */
+  private void preserveSealedBuckets(final int from, final int to) {
+    if (from >= to || seals == null)
+      return;
+
+    for (int bucket = getIndexOfBucket(from); bucket <= getIndexOfBucket(to - 1); bucket++)
+      preserveBucket(bucket);
+  }
+
+  /**
+   * Shares the bucket with snapshot. Snapshots taken one after another share the same seal until the bucket is changed
+   * or all of them release it
+   *
+   * @param pinned
+   *          is the snapshot never released
+   */
+  private Seal sealBucket(final int bucket, final boolean pinned) {
+    while (true) {
+      final Seal seal = (Seal) SEAL.getVolatile(seals, bucket);
+
+      if (seal != null && !seal.isPreserved() && seal.hold(pinned))
+        return seal;
+
+      // Another thread preserved the bucket or the last snapshot released it, so the seal is going to be removed
+      if (seal != null) {
+        SEAL.compareAndSet(seals, bucket, seal, null);
+        continue;
+      }
+
+      final Seal newSeal = new Seal(array[bucket], pinned ? PINNED : 1);
+
+      if (SEAL.compareAndSet(seals, bucket, null, newSeal))
+        return newSeal;
+    }
+  }
+
+  /**
+   * Releases seals of the snapshot which isn't read any more. The seal released by all snapshots is removed, so the next
+   * change of its bucket doesn't copy it
+   */
+  private void releaseSeals(final Seal[] snapshotSeals) {
+    for (int bucket = 0; bucket < snapshotSeals.length; bucket++)
+      if (!snapshotSeals[bucket].release())
+        SEAL.compareAndSet(seals, bucket, snapshotSeals[bucket], null);
+  }
+
+  /**
+   * @return <code>true</code> if a bucket of the seals was changed after it was sealed
+   */
+  private static boolean isAnyPreserved(final Seal[] snapshotSeals) {
+    for (final Seal seal : snapshotSeals)
+      if (seal.isPreserved())
+        return true;
+
+    return false;
+  }
+
+  /**
+   * Creates immutable view of elements which are in the list at the moment of calling.<br>
+   * The view doesn't copy elements, it shares bucket arrays with the list. The first change of shared bucket by
+   * <code>set</code> or reusing of its indexes after <code>remove</code> gives the snapshot the copy of the bucket, so
+   * the bucket is copied once for all snapshots taken before the change.<br>
+   * The cost doesn't depend on the count of elements, it's the count of buckets. Snapshot never waits for writers: if a
+   * bucket is changed while buckets are being sealed, the snapshot is taken again
+   */
+  public List<T> snapshot() {
+    final Snapshot snapshot = takeSnapshot(true);
+
+    return snapshot == null ? Collections.<T> emptyList() : snapshot;
+  }
+
+  /**
+   * @param pinned
+   *          is the snapshot kept until the list changes its buckets, otherwise it should be released by
+   *          {@link #releaseSeals(Seal[])}
+   * @return snapshot or <code>null</code> if nothing was added yet
+   */
+  private Snapshot takeSnapshot(final boolean pinned) {
+    while (true) {
+      final Descriptor currentDescriptor = descriptor;
+
+      // Nothing was added yet
+      if (currentDescriptor == null)
+        return null;
+
+      // Try to complete previous write operation
+      helpCompleteWrite(currentDescriptor.writeOperation);
+
+      if (seals == null)
+        SEALS.compareAndSet(this, null, new Seal[geometry.bucketCount()]);
+
+      final int size = currentDescriptor.size;
+      final Seal[] snapshotSeals = new Seal[size == 0 ? 0 : getIndexOfBucket(size - 1) + 1];
+
+      for (int bucket = 0; bucket < snapshotSeals.length; bucket++)
+        snapshotSeals[bucket] = sealBucket(bucket, pinned);
+
+      // A thread could change a sealed bucket and then a bucket sealed later, so the snapshot would see the second change
+      // and miss the first one. Add and remove which were done during sealing change descriptor, so sealing is repeated
+      // for new size
+      if (!isAnyPreserved(snapshotSeals) && casDescriptor(currentDescriptor, new Descriptor(size, new WriteOperation<T>(
+          size - 1, null, false), currentDescriptor.removals)))
+        return new Snapshot(size, snapshotSeals);
+
+      if (!pinned)
+        releaseSeals(snapshotSeals);
+    }
+  }
+
+  /**
+   * Writes elements to the channel bucket by bucket through the large direct buffer.<br>
+   * Elements are written from {@link #snapshot()}, so the checkpoint is consistent at the size of descriptor while
+   * other threads keep changing the list. Seals of the snapshot are released when elements are written, so changes
+   * after the checkpoint don't copy buckets. The codec should support all elements of the list
+   *
+   * @see #readFrom(ReadableByteChannel, Codec)
+   */
+  public void writeTo(final WritableByteChannel channel, final Codec<T> codec) throws IOException {
+    final Snapshot snapshot = takeSnapshot(false);
+    final ByteBuffer buffer = Checkpoints.newBuffer(codec.size());
+
+    try {
+      Checkpoints.putHeader(buffer, codec.size(), snapshot == null ? 0 : snapshot.size);
+
+      if (snapshot != null)
+        snapshot.writeTo(channel, codec, buffer);
+
+      Checkpoints.flush(channel, buffer);
+    } finally {
+      DirectBuffers.free(buffer);
+
+      if (snapshot != null)
+        releaseSeals(snapshot.snapshotSeals);
+    }
+  }
+
+  /**
+   * Restores the list written by {@link #writeTo(WritableByteChannel, Codec)}.<br>
+   * Buckets are allocated for the whole size and filled directly, so elements aren't added one by one
+   *
+   * @throws IOException
+   *           if the channel doesn't contain checkpoint written with the same size of element
+   */
+  public static <T> ExtendedList<T> readFrom(final ReadableByteChannel channel, final Codec<T> codec) throws IOException {
+    final ByteBuffer buffer = Checkpoints.newBuffer(codec.size());
+
+    try {
+      final int size = Checkpoints.readHeader(channel, buffer, codec.size());
+      final ExtendedList<T> list = new ExtendedList<T>();
+
+      list.restore(channel, codec, buffer, size);
+
+      return list;
+    } finally {
+      DirectBuffers.free(buffer);
+    }
+  }
+
+  /**
+   * Fills buckets of new list from the channel
+   */
+  private void restore(final ReadableByteChannel channel, final Codec<T> codec, final ByteBuffer buffer, final int size)
+      throws IOException {
+    if (size == 0)
+      return;
+
+    ensureCapacity(size);
+
+    final int elementSize = codec.size();
+    int index = 0;
+
+    while (index < size) {
+      final int bucket = getIndexOfBucket(index);
+      final T[] bucketArray = array[bucket];
+
+      // Read as many elements as the buffer and the bucket can hold
+      final int indexInBucket = getIndexInBucket(bucket, index);
+      final int count = Math.min(Math.min(bucketArray.length - indexInBucket, size - index), buffer.capacity() / elementSize);
+
+      Checkpoints.fill(channel, buffer, count * elementSize);
+
+      for (int i = 0; i < count; i++)
+        bucketArray[indexInBucket + i] = codec.read(buffer, i * elementSize);
+
+      index += count;
+    }
+
+    // Volatile write publishes the elements
+    descriptor = new Descriptor(size, new WriteOperation<T>(size - 1, null, false), 0);
+  }
+
+  private void boundsValidation(final int index) {
+    if (descriptor == null)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: 0");
+
+    if (index >= size())
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+  }
+
+  /**
+   * @return contention counters of the list or <code>null</code> if metrics are disabled
+   * @see ExtendedListMetrics#ENABLED
+   */
+  public ExtendedListMetrics metrics() {
+    return metrics;
+  }
+
+  /**
+   * @return snapshot of contention counters, all counters are zero if metrics are disabled
+   */
+  public ExtendedListStats stats() {
+    if (!ExtendedListMetrics.ENABLED)
+      return ExtendedListStats.EMPTY;
+
+    return metrics.snapshot();
+  }
+
+  @Override
+  public int size() {
+    final Descriptor currentDescriptor = descriptor;
+
+    // Nothing was added yet
+    if (currentDescriptor == null)
+      return 0;
+
+    // Pending elements start from indexOfElement
+    if (currentDescriptor.writeOperation.pending)
+      return currentDescriptor.writeOperation.indexOfElement;
+
+    return currentDescriptor.size;
+  }
+
+  /**
+   * Uses the hash index if it's enabled, otherwise scans the list
+   *
+   * @see #setIndexed(boolean)
+   */
+  @Override
+  public boolean contains(final Object o) {
+    final ExtendedListIndex index = hashIndex;
+
+    if (index == null || !index.isReady())
+      return super.contains(o);
+
+    return index.first(o, i -> isElementAt(o, i)) >= 0;
+  }
+
+  /**
+   * Uses the hash index if it's enabled, otherwise scans the list
+   *
+   * @see #setIndexed(boolean)
+   */
+  @Override
+  public int indexOf(final Object o) {
+    final ExtendedListIndex index = hashIndex;
+
+    if (index == null || !index.isReady())
+      return super.indexOf(o);
+
+    return index.first(o, i -> isElementAt(o, i));
+  }
+
+  /**
+   * Uses the hash index if it's enabled, otherwise scans the list
+   *
+   * @see #setIndexed(boolean)
+   */
+  @Override
+  public int lastIndexOf(final Object o) {
+    final ExtendedListIndex index = hashIndex;
+
+    if (index == null || !index.isReady())
+      return super.lastIndexOf(o);
+
+    return index.last(o, i -> isElementAt(o, i));
+  }
+
+  /**
+   * Creates weakly consistent iterator. It reads the size once and walks buckets directly.<br>
+   * The iterator returns all elements which are in the list at the moment of calling (or elements which replaced them)
+   * and doesn't see elements added later. It never throws {@link java.util.ConcurrentModificationException} and
+   * doesn't support <code>remove</code>
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new BucketIterator(size());
+  }
+
+  /**
+   * Performs the action for elements which are in the list at the moment of calling.<br>
+   * It reads the size once and walks buckets directly like {@link #iterator()}
+   */
+  @Override
+  public void forEach(final Consumer<? super T> action) {
+    if (action == null)
+      throw new NullPointerException();
+
+    forEachInRange(0, size(), action);
+  }
+
+  /**
+   * Performs the action for elements in the range [from, to) bucket by bucket without bounds validation
+   */
+  private void forEachInRange(final int from, final int to, final Consumer<? super T> action) {
+    int currentIndex = from;
+
+    while (currentIndex < to) {
+      final int bucket = getIndexOfBucket(currentIndex);
+      final T[] bucketArray = array[bucket];
+
+      // Elements were removed and the bucket was released
+      if (bucketArray == null)
+        return;
+
+      // Walk the bucket up to its end or the end of range
+      final int fromInBucket = getIndexInBucket(bucket, currentIndex);
+      final int toInBucket = Math.min(bucketArray.length, fromInBucket + to - currentIndex);
+
+      for (int i = fromInBucket; i < toInBucket; i++)
+        action.accept(cellValue(bucketArray, i));
+
+      currentIndex += toInBucket - fromInBucket;
+    }
+  }
+
+  /**
+   * Copies elements [from, to) to the array by one {@link System#arraycopy} per bucket.<br>
+   * The range should be validated by the caller
+   *
+   * @return count of copied elements, it's less than the range if its buckets were released by shrinking
+   */
+  int copyRange(final int from, final int to, final Object[] destination, final int destinationPosition) {
+    int currentIndex = from;
+
+    while (currentIndex < to) {
+      final int bucket = getIndexOfBucket(currentIndex);
+      final T[] bucketArray = array[bucket];
+
+      // Elements were removed and the bucket was released
+      if (bucketArray == null)
+        break;
+
+      // Copy the bucket up to its end or the end of range
+      final int fromInBucket = getIndexInBucket(bucket, currentIndex);
+      final int count = Math.min(bucketArray.length - fromInBucket, to - currentIndex);
+
+      copyCells(bucketArray, fromInBucket, destination, destinationPosition + currentIndex - from, count);
+
+      currentIndex += count;
+    }
+
+    return currentIndex - from;
+  }
+
+  /**
+   * Copies elements from <code>from</code> (inclusive) to <code>to</code> (exclusive) to the array starting from
+   * <code>destinationPosition</code>. The range is validated once against the size and copied by one
+   * {@link System#arraycopy} per bucket
+   *
+   * @return count of copied elements, it's less than the range only if elements were removed by another thread and
+   *         their bucket was released
+   */
+  public int getRange(final int from, final int to, final T[] destination, final int destinationPosition) {
+    rangeValidation(from, to, size());
+
+    if (destinationPosition < 0 || destinationPosition > destination.length - (to - from))
+      throw new IndexOutOfBoundsException("Destination position: " + destinationPosition + ", Length: " + (to - from)
+          + ", Array length: " + destination.length);
+
+    return copyRange(from, to, destination, destinationPosition);
+  }
+
+  /**
+   * Copies elements bucket by bucket
+   */
+  @Override
+  public Object[] toArray() {
+    final int size = size();
+    final Object[] result = new Object[size];
+    final int count = copyRange(0, size, result, 0);
+
+    return count == size ? result : Arrays.copyOf(result, count);
+  }
+
+  /**
+   * Copies elements bucket by bucket
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public <E> E[] toArray(final E[] destination) {
+    final int size = size();
+    final E[] result = destination.length >= size ? destination
+        : (E[]) Array.newInstance(destination.getClass().getComponentType(), size);
+    final int count = copyRange(0, size, result, 0);
+
+    if (result.length > count)
+      result[count] = null;
+
+    return result;
+  }
+
+  /**
+   * Returns view of the range of indexes. The view has fixed size, its <code>toArray</code> copies elements bucket by
+   * bucket. Elements can be replaced through the view, but they can't be added or removed
+   */
+  @Override
+  public List<T> subList(final int fromIndex, final int toIndex) {
+    subListValidation(fromIndex, toIndex, size());
+
+    return new SubList(fromIndex, toIndex - fromIndex);
+  }
+
+  private static void rangeValidation(final int from, final int to, final int size) {
+    if (from < 0 || to > size || from > to)
+      throw new IndexOutOfBoundsException("From: " + from + ", To: " + to + ", Size: " + size);
+  }
+
+  private static void subListValidation(final int fromIndex, final int toIndex, final int size) {
+    if (fromIndex < 0)
+      throw new IndexOutOfBoundsException("From index: " + fromIndex);
+    if (toIndex > size)
+      throw new IndexOutOfBoundsException("To index: " + toIndex + ", Size: " + size);
+    if (fromIndex > toIndex)
+      throw new IllegalArgumentException("From index: " + fromIndex + " > To index: " + toIndex);
+  }
+
+  /**
+   * Creates spliterator over elements which are in the list at the moment of calling.<br>
+   * It's split on bucket boundaries and reads bucket arrays directly
+   */
+  @Override
+  public Spliterator<T> spliterator() {
+    return new BucketSpliterator(0, size());
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; array != null && i < array.length; i++) {
+      if (array[i] == null)
+        continue;
+
+      sb.append(Arrays.asList(array[i]));
+      sb.append("\n");
+    }
+
+    if (sb.length() > 0)
+      sb.deleteCharAt(sb.length() - 1);
+
+    return sb.toString();
+  }
+
+  /**
+   * Iterator over range of indexes [0, fence).<br>
+   * It keeps the current bucket array, so bucket is calculated once per bucket
+   */
+  private class BucketIterator implements Iterator<T> {
+    private final int fence;
+    private int       index;
+    private int       bucket;
+    private T[]       bucketArray;
+    private int       indexInBucket;
+
+    BucketIterator(final int fence) {
+      this.fence = fence;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (index >= fence)
+        return false;
+
+      // Go to the next bucket
+      if (bucketArray == null || indexInBucket == bucketArray.length) {
+        final T[] nextBucketArray = array[bucket];
+
+        // Elements were removed and the bucket was released
+        if (nextBucketArray == null)
+          return false;
+
+        bucketArray = nextBucketArray;
+        bucket++;
+        indexInBucket = 0;
+      }
+
+      return true;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext())
+        throw new NoSuchElementException();
+
+      index++;
+
+      return cellValue(bucketArray, indexInBucket++);
+    }
+  }
+
+  /**
+   * Spliterator over range of indexes [index, fence).<br>
+   * The fence is taken from the descriptor once, so the spliterator doesn't see elements added later
+   */
+  private class BucketSpliterator implements Spliterator<T> {
+    /**
+     * Ranges which are less than this size aren't split inside a bucket
+     */
+    private static final int MIN_SPLIT_SIZE = 1024;
+
+    private int              index;
+    private final int        fence;
+
+    BucketSpliterator(final int index, final int fence) {
+      this.index = index;
+      this.fence = fence;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+      final int middle = (index + fence) >>> 1;
+
+      // Try to split on the first element of the bucket with the middle element
+      int splitIndex = (int) geometry.firstIndexOfBucket(getIndexOfBucket(middle));
+
+      // The whole range is in one bucket, so split it in the middle
+      if (splitIndex <= index) {
+        if (fence - index < MIN_SPLIT_SIZE)
+          return null;
+
+        splitIndex = middle;
+      }
+
+      final Spliterator<T> prefix = new BucketSpliterator(index, splitIndex);
+      index = splitIndex;
+
+      return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+      if (action == null)
+        throw new NullPointerException();
+
+      if (index >= fence)
+        return false;
+
+      action.accept(getUnchecked(index++));
+
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+      if (action == null)
+        throw new NullPointerException();
+
+      final int from = index;
+      index = fence;
+
+      forEachInRange(from, fence, action);
+    }
+
+    @Override
+    public long estimateSize() {
+      return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+      return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+  }
+
+  /**
+   * Fixed-size view of the range of the list, see {@link ExtendedList#subList(int, int)}.<br>
+   * Reads and {@link #set(int, Object)} go to the list, elements can't be added or removed through the view
+   */
+  private class SubList extends AbstractList<T> {
+    private final int offset;
+    private final int size;
+
+    SubList(final int offset, final int size) {
+      this.offset = offset;
+      this.size = size;
+    }
+
+    @Override
+    public T get(final int index) {
+      checkIndex(index);
+
+      return ExtendedList.this.get(offset + index);
+    }
+
+    @Override
+    public T set(final int index, final T element) {
+      checkIndex(index);
+
+      return ExtendedList.this.set(offset + index, element);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public Object[] toArray() {
+      final Object[] result = new Object[size];
+      final int count = copyRange(offset, offset + size, result, 0);
+
+      return count == size ? result : Arrays.copyOf(result, count);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <E> E[] toArray(final E[] destination) {
+      final E[] result = destination.length >= size ? destination
+          : (E[]) Array.newInstance(destination.getClass().getComponentType(), size);
+      final int count = copyRange(offset, offset + size, result, 0);
+
+      if (result.length > count)
+        result[count] = null;
+
+      return result;
+    }
+
+    @Override
+    public List<T> subList(final int fromIndex, final int toIndex) {
+      subListValidation(fromIndex, toIndex, size);
+
+      return new SubList(offset + fromIndex, toIndex - fromIndex);
+    }
+
+    private void checkIndex(final int index) {
+      if (index < 0 || index >= size)
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+  private class Snapshot extends AbstractList<T> {
+    private final int    size;
+    private final Seal[] snapshotSeals;
+
+    Snapshot(final int size, final Seal[] snapshotSeals) {
+      this.size = size;
+      this.snapshotSeals = snapshotSeals;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(final int index) {
+      if (index < 0 || index >= size)
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+      final int indexOfBucket = getIndexOfBucket(index);
+      final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+
+      return (T) snapshotSeals[indexOfBucket].get(indexInBucket);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Encodes elements bucket by bucket, the buffer is flushed when it's full
+     */
+    void writeTo(final WritableByteChannel channel, final Codec<T> codec, final ByteBuffer buffer) throws IOException {
+      final int elementSize = codec.size();
+      int index = 0;
+
+      for (final Seal seal : snapshotSeals) {
+        final int count = Math.min(seal.bucket.length, size - index);
+        int from = 0;
+
+        while (from < count) {
+          if (buffer.remaining() < elementSize)
+            Checkpoints.flush(channel, buffer);
+
+          final int chunk = Math.min(count - from, buffer.remaining() / elementSize);
+
+          seal.encode(codec, buffer, from, chunk);
+
+          from += chunk;
+        }
+
+        index += count;
+      }
+    }
+  }
+
+  /**
+   * Bucket shared by the list and snapshots. When the list is going to change the bucket, snapshots get the copy.<br>
+   * Holders are the count of snapshots which read the bucket or {@link #PINNED}. The seal without holders can't be held
+   * again, it's removed and the bucket is changed without copying
+   */
+  private static class Seal {
+    private final Object[]    bucket;
+    private volatile Object[] preserved;
+    private volatile int      holders;
+
+    Seal(final Object[] bucket, final int holders) {
+      this.bucket = bucket;
+      this.holders = holders;
+    }
+
+    /**
+     * @return <code>false</code> if the seal was released by all snapshots
+     */
+    boolean hold(final boolean pinned) {
+      while (true) {
+        final int currentHolders = holders;
+
+        if (currentHolders == 0)
+          return false;
+
+        if (currentHolders == PINNED)
+          return true;
+
+        if (HOLDERS.compareAndSet(this, currentHolders, pinned ? PINNED : currentHolders + 1))
+          return true;
+      }
+    }
+
+    /**
+     * @return <code>true</code> if other snapshots still hold the seal
+     */
+    boolean release() {
+      while (true) {
+        final int currentHolders = holders;
+
+        if (currentHolders == PINNED)
+          return true;
+
+        if (HOLDERS.compareAndSet(this, currentHolders, currentHolders - 1))
+          return currentHolders > 1;
+      }
+    }
+
+    boolean isHeld() {
+      return holders != 0;
+    }
+
+    /**
+     * Copies the bucket. Claims of setters are completed while the seal is in the bucket, so they keep old values and
+     * the copy doesn't get changes done after sealing
+     */
+    void preserve() {
+      if (preserved != null)
+        return;
+
+      final Object[] copy = new Object[bucket.length];
+
+      for (int i = 0; i < copy.length; i++)
+        copy[i] = getCell(bucket, i);
+
+      PRESERVED.compareAndSet(this, null, copy);
+    }
+
+    boolean isPreserved() {
+      return preserved != null;
+    }
+
+    /**
+     * Writes <code>count</code> elements starting from <code>from</code> to the buffer and moves its position
+     */
+    <E> void encode(final Codec<E> codec, final ByteBuffer buffer, final int from, final int count) {
+      final Object[] currentPreserved = preserved;
+
+      encode(codec, buffer, currentPreserved != null ? currentPreserved : bucket, from, count);
+
+      if (currentPreserved == null) {
+        // Elements of the bucket are read before the second check
+        VarHandle.acquireFence();
+
+        // The bucket could be preserved and changed while it was encoded
+        final Object[] lastPreserved = preserved;
+
+        if (lastPreserved != null)
+          encode(codec, buffer, lastPreserved, from, count);
+      }
+
+      buffer.position(buffer.position() + count * codec.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> void encode(final Codec<E> codec, final ByteBuffer buffer, final Object[] elements, final int from,
+        final int count) {
+      final int position = buffer.position();
+      final int elementSize = codec.size();
+
+      for (int i = 0; i < count; i++)
+        codec.write(buffer, position + i * elementSize, (E) getCell(elements, from + i));
+    }
+
+    Object get(final int indexInBucket) {
+      final Object[] currentPreserved = preserved;
+
+      if (currentPreserved != null)
+        return currentPreserved[indexInBucket];
+
+      final Object element = getCell(bucket, indexInBucket);
+
+      // The bucket could be preserved and changed after the first check
+      final Object[] lastPreserved = preserved;
+
+      return lastPreserved == null ? element : lastPreserved[indexInBucket];
+    }
+  }
+
+  /**
+   * Placeholder of the cell which is put by a write before its value. The claim is completed by the new value if the
+   * write is applied or by the replaced value otherwise. Every attempt puts its own claim, so the claim can't be put to
+   * the cell twice and stale CAS of a completed claim fails
+   */
+  private abstract static class Claim {
+    protected final Object expected;
+    protected final Object element;
+
+    Claim(final Object expected, final Object element) {
+      this.expected = expected;
+      this.element = element;
+    }
+
+    /**
+     * Decides if the new value is put
+     */
+    abstract boolean isApplied();
+
+    /**
+     * Is called before the applied claim is replaced by the new value
+     */
+    void applied() {
+    }
+
+    /**
+     * Replaces the claim by the value
+     *
+     * @return <code>true</code> if the claim is completed by the new value
+     */
+    boolean complete(final Object[] bucketArray, final int index) {
+      final boolean applied = isApplied();
+
+      if (applied)
+        applied();
+
+      ELEMENT.compareAndSet(bucketArray, index, this, applied ? element : expected);
+
+      return applied;
+    }
+  }
+
+  /**
+   * Claim of write operation. Operation can be completed only after its claim is replaced by the element, so the claim
+   * which sees pending operation can't be completed by the replaced value and late helper puts nothing
+   */
+  private static final class WriteClaim extends Claim {
+    private final WriteOperation<?> writeOperation;
+
+    WriteClaim(final WriteOperation<?> writeOperation, final Object expected, final Object element) {
+      super(expected, element);
+      this.writeOperation = writeOperation;
+    }
+
+    @Override
+    boolean isApplied() {
+      return writeOperation.pending;
+    }
+
+    @Override
+    public String toString() {
+      return "[WriteClaim " + hashCode() + ", expected: " + expected + ", element: " + element + ", writeOperation: "
+          + writeOperation + "]";
+    }
+  }
+
+  /**
+   * Claim of clearing of removed element. The removed element is kept by the operation before the claim is replaced, so
+   * remove gets the value which the cell kept when it was cleared
+   */
+  private static final class RemoveClaim extends Claim {
+    private final RemoveOperation<?> removeOperation;
+    private final int                slot;
+
+    RemoveClaim(final RemoveOperation<?> removeOperation, final int slot, final Object expected) {
+      super(expected, null);
+      this.removeOperation = removeOperation;
+      this.slot = slot;
+    }
+
+    @Override
+    boolean isApplied() {
+      return removeOperation.pending;
+    }
+
+    @Override
+    void applied() {
+      removeOperation.replaced(slot, expected);
+    }
+
+    @Override
+    public String toString() {
+      return "[RemoveClaim " + hashCode() + ", expected: " + expected + ", slot: " + slot + ", removeOperation: "
+          + removeOperation + "]";
+    }
+  }
+
+  /**
+   * Claim of set. It's applied only if the bucket isn't shared with snapshots when the claim is decided. Snapshot seals
+   * the bucket before it reads it, so the set either is decided before sealing and seen by the snapshot or is aborted
+   * and repeated after the snapshot gets the copy of the bucket.<br>
+   * The claim is also aborted if any element was removed after the setter validated the index, so the set is ordered
+   * either before the removal, and remove clears the new value, or after it and fails by bounds. The count of removals
+   * is checked instead of the size, because the range write which appends the index again overwrites the claim
+   */
+  private final class SetClaim extends Claim {
+    private final int    bucket;
+    private final int    removals;
+    private volatile int state;
+
+    SetClaim(final int bucket, final int removals, final Object expected, final Object element) {
+      super(expected, element);
+      this.bucket = bucket;
+      this.removals = removals;
+    }
+
+    @Override
+    boolean isApplied() {
+      if (state == UNDECIDED)
+        SET_CLAIM_STATE.compareAndSet(this, UNDECIDED, isSealed(bucket) || descriptor.removals != removals ? ABORTED
+            : APPLIED);
+
+      return state == APPLIED;
+    }
+
+    @Override
+    public String toString() {
+      return "[SetClaim " + hashCode() + ", expected: " + expected + ", element: " + element + ", state: " + state + "]";
+    }
+  }
+
+  private class Descriptor {
+    public final int               size;
+    public final WriteOperation<T> writeOperation;
+    /**
+     * Count of removals, set which raced with a removal is retried even if the index was taken again
+     */
+    public final int               removals;
+
+    public Descriptor(final int size, final WriteOperation<T> writeOperation, final int removals) {
+      this.size = size;
+      this.writeOperation = writeOperation;
+      this.removals = removals;
+    }
+
+    @Override
+    public String toString() {
+      return "[Descriptor " + hashCode() + ", size: " + size + ", writeOperation: " + writeOperation + ", removals: "
+          + removals + "]";
+    }
+  }
+
+  /**
+   * Single write is helped by any thread through claims of its cell, range write is claimed by one thread, see
+   * {@link ClaimedWriteOperation}
+   */
+  protected static class WriteOperation<T> extends ClaimedWriteOperation {
+    public final T element;
+
+    /**
+     * Creates write operation for index and element<br>
+     * This operation is pending by default
+     */
+    public WriteOperation(final int indexOfElement, final T element) {
+      this(indexOfElement, element, true);
+    }
+
+    /**
+     * Creates finished write operation for index and element<br>
+     * This operation is pending by default
+     */
+    public WriteOperation(final int indexOfElement, final T element, final boolean pending) {
+      super(indexOfElement, pending);
+      this.element = element;
+    }
+
+    /**
+     * Is called with the value of the cell which the write replaces, before the operation can be completed. Any thread
+     * which completes the operation can call it, so only the first call for the slot is the replaced value
+     *
+     * @param slot
+     *          index of the cell in the operation
+     */
+    void replaced(final int slot, final Object value) {
+    }
+
+    @Override
+    public String toString() {
+      return "[WriteOperation " + hashCode() + ", indexOfElement: " + indexOfElement + ", element: " + element + ", pending: "
+          + pending + "]";
+    }
+  }
+
+  /**
+   * Pending release of empty buckets starting from <code>fromBucket</code>. Size of the list isn't changed
+   */
+  protected static class ShrinkOperation<T> extends WriteOperation<T> {
+    public final int fromBucket;
+
+    public ShrinkOperation(final int size, final int fromBucket) {
+      super(size, null);
+      this.fromBucket = fromBucket;
+    }
+
+    @Override
+    public String toString() {
+      return "[ShrinkOperation " + hashCode() + ", size: " + indexOfElement + ", fromBucket: " + fromBucket + ", pending: "
+          + pending + "]";
+    }
+  }
+
+  protected static class RangeWriteOperation<T> extends WriteOperation<T> {
+    public final T[] elements;
+    public final int offset;
+    public final int length;
+
+    /**
+     * Creates pending write operation for <code>length</code> elements of array starting from <code>offset</code><br>
+     * The elements are put to the list starting from indexOfElement. If elements are <code>null</code>, the range is
+     * cleared
+     */
+    public RangeWriteOperation(final int indexOfElement, final T[] elements, final int offset, final int length) {
+      super(indexOfElement, null);
+      this.elements = elements;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public String toString() {
+      return "[RangeWriteOperation " + hashCode() + ", indexOfElement: " + indexOfElement + ", offset: " + offset + ", length: "
+          + length + ", pending: " + pending + "]";
+    }
+  }
+
+  /**
+   * Pending clearing of removed elements. The value which every cell kept when it was cleared is the removed element
+   */
+  protected static class RemoveOperation<T> extends RangeWriteOperation<T> {
+
+    /**
+     * Mark of the slot whose cell isn't cleared yet
+     */
+    private static final Object UNKNOWN = new Object();
+
+    private final Object[]      removed;
+
+    /**
+     * Creates pending clearing of <code>length</code> elements starting from indexOfElement
+     */
+    public RemoveOperation(final int indexOfElement, final int length) {
+      super(indexOfElement, null, 0, length);
+
+      removed = new Object[length];
+      Arrays.fill(removed, UNKNOWN);
+    }
+
+    @Override
+    void replaced(final int slot, final Object value) {
+      ELEMENT.compareAndSet(removed, slot, UNKNOWN, value);
+    }
+
+    /**
+     * Takes the element of the slot which was cleared, the operation must be completed. The operation stays in the
+     * descriptor until the next write, so it doesn't keep the element after it's taken
+     */
+    @SuppressWarnings("unchecked")
+    public T takeRemoved(final int slot) {
+      final Object value = ELEMENT.getVolatile(removed, slot);
+
+      assert value != UNKNOWN : "Operation isn't completed";
+
+      // Late helper can't keep the value again, the slot isn't unknown
+      ELEMENT.setRelease(removed, slot, null);
+
+      return (T) value;
+    }
+
+    @Override
+    public String toString() {
+      return "[RemoveOperation " + hashCode() + ", indexOfElement: " + indexOfElement + ", length: " + length
+          + ", pending: " + pending + "]";
     }
   }
 
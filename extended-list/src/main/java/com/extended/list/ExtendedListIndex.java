@@ -0,0 +1,147 @@
+package com.extended.list;
+
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.IntPredicate;
+
+/**
+ * Hash index of {@link ExtendedList}: element to indexes of cells which keep equal elements.<br>
+ * The list changes the cell first and the index after it, so the index can be behind the list for the time of the
+ * change. Lookups verify every index by the cell, so stale indexes are skipped. Single index is kept as
+ * {@link Integer}, indexes of equal elements are kept in {@link ConcurrentSkipListSet}, so lookups iterate them in
+ * order.<br>
+ * Map is {@link ConcurrentHashMap}, changes of different elements don't block each other
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ */
+final class ExtendedListIndex {
+
+  /**
+   * Key of <code>null</code> element, {@link ConcurrentHashMap} can't keep <code>null</code>
+   */
+  private static final Object                     NULL_KEY = new Object();
+
+  /**
+   * Element to {@link Integer} or {@link NavigableSet} of indexes
+   */
+  private final ConcurrentHashMap<Object, Object> indexes;
+
+  /**
+   * Are indexes of all elements added before the index was enabled put
+   */
+  private volatile boolean                        ready;
+
+  ExtendedListIndex(final int initialCapacity) {
+    indexes = new ConcurrentHashMap<Object, Object>(initialCapacity);
+  }
+
+  /**
+   * Adds index of the element
+   */
+  @SuppressWarnings("unchecked")
+  void put(final Object element, final int index) {
+    indexes.compute(key(element), (key, value) -> {
+      if (value == null)
+        return index;
+
+      if (value instanceof Integer) {
+        if ((Integer) value == index)
+          return value;
+
+        final NavigableSet<Integer> result = new ConcurrentSkipListSet<Integer>();
+        result.add((Integer) value);
+        result.add(index);
+
+        return result;
+      }
+
+      ((NavigableSet<Integer>) value).add(index);
+
+      return value;
+    });
+  }
+
+  /**
+   * Removes index of the element
+   */
+  @SuppressWarnings("unchecked")
+  void remove(final Object element, final int index) {
+    indexes.computeIfPresent(key(element), (key, value) -> {
+      if (value instanceof Integer)
+        return (Integer) value == index ? null : value;
+
+      final NavigableSet<Integer> set = (NavigableSet<Integer>) value;
+      set.remove(index);
+
+      return set.isEmpty() ? null : set;
+    });
+  }
+
+  /**
+   * @return the first index of the element accepted by the cell check or -1
+   */
+  int first(final Object element, final IntPredicate cellCheck) {
+    return find(element, cellCheck, false);
+  }
+
+  /**
+   * @return the last index of the element accepted by the cell check or -1
+   */
+  int last(final Object element, final IntPredicate cellCheck) {
+    return find(element, cellCheck, true);
+  }
+
+  @SuppressWarnings("unchecked")
+  private int find(final Object element, final IntPredicate cellCheck, final boolean descending) {
+    final Object value = indexes.get(key(element));
+
+    if (value == null)
+      return -1;
+
+    if (value instanceof Integer)
+      return cellCheck.test((Integer) value) ? (Integer) value : -1;
+
+    final NavigableSet<Integer> set = (NavigableSet<Integer>) value;
+    final Iterator<Integer> iterator = descending ? set.descendingIterator() : set.iterator();
+
+    while (iterator.hasNext()) {
+      final int index = iterator.next();
+
+      if (cellCheck.test(index))
+        return index;
+    }
+
+    return -1;
+  }
+
+  /**
+   * Marks the index as built, so lookups can use it
+   */
+  void markReady() {
+    ready = true;
+  }
+
+  boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * @return count of distinct elements
+   */
+  int keys() {
+    return indexes.size();
+  }
+
+  private static Object key(final Object element) {
+    return element == null ? NULL_KEY : element;
+  }
+
+  @Override
+  public String toString() {
+    return "[ExtendedListIndex keys: " + keys() + "]";
+  }
+}
@@ -0,0 +1,136 @@
+package com.extended.list;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Contention and progress counters of {@link ExtendedList}.<br>
+ * Metrics are enabled by system property <code>-Dcom.extended.list.metrics=true</code>. The flag is a static final
+ * constant, so JIT removes all counting from add and remove when metrics are disabled.<br>
+ * Counters are striped {@link LongAdder}, so threads don't contend on them
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ */
+public class ExtendedListMetrics implements ExtendedListMetricsMXBean {
+
+  /**
+   * Are metrics collected
+   */
+  public static final boolean ENABLED               = Boolean.getBoolean("com.extended.list.metrics");
+
+  private final LongAdder     descriptorCasAttempts = new LongAdder();
+  private final LongAdder     descriptorCasFailures = new LongAdder();
+  private final LongAdder     helpedWrites          = new LongAdder();
+  private final LongAdder     bucketSpins           = new LongAdder();
+  private final LongAdder     bucketAllocations     = new LongAdder();
+  private final LongAdder     bucketReleases        = new LongAdder();
+  private final LongAdder     allocatedSlots        = new LongAdder();
+
+  void descriptorCas(final boolean succeeded) {
+    descriptorCasAttempts.increment();
+
+    if (!succeeded)
+      descriptorCasFailures.increment();
+  }
+
+  void helpedWrite() {
+    helpedWrites.increment();
+  }
+
+  void bucketSpin() {
+    bucketSpins.increment();
+  }
+
+  void bucketAllocated(final int size) {
+    bucketAllocations.increment();
+    allocatedSlots.add(size);
+  }
+
+  void bucketReleased(final int size) {
+    bucketReleases.increment();
+    allocatedSlots.add(-size);
+  }
+
+  @Override
+  public long getDescriptorCasAttempts() {
+    return descriptorCasAttempts.sum();
+  }
+
+  @Override
+  public long getDescriptorCasFailures() {
+    return descriptorCasFailures.sum();
+  }
+
+  @Override
+  public long getHelpedWrites() {
+    return helpedWrites.sum();
+  }
+
+  @Override
+  public long getBucketSpins() {
+    return bucketSpins.sum();
+  }
+
+  @Override
+  public long getBucketAllocations() {
+    return bucketAllocations.sum();
+  }
+
+  @Override
+  public long getBucketReleases() {
+    return bucketReleases.sum();
+  }
+
+  @Override
+  public long getAllocatedSlots() {
+    return allocatedSlots.sum();
+  }
+
+  @Override
+  public void reset() {
+    descriptorCasAttempts.reset();
+    descriptorCasFailures.reset();
+    helpedWrites.reset();
+    bucketSpins.reset();
+  }
+
+  /**
+   * @return current values of all counters
+   */
+  public ExtendedListStats snapshot() {
+    return new ExtendedListStats(getDescriptorCasAttempts(), getDescriptorCasFailures(), getHelpedWrites(), getBucketSpins(),
+        getBucketAllocations(), getBucketReleases(), getAllocatedSlots());
+  }
+
+  /**
+   * Registers the metrics in platform MBean server as <code>com.extended.list:type=ExtendedList,name=&lt;name&gt;</code>
+   *
+   * @return name of registered MBean
+   */
+  public ObjectName register(final String name) {
+    try {
+      final ObjectName objectName = new ObjectName("com.extended.list:type=ExtendedList,name=" + ObjectName.quote(name));
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+
+      return objectName;
+    } catch (final JMException e) {
+      throw new IllegalStateException("Can't register metrics " + name, e);
+    }
+  }
+
+  /**
+   * Unregisters the metrics registered by {@link #register(String)}
+   */
+  public void unregister(final ObjectName objectName) {
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    } catch (final JMException e) {
+      throw new IllegalStateException("Can't unregister metrics " + objectName, e);
+    }
+  }
+}
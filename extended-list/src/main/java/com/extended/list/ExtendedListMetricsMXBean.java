@@ -0,0 +1,30 @@
+package com.extended.list;
+
+/**
+ * JMX view of {@link ExtendedListMetrics}
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ */
+public interface ExtendedListMetricsMXBean {
+
+  long getDescriptorCasAttempts();
+
+  long getDescriptorCasFailures();
+
+  long getHelpedWrites();
+
+  long getBucketSpins();
+
+  long getBucketAllocations();
+
+  long getBucketReleases();
+
+  long getAllocatedSlots();
+
+  /**
+   * Sets contention counters to zero. Bucket counters describe allocated memory, so they aren't reset
+   */
+  void reset();
+}
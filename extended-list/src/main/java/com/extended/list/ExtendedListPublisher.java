@@ -0,0 +1,233 @@
+package com.extended.list;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link Flow.Publisher} of elements appended to {@link ExtendedList}.<br>
+ * Every subscriber reads the list by its own {@link Cursor} starting from the same index, so producers don't know
+ * about subscribers: <code>add</code> only unparks waiting readers.<br>
+ * Elements are delivered in index order by the task running in the executor while the subscriber has demand. Task
+ * copies elements by bucket ranges, batch is limited by demand. Task waits for new elements in the executor thread, so
+ * the executor should have a thread for every subscriber with demand.<br>
+ * Errors are signalled by the same task after the current <code>onNext</code>, so signals are never concurrent.<br>
+ * Publisher never completes, the list can always grow
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ * @param <T>
+ */
+public class ExtendedListPublisher<T> implements Flow.Publisher<T> {
+
+  /**
+   * Delivery threads of publishers created without executor
+   */
+  private static final ExecutorService DEFAULT_EXECUTOR = Executors
+                                                            .newCachedThreadPool(ExtendedListPublisher::newDeliveryThread);
+
+  /**
+   * Max count of elements copied from the list at once
+   */
+  private static final int             BATCH_SIZE       = 1024;
+
+  /**
+   * Delivery task checks cancellation at least once per this time while it waits for new elements
+   */
+  private static final long            WAIT_SLICE       = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final ExtendedList<T>        list;
+
+  private final int                    fromIndex;
+
+  private final Executor               executor;
+
+  ExtendedListPublisher(final ExtendedList<T> list, final int fromIndex) {
+    this(list, fromIndex, DEFAULT_EXECUTOR);
+  }
+
+  ExtendedListPublisher(final ExtendedList<T> list, final int fromIndex, final Executor executor) {
+    if (fromIndex < 0)
+      throw new IndexOutOfBoundsException("From index: " + fromIndex);
+
+    this.list = list;
+    this.fromIndex = fromIndex;
+    this.executor = Objects.requireNonNull(executor);
+  }
+
+  private static Thread newDeliveryThread(final Runnable task) {
+    final Thread thread = new Thread(task, "extended-list-publisher");
+    thread.setDaemon(true);
+
+    return thread;
+  }
+
+  @Override
+  public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+    Objects.requireNonNull(subscriber);
+
+    subscriber.onSubscribe(new Subscription(subscriber));
+  }
+
+  private class Subscription implements Flow.Subscription, Runnable {
+    private final Flow.Subscriber<? super T> subscriber;
+
+    private final Cursor<T>                  cursor;
+
+    private final AtomicLong                 demand;
+
+    /**
+     * Count of signals for delivery task, the task is running while it's not 0
+     */
+    private final AtomicInteger              work;
+
+    /**
+     * The first error, it's signalled by delivery task
+     */
+    private final AtomicReference<Throwable> error;
+
+    private volatile boolean                 cancelled;
+
+    /**
+     * Batch is used only by delivery task
+     */
+    private T[]                              batch;
+
+    Subscription(final Flow.Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+
+      cursor = list.cursor(fromIndex);
+      demand = new AtomicLong();
+      work = new AtomicInteger();
+      error = new AtomicReference<Throwable>();
+    }
+
+    @Override
+    public void request(final long n) {
+      if (cancelled || error.get() != null)
+        return;
+
+      if (n <= 0) {
+        fail(new IllegalArgumentException("Request: " + n));
+        return;
+      }
+
+      // Demand isn't limited after overflow
+      demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+
+      schedule();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+    }
+
+    /**
+     * Passes the error to delivery task, only the first error is signalled
+     */
+    private void fail(final Throwable e) {
+      if (error.compareAndSet(null, e))
+        schedule();
+    }
+
+    private void schedule() {
+      // Only one task delivers elements, it sees new demand and error before it stops
+      if (work.getAndIncrement() != 0)
+        return;
+
+      try {
+        executor.execute(this);
+      } catch (final RejectedExecutionException e) {
+        // Delivery task isn't running, so the calling thread signals the error by the task
+        error.compareAndSet(null, e);
+        run();
+      }
+    }
+
+    /**
+     * Signals the error if it's passed. Called only by delivery task
+     *
+     * @return <code>true</code> if the subscription is cancelled or failed
+     */
+    private boolean isTerminated() {
+      if (cancelled)
+        return true;
+
+      final Throwable e = error.get();
+      if (e == null)
+        return false;
+
+      cancel();
+      subscriber.onError(e);
+
+      return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void run() {
+      if (batch == null)
+        batch = (T[]) new Object[BATCH_SIZE];
+
+      int missed = 1;
+
+      do {
+        final long requested = demand.get();
+        long emitted = 0;
+
+        while (emitted != requested && !isTerminated()) {
+          final int count = cursor.poll(batch, 0, (int) Math.min(batch.length, requested - emitted));
+
+          if (count == 0) {
+            awaitElements();
+            continue;
+          }
+
+          try {
+            for (int i = 0; i < count && !cancelled && error.get() == null; i++) {
+              subscriber.onNext(batch[i]);
+              batch[i] = null;
+            }
+          } catch (final RuntimeException e) {
+            // Subscriber violated the protocol, the subscription fails
+            error.compareAndSet(null, e);
+          }
+
+          emitted += count;
+        }
+
+        if (isTerminated()) {
+          batch = null;
+          return;
+        }
+
+        // Unbounded demand is never decreased
+        if (requested != Long.MAX_VALUE)
+          demand.addAndGet(-emitted);
+
+        missed = work.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    /**
+     * Parks the delivery thread until new elements are added or the time slice is over
+     */
+    private void awaitElements() {
+      try {
+        list.awaitSizeGreaterThan(cursor.position(), WAIT_SLICE);
+      } catch (final InterruptedException e) {
+        cancel();
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.extended.list;
+
+/**
+ * Snapshot of {@link ExtendedListMetrics}.<br>
+ * Counters are read one by one, so the snapshot isn't atomic while the list is in use
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ */
+public final class ExtendedListStats {
+
+  /**
+   * Stats of the list without metrics
+   */
+  public static final ExtendedListStats EMPTY = new ExtendedListStats(0, 0, 0, 0, 0, 0, 0);
+
+  private final long                    descriptorCasAttempts;
+  private final long                    descriptorCasFailures;
+  private final long                    helpedWrites;
+  private final long                    bucketSpins;
+  private final long                    bucketAllocations;
+  private final long                    bucketReleases;
+  private final long                    allocatedSlots;
+
+  public ExtendedListStats(final long descriptorCasAttempts, final long descriptorCasFailures, final long helpedWrites,
+      final long bucketSpins, final long bucketAllocations, final long bucketReleases, final long allocatedSlots) {
+    this.descriptorCasAttempts = descriptorCasAttempts;
+    this.descriptorCasFailures = descriptorCasFailures;
+    this.helpedWrites = helpedWrites;
+    this.bucketSpins = bucketSpins;
+    this.bucketAllocations = bucketAllocations;
+    this.bucketReleases = bucketReleases;
+    this.allocatedSlots = allocatedSlots;
+  }
+
+  /**
+   * @return count of descriptor CAS in add and remove
+   */
+  public long getDescriptorCasAttempts() {
+    return descriptorCasAttempts;
+  }
+
+  /**
+   * @return count of failed descriptor CAS in add and remove
+   */
+  public long getDescriptorCasFailures() {
+    return descriptorCasFailures;
+  }
+
+  /**
+   * @return how many times a thread found pending write operation of another thread and helped to complete it
+   */
+  public long getHelpedWrites() {
+    return helpedWrites;
+  }
+
+  /**
+   * @return how many times a thread waited for a bucket allocated by another thread
+   */
+  public long getBucketSpins() {
+    return bucketSpins;
+  }
+
+  /**
+   * @return count of allocated buckets
+   */
+  public long getBucketAllocations() {
+    return bucketAllocations;
+  }
+
+  /**
+   * @return count of buckets released by shrinking
+   */
+  public long getBucketReleases() {
+    return bucketReleases;
+  }
+
+  /**
+   * @return total size of allocated buckets, released buckets aren't counted
+   */
+  public long getAllocatedSlots() {
+    return allocatedSlots;
+  }
+
+  @Override
+  public String toString() {
+    return "[ExtendedListStats descriptorCasAttempts: " + descriptorCasAttempts + ", descriptorCasFailures: "
+        + descriptorCasFailures + ", helpedWrites: " + helpedWrites + ", bucketSpins: " + bucketSpins
+        + ", bucketAllocations: " + bucketAllocations + ", bucketReleases: " + bucketReleases + ", allocatedSlots: "
+        + allocatedSlots + "]";
+  }
+}
@@ -0,0 +1,215 @@
+package com.extended.list;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The infinity dynamically resizable array List of <code>long</code>. Remove is lock-free, append and set wait for the
+ * thread which writes the previous element.<br>
+ * It's the same list as {@link ExtendedList} but data is kept in <code>long[][]</code>, so
+ * {@link #addLong(long)}, {@link #getLong(int)} and {@link #setLong(int, long)} don't box elements.<br>
+ * Methods of {@link List} box elements and can't take <code>null</code>
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ */
+public class ExtendedLongList extends ExtendedPrimitiveList<Long> {
+
+  /**
+   * Appends the element to the end of the list without boxing
+   */
+  public boolean addLong(final long element) {
+    Descriptor currentDescriptor;
+    WriteOperation writeOperation;
+
+    do {
+      currentDescriptor = completedDescriptor();
+      writeOperation = new LongWriteOperation(currentDescriptor.size, element);
+
+    } while (!casAppend(currentDescriptor, writeOperation));
+
+    // Complete current operation
+    completeWrite(writeOperation);
+
+    return true;
+  }
+
+  /**
+   * Replaces the element at the index without boxing
+   */
+  public long setLong(final int index, final long element) {
+    Descriptor currentDescriptor;
+    LongSetOperation setOperation;
+
+    do {
+      currentDescriptor = completedDescriptor();
+
+      // Another thread can remove the element
+      boundsValidation(index, currentDescriptor);
+
+      setOperation = new LongSetOperation(index, element);
+
+    } while (!casSet(currentDescriptor, setOperation));
+
+    // Complete current operation
+    completeWrite(setOperation);
+
+    return setOperation.oldValue;
+  }
+
+  /**
+   * Returns the element at the index without boxing
+   */
+  public long getLong(final int index) {
+    boundsValidation(index);
+
+    return getUnchecked(index);
+  }
+
+  private long getUnchecked(final int index) {
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+
+    return ((long[]) getBucket(indexOfBucket))[indexInBucket];
+  }
+
+  /**
+   * Removes only the last value without boxing.
+   */
+  public long removeLong(final int index) {
+    Descriptor currentDescriptor;
+    long currentElement;
+
+    do {
+      currentDescriptor = completedDescriptor();
+
+      // Another thread can remove last element
+      if (currentDescriptor.size == 0)
+        throw new IndexOutOfBoundsException("Size: 0");
+
+      currentElement = getUnchecked(currentDescriptor.size - 1);
+
+    } while (!casRemove(currentDescriptor));
+
+    return currentElement;
+  }
+
+  @Override
+  public boolean add(final Long element) {
+    return addLong(element);
+  }
+
+  @Override
+  public Long set(final int index, final Long element) {
+    return setLong(index, element);
+  }
+
+  @Override
+  public Long get(final int index) {
+    return getLong(index);
+  }
+
+  /**
+   * Removes only the last value.
+   */
+  @Override
+  public Long remove(final int index) {
+    return removeLong(index);
+  }
+
+  /**
+   * Restores the list written by {@link #writeTo(WritableByteChannel)} or by
+   * {@link ExtendedList#writeTo(WritableByteChannel, Codec)} with {@link Codecs#LONG}.<br>
+   * Buckets are allocated for the whole size and filled by bulk get of {@link LongBuffer}
+   *
+   * @throws IOException
+   *           if the channel doesn't contain checkpoint of <code>long</code> elements
+   */
+  public static ExtendedLongList readFrom(final ReadableByteChannel channel) throws IOException {
+    final ExtendedLongList list = new ExtendedLongList();
+
+    list.restore(channel);
+
+    return list;
+  }
+
+  @Override
+  Object newBucket(final int length) {
+    return new long[length];
+  }
+
+  @Override
+  int elementBytes() {
+    return Long.BYTES;
+  }
+
+  @Override
+  void put(final ByteBuffer buffer, final Object bucket, final int indexInBucket, final int count) {
+    buffer.asLongBuffer().put((long[]) bucket, indexInBucket, count);
+    buffer.position(buffer.position() + count * Long.BYTES);
+  }
+
+  @Override
+  void get(final ByteBuffer buffer, final Object bucket, final int indexInBucket, final int count) {
+    buffer.asLongBuffer().get((long[]) bucket, indexInBucket, count);
+  }
+
+  @Override
+  String bucketToString(final Object bucket) {
+    return Arrays.toString((long[]) bucket);
+  }
+
+  private static class LongWriteOperation extends WriteOperation {
+    private final long element;
+
+    /**
+     * Creates write operation for index and element<br>
+     * This operation is pending by default
+     */
+    LongWriteOperation(final int indexOfElement, final long element) {
+      super(indexOfElement, true);
+      this.element = element;
+    }
+
+    @Override
+    void write(final Object bucket, final int indexInBucket) {
+      ((long[]) bucket)[indexInBucket] = element;
+    }
+
+    @Override
+    public String toString() {
+      return "[LongWriteOperation " + hashCode() + ", indexOfElement: " + indexOfElement + ", element: " + element
+          + ", pending: " + pending + "]";
+    }
+  }
+
+  /**
+   * Replaces the element, the previous element is kept by the thread which writes it
+   */
+  private static final class LongSetOperation extends LongWriteOperation {
+    private long oldValue;
+
+    LongSetOperation(final int indexOfElement, final long element) {
+      super(indexOfElement, element);
+    }
+
+    @Override
+    void write(final Object bucket, final int indexInBucket) {
+      // The old value is published with the completion of operation
+      oldValue = ((long[]) bucket)[indexInBucket];
+      super.write(bucket, indexInBucket);
+    }
+
+    @Override
+    boolean appends() {
+      return false;
+    }
+  }
+
+}
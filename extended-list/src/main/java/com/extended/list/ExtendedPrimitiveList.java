@@ -0,0 +1,492 @@
+package com.extended.list;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Descriptor protocol of lists of primitives: {@link ExtendedIntList}, {@link ExtendedLongList} and
+ * {@link ExtendedDoubleList}. Buckets are arrays of primitives, subclasses know type of arrays and write elements to
+ * them.<br>
+ * Remove is lock-free. Append and set publish their write operation by the descriptor CAS, and every write is
+ * completed by one thread, so they are blocking, see {@link ClaimedWriteOperation}: a primitive cell can't tell a
+ * late helper that it was reused.<br>
+ * Checkpoint is consistent at the size of descriptor: while it's written, the first change of every bucket which
+ * it covers copies the bucket, and the checkpoint reads the copy instead of the changed bucket. Every change goes
+ * through the descriptor, so the change which was published before the start of checkpoint is completed before it
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ * @param <E>
+ */
+abstract class ExtendedPrimitiveList<E> extends AbstractList<E> implements List<E> {
+
+  /**
+   * The size of root array
+   */
+  private static final int                  ROOT_SIZE = Buckets.ROOT_SIZE;
+
+  private static final VarHandle            BUCKET    = MethodHandles.arrayElementVarHandle(Object[].class);
+
+  /**
+   * Operation of descriptors which don't have pending write
+   */
+  private static final WriteOperation       COMPLETED = new CompletedWriteOperation();
+
+  /**
+   * The data array, buckets are arrays of primitives
+   */
+  private final Object[]                    array;
+
+  /**
+   * Bit of bucket is set by the thread which allocates it, see {@link Buckets}
+   */
+  private final long[]                      bucketMarkers;
+
+  /**
+   * Represents current pointer of array
+   */
+  private final AtomicReference<Descriptor> descriptor;
+
+  /**
+   * Checkpoint which is being written or <code>null</code>
+   */
+  private volatile Checkpoint               checkpoint;
+
+  /**
+   * Checkpoints are written one by one
+   */
+  private final Object                      checkpointLock;
+
+  ExtendedPrimitiveList() {
+    array = new Object[ROOT_SIZE];
+    bucketMarkers = Buckets.newMarkers(ROOT_SIZE);
+    descriptor = new AtomicReference<Descriptor>(new Descriptor(0, COMPLETED));
+    checkpointLock = new Object();
+  }
+
+  /**
+   * @return new bucket of elements
+   */
+  abstract Object newBucket(int length);
+
+  /**
+   * @return count of bytes of element in checkpoint
+   */
+  abstract int elementBytes();
+
+  /**
+   * Puts elements of the bucket to the buffer by bulk put and moves position of buffer after them
+   */
+  abstract void put(ByteBuffer buffer, Object bucket, int indexInBucket, int count);
+
+  /**
+   * Gets elements from the start of buffer to the bucket by bulk get
+   */
+  abstract void get(ByteBuffer buffer, Object bucket, int indexInBucket, int count);
+
+  abstract String bucketToString(Object bucket);
+
+  /**
+   * Calculates bucked id by formula: USED_BITS(elementIndex + 2) - 2
+   *
+   * @param index
+   *          an index of element
+   * @return counts of bits for the index of element
+   */
+  protected int getIndexOfBucket(final int index) {
+    return Buckets.indexOfBucket(index);
+  }
+
+  /**
+   * Calculates index in bucket for element
+   *
+   * @param indexOfBucket
+   *          id of bucket
+   * @param indexOfElement
+   *          index of element
+   * @return index in bucket for element
+   */
+  protected int getIndexInBucket(final int indexOfBucket, final int indexOfElement) {
+    return Buckets.indexInBucket(indexOfBucket, indexOfElement);
+  }
+
+  protected void allocateBucket(final int bucket) {
+    // If you could mark this bucket
+    if (Buckets.mark(bucketMarkers, bucket)) {
+      try {
+        // You can expand array, the bucket is published after it's created
+        BUCKET.setRelease(array, bucket, newBucket(Buckets.bucketSize(bucket)));
+      } catch (final RuntimeException | Error e) {
+        // Let another thread try again
+        Buckets.unmark(bucketMarkers, bucket);
+        throw e;
+      }
+    }
+  }
+
+  private Object getOrAllocateBucket(final int bucket) {
+    Object result;
+
+    // Add new bucket if it's needed, other threads wait for the marked bucket
+    while ((result = BUCKET.getAcquire(array, bucket)) == null) {
+      allocateBucket(bucket);
+      Thread.onSpinWait();
+    }
+
+    return result;
+  }
+
+  /**
+   * @return the bucket or <code>null</code> if it isn't allocated
+   */
+  protected final Object getBucket(final int bucket) {
+    return BUCKET.getAcquire(array, bucket);
+  }
+
+  /**
+   * Keeps elements of the bucket for the checkpoint before the first change of the bucket
+   *
+   * @return the bucket which can be changed
+   */
+  protected final Object getBucketForWrite(final int bucket) {
+    final Checkpoint currentCheckpoint = checkpoint;
+
+    // Buckets of elements which are added after the start of checkpoint aren't kept
+    if (currentCheckpoint != null && bucket < currentCheckpoint.buckets)
+      currentCheckpoint.preserve(bucket);
+
+    return getOrAllocateBucket(bucket);
+  }
+
+  protected void completeWrite(final WriteOperation writeOperation) {
+    while (writeOperation.pending) {
+      // Only one thread writes the element, so a late thread can't rewrite the cell reused by next operations
+      if (!writeOperation.claim()) {
+        writeOperation.awaitWriter();
+        continue;
+      }
+
+      // Try to find a bucket to put element
+      final int bucket = getIndexOfBucket(writeOperation.indexOfElement);
+
+      try {
+        // Add element
+        writeOperation.write(getBucketForWrite(bucket), getIndexInBucket(bucket, writeOperation.indexOfElement));
+      } catch (final RuntimeException | Error e) {
+        // Let another thread try again
+        writeOperation.release();
+        throw e;
+      }
+
+      // Complete write
+      // Important point. Pending should be volatile for preventing reordering with previous line of code
+      writeOperation.pending = false;
+    }
+  }
+
+  /**
+   * @return current descriptor whose write operation is completed
+   */
+  protected final Descriptor completedDescriptor() {
+    final Descriptor currentDescriptor = descriptor.get();
+
+    // Try to complete previous write operation
+    completeWrite(currentDescriptor.writeOperation);
+
+    return currentDescriptor;
+  }
+
+  /**
+   * Publishes the operation which appends the element after elements of the current descriptor
+   */
+  protected final boolean casAppend(final Descriptor currentDescriptor, final WriteOperation writeOperation) {
+    assert writeOperation.indexOfElement == currentDescriptor.size;
+
+    return descriptor.compareAndSet(currentDescriptor, new Descriptor(currentDescriptor.size + 1, writeOperation));
+  }
+
+  /**
+   * Publishes the operation which replaces the element of the current descriptor, the size isn't changed
+   */
+  protected final boolean casSet(final Descriptor currentDescriptor, final WriteOperation writeOperation) {
+    assert !writeOperation.appends() && writeOperation.indexOfElement < currentDescriptor.size;
+
+    return descriptor.compareAndSet(currentDescriptor, new Descriptor(currentDescriptor.size, writeOperation));
+  }
+
+  /**
+   * Removes the last element of the current descriptor
+   */
+  protected final boolean casRemove(final Descriptor currentDescriptor) {
+    return descriptor.compareAndSet(currentDescriptor, new Descriptor(currentDescriptor.size - 1, COMPLETED));
+  }
+
+  protected final void boundsValidation(final int index) {
+    if (index < 0 || index >= size())
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+  }
+
+  /**
+   * Validates the index by the size of the descriptor which the operation is published to
+   */
+  protected static void boundsValidation(final int index, final Descriptor currentDescriptor) {
+    if (index < 0 || index >= currentDescriptor.size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + currentDescriptor.size);
+  }
+
+  @Override
+  public int size() {
+    final Descriptor currentDescriptor = descriptor.get();
+
+    // Pending elements start from indexOfElement
+    if (currentDescriptor.writeOperation.pending && currentDescriptor.writeOperation.appends())
+      return currentDescriptor.writeOperation.indexOfElement;
+
+    return currentDescriptor.size;
+  }
+
+  /**
+   * Writes elements to the channel bucket by bucket. Buckets are copied to the direct buffer by bulk put of the
+   * primitive view of buffer without converting of elements.<br>
+   * The checkpoint is consistent at the size of descriptor read at the start: elements appended during writing aren't
+   * written, the first set or append to a written bucket copies it, and the copy is written instead of the bucket.<br>
+   * Checkpoints of the list are written one by one, other operations aren't blocked
+   *
+   * @see #restore(ReadableByteChannel)
+   */
+  public void writeTo(final WritableByteChannel channel) throws IOException {
+    final ByteBuffer buffer = Checkpoints.newBuffer(elementBytes());
+
+    try {
+      synchronized (checkpointLock) {
+        final Checkpoint currentCheckpoint = startCheckpoint();
+
+        try {
+          currentCheckpoint.writeTo(channel, buffer);
+        } finally {
+          checkpoint = null;
+        }
+      }
+    } finally {
+      DirectBuffers.free(buffer);
+    }
+  }
+
+  private Checkpoint startCheckpoint() {
+    while (true) {
+      final Descriptor currentDescriptor = completedDescriptor();
+      final Checkpoint result = new Checkpoint(currentDescriptor.size);
+
+      checkpoint = result;
+
+      // Add and remove which were done before the checkpoint was published change descriptor, so it's started again
+      if (descriptor.compareAndSet(currentDescriptor, new Descriptor(currentDescriptor.size, COMPLETED)))
+        return result;
+    }
+  }
+
+  /**
+   * Fills buckets of the new list from the checkpoint written by {@link #writeTo(WritableByteChannel)} or by
+   * {@link ExtendedList#writeTo(WritableByteChannel, Codec)}
+   *
+   * @throws IOException
+   *           if the channel doesn't contain checkpoint of elements of the list
+   */
+  protected final void restore(final ReadableByteChannel channel) throws IOException {
+    final ByteBuffer buffer = Checkpoints.newBuffer(elementBytes());
+
+    try {
+      final int size = Checkpoints.readHeader(channel, buffer, elementBytes());
+
+      int index = 0;
+
+      while (index < size) {
+        final int bucket = getIndexOfBucket(index);
+        final int indexInBucket = getIndexInBucket(bucket, index);
+
+        // Read as many elements as the buffer and the bucket can hold
+        final int count = Math.min(Math.min(Buckets.bucketSize(bucket) - indexInBucket, size - index), buffer.capacity()
+            / elementBytes());
+
+        Checkpoints.fill(channel, buffer, count * elementBytes());
+        get(buffer, getOrAllocateBucket(bucket), indexInBucket, count);
+
+        index += count;
+      }
+
+      // Volatile write publishes the elements
+      if (size > 0)
+        descriptor.set(new Descriptor(size, COMPLETED));
+    } finally {
+      DirectBuffers.free(buffer);
+    }
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < ROOT_SIZE; i++) {
+      final Object bucket = getBucket(i);
+
+      if (bucket == null)
+        continue;
+
+      sb.append(bucketToString(bucket));
+      sb.append("\n");
+    }
+
+    if (sb.length() > 0)
+      sb.deleteCharAt(sb.length() - 1);
+
+    return sb.toString();
+  }
+
+  /**
+   * Elements of buckets below the size at the start of checkpoint. Buckets which are changed during writing are
+   * copied before the first change
+   */
+  private final class Checkpoint {
+    private final int      size;
+
+    /**
+     * Count of buckets which keep elements below the size
+     */
+    private final int      buckets;
+
+    /**
+     * Copies of buckets which were changed after the start
+     */
+    private final Object[] preserved;
+
+    Checkpoint(final int size) {
+      this.size = size;
+
+      buckets = size == 0 ? 0 : getIndexOfBucket(size - 1) + 1;
+      preserved = new Object[buckets];
+    }
+
+    void preserve(final int bucket) {
+      if (BUCKET.getAcquire(preserved, bucket) != null)
+        return;
+
+      final Object source = getBucket(bucket);
+      final Object copy = newBucket(Buckets.bucketSize(bucket));
+
+      System.arraycopy(source, 0, copy, 0, Buckets.bucketSize(bucket));
+
+      // The first copy is kept, the bucket is changed after it's published
+      BUCKET.compareAndSet(preserved, bucket, null, copy);
+    }
+
+    void writeTo(final WritableByteChannel channel, final ByteBuffer buffer) throws IOException {
+      Checkpoints.putHeader(buffer, elementBytes(), size);
+
+      int index = 0;
+
+      while (index < size) {
+        if (buffer.remaining() < elementBytes())
+          Checkpoints.flush(channel, buffer);
+
+        final int bucket = getIndexOfBucket(index);
+        final int indexInBucket = getIndexInBucket(bucket, index);
+
+        // Copy as many elements as the buffer and the bucket can hold
+        final int count = Math.min(Math.min(Buckets.bucketSize(bucket) - indexInBucket, size - index),
+            buffer.remaining() / elementBytes());
+
+        put(buffer, bucket, indexInBucket, count);
+
+        index += count;
+      }
+
+      Checkpoints.flush(channel, buffer);
+    }
+
+    private void put(final ByteBuffer buffer, final int bucket, final int indexInBucket, final int count) {
+      Object source = BUCKET.getAcquire(preserved, bucket);
+
+      if (source == null) {
+        final int position = buffer.position();
+
+        // Elements of unchanged bucket are put in place
+        ExtendedPrimitiveList.this.put(buffer, getBucket(bucket), indexInBucket, count);
+
+        // Elements are read before the copy is checked
+        VarHandle.acquireFence();
+
+        if ((source = BUCKET.getAcquire(preserved, bucket)) == null)
+          return;
+
+        // The bucket was changed while it was put, so elements are put again from the copy
+        buffer.position(position);
+      }
+
+      ExtendedPrimitiveList.this.put(buffer, source, indexInBucket, count);
+    }
+  }
+
+  protected static final class Descriptor {
+    public final int            size;
+    public final WriteOperation writeOperation;
+
+    public Descriptor(final int size, final WriteOperation writeOperation) {
+      this.size = size;
+      this.writeOperation = writeOperation;
+    }
+
+    @Override
+    public String toString() {
+      return "[Descriptor " + hashCode() + ", size: " + size + ", writeOperation: " + writeOperation + "]";
+    }
+  }
+
+  /**
+   * Pending write of primitive element, subclasses keep the element
+   */
+  protected abstract static class WriteOperation extends ClaimedWriteOperation {
+
+    WriteOperation(final int indexOfElement, final boolean pending) {
+      super(indexOfElement, pending);
+    }
+
+    /**
+     * Writes the element to the cell of bucket
+     */
+    abstract void write(Object bucket, int indexInBucket);
+
+    /**
+     * @return <code>true</code> if the element is appended, <code>false</code> if it replaces the element
+     */
+    boolean appends() {
+      return true;
+    }
+  }
+
+  /**
+   * Operation of descriptor which doesn't append element
+   */
+  private static final class CompletedWriteOperation extends WriteOperation {
+
+    CompletedWriteOperation() {
+      super(0, false);
+    }
+
+    @Override
+    void write(final Object bucket, final int indexInBucket) {
+      throw new AssertionError("Operation is completed");
+    }
+
+    @Override
+    public String toString() {
+      return "[CompletedWriteOperation]";
+    }
+  }
+}
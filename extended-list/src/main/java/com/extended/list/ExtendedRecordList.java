@@ -0,0 +1,457 @@
+package com.extended.list;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * The infinity dynamically resizable array List which keeps elements split into primitive fields.<br>
+ * It's the same list as {@link ExtendedIntList}, but every bucket keeps a column per field of element, so the list
+ * doesn't keep objects of elements:<br>
+ * <br>
+ * bucket 1: int field 0: [a0][a1][a2][a3]<br>
+ * bucket 1: int field 1: [b0][b1][b2][b3]<br>
+ * <br>
+ * Elements are split and built back by {@link RecordCodec}. {@link #get(int)} builds a new element,
+ * {@link #getInt(int, int)}, {@link #getLong(int, int)} and {@link #getDouble(int, int)} read one field without
+ * building it, {@link #forEachInt(int, IntConsumer)} scans a column bucket by bucket.<br>
+ * Remove is lock-free. Append is blocking: fields of appended element are written by one thread, other threads wait
+ * for it while they complete the append, see {@link ClaimedWriteOperation}. Fields of element are written one by one, so a reader can see some fields of the element written by concurrent
+ * {@link #set(int, Object)}. The list can't contain <code>null</code>
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ * @param <T>
+ */
+public class ExtendedRecordList<T> extends AbstractList<T> implements List<T> {
+
+  /**
+   * The size of root array, columns of the next bucket don't fit to Java array
+   */
+  private static final int             ROOT_SIZE = Buckets.ROOT_SIZE;
+
+  private static final VarHandle       BUCKET    = MethodHandles.arrayElementVarHandle(Bucket[].class);
+  private static final VarHandle       DESCRIPTOR;
+
+  static {
+    try {
+      final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+      DESCRIPTOR = lookup.findVarHandle(ExtendedRecordList.class, "descriptor", ExtendedRecordList.Descriptor.class);
+    } catch (final ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * The data array.
+   */
+  private final Bucket[]               array;
+
+  /**
+   * Builds elements from fields
+   */
+  private final RecordCodec<T>         codec;
+
+  /**
+   * Split elements into fields of every kind, <code>null</code> if elements haven't fields of the kind
+   */
+  private final RecordCodec.Ints<T>    ints;
+  private final RecordCodec.Longs<T>   longs;
+  private final RecordCodec.Doubles<T> doubles;
+
+  /**
+   * Counts of fields of every kind
+   */
+  private final int                    intFields;
+  private final int                    longFields;
+  private final int                    doubleFields;
+
+  /**
+   * Bit of bucket is set by the thread which allocates it, see {@link Buckets}
+   */
+  private final long[]                 bucketMarkers;
+
+  /**
+   * Represents current pointer of array, <code>null</code> until the first write
+   */
+  private volatile Descriptor<T>       descriptor;
+
+  @SuppressWarnings("unchecked")
+  public ExtendedRecordList(final RecordCodec<T> codec) {
+    ints = codec instanceof RecordCodec.Ints ? (RecordCodec.Ints<T>) codec : null;
+    longs = codec instanceof RecordCodec.Longs ? (RecordCodec.Longs<T>) codec : null;
+    doubles = codec instanceof RecordCodec.Doubles ? (RecordCodec.Doubles<T>) codec : null;
+
+    intFields = ints == null ? 0 : ints.intFields();
+    longFields = longs == null ? 0 : longs.longFields();
+    doubleFields = doubles == null ? 0 : doubles.doubleFields();
+
+    if (intFields < 0 || longFields < 0 || doubleFields < 0)
+      throw new IllegalArgumentException("Negative count of fields: " + intFields + ", " + longFields + ", "
+          + doubleFields);
+
+    this.codec = codec;
+
+    array = new Bucket[ROOT_SIZE];
+    bucketMarkers = Buckets.newMarkers(ROOT_SIZE);
+  }
+
+  /**
+   * Calculates bucked id by formula: USED_BITS(elementIndex + 2) - 2
+   *
+   * @param index
+   *          an index of element
+   * @return counts of bits for the index of element
+   */
+  protected int getIndexOfBucket(final int index) {
+    return Buckets.indexOfBucket(index);
+  }
+
+  /**
+   * Calculates index in bucket for element
+   *
+   * @param indexOfBucket
+   *          id of bucket
+   * @param indexOfElement
+   *          index of element
+   * @return index in bucket for element
+   */
+  protected int getIndexInBucket(final int indexOfBucket, final int indexOfElement) {
+    return Buckets.indexInBucket(indexOfBucket, indexOfElement);
+  }
+
+  protected void allocateBucket(final int bucket) {
+    // If you could mark this bucket
+    if (Buckets.mark(bucketMarkers, bucket)) {
+      try {
+        // You can expand array, columns are published with the bucket
+        BUCKET.setRelease(array, bucket, new Bucket(Buckets.bucketSize(bucket), intFields, longFields, doubleFields));
+      } catch (final RuntimeException | Error e) {
+        // Let another thread try again
+        Buckets.unmark(bucketMarkers, bucket);
+        throw e;
+      }
+    }
+  }
+
+  private Bucket getOrAllocateBucket(final int bucket) {
+    Bucket result;
+
+    // Add new bucket if it's needed, other threads wait for the marked bucket
+    while ((result = (Bucket) BUCKET.getAcquire(array, bucket)) == null) {
+      allocateBucket(bucket);
+      Thread.onSpinWait();
+    }
+
+    return result;
+  }
+
+  protected void completeWrite(final RecordWriteOperation<T> writeOperation) {
+    while (writeOperation.pending) {
+      // Fields can't be written atomically, so only one thread writes them
+      if (!writeOperation.claim()) {
+        writeOperation.awaitWriter();
+        continue;
+      }
+
+      // Try to find a bucket to put element
+      final int bucket = getIndexOfBucket(writeOperation.indexOfElement);
+
+      try {
+        // Add element
+        write(getOrAllocateBucket(bucket), getIndexInBucket(bucket, writeOperation.indexOfElement),
+            writeOperation.element);
+      } catch (final RuntimeException | Error e) {
+        // Let another thread try again
+        writeOperation.release();
+        throw e;
+      }
+
+      // Complete write
+      // Important point. Pending should be volatile for preventing reordering with previous line of code
+      writeOperation.pending = false;
+    }
+  }
+
+  private void write(final Bucket bucket, final int indexInBucket, final T element) {
+    for (int field = 0; field < bucket.ints.length; field++)
+      bucket.ints[field][indexInBucket] = ints.getInt(element, field);
+
+    for (int field = 0; field < bucket.longs.length; field++)
+      bucket.longs[field][indexInBucket] = longs.getLong(element, field);
+
+    for (int field = 0; field < bucket.doubles.length; field++)
+      bucket.doubles[field][indexInBucket] = doubles.getDouble(element, field);
+  }
+
+  @Override
+  public boolean add(final T element) {
+    if (element == null)
+      throw new NullPointerException();
+
+    // Initialize the first operation
+    while (descriptor == null)
+      DESCRIPTOR.compareAndSet(this, null, new Descriptor<T>(0, new RecordWriteOperation<T>(0, null, false)));
+
+    Descriptor<T> currentDescriptor;
+    Descriptor<T> operationDescriptor;
+
+    do {
+      currentDescriptor = descriptor;
+
+      // Try to complete previous write operation
+      completeWrite(currentDescriptor.writeOperation);
+
+      // The bucket of new element must be allocatable before the operation is published
+      if (getIndexOfBucket(currentDescriptor.size) >= ROOT_SIZE)
+        throw new IllegalStateException("List is full, Size: " + currentDescriptor.size);
+
+      operationDescriptor = new Descriptor<T>(currentDescriptor.size + 1, new RecordWriteOperation<T>(
+          currentDescriptor.size, element));
+
+    } while (!DESCRIPTOR.compareAndSet(this, currentDescriptor, operationDescriptor));
+
+    // Complete current operation
+    completeWrite(operationDescriptor.writeOperation);
+
+    return true;
+  }
+
+  /**
+   * Replaces fields of the element at the index
+   *
+   * @return the previous element built from fields
+   */
+  @Override
+  public T set(final int index, final T element) {
+    if (element == null)
+      throw new NullPointerException();
+
+    boundsValidation(index);
+
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+
+    final T oldValue = read(array[indexOfBucket], indexInBucket);
+
+    write(array[indexOfBucket], indexInBucket, element);
+
+    return oldValue;
+  }
+
+  /**
+   * Builds the element from its fields, every call returns a new element
+   */
+  @Override
+  public T get(final int index) {
+    boundsValidation(index);
+
+    return getUnchecked(index);
+  }
+
+  private T getUnchecked(final int index) {
+    final int indexOfBucket = getIndexOfBucket(index);
+
+    return read(array[indexOfBucket], getIndexInBucket(indexOfBucket, index));
+  }
+
+  private T read(final Bucket bucket, final int indexInBucket) {
+    return codec.read(new Fields(bucket, indexInBucket));
+  }
+
+  /**
+   * Returns the <code>int</code> field of the element without building it
+   */
+  public int getInt(final int index, final int field) {
+    boundsValidation(index);
+
+    final int indexOfBucket = getIndexOfBucket(index);
+
+    return array[indexOfBucket].ints[field][getIndexInBucket(indexOfBucket, index)];
+  }
+
+  /**
+   * Returns the <code>long</code> field of the element without building it
+   */
+  public long getLong(final int index, final int field) {
+    boundsValidation(index);
+
+    final int indexOfBucket = getIndexOfBucket(index);
+
+    return array[indexOfBucket].longs[field][getIndexInBucket(indexOfBucket, index)];
+  }
+
+  /**
+   * Returns the <code>double</code> field of the element without building it
+   */
+  public double getDouble(final int index, final int field) {
+    boundsValidation(index);
+
+    final int indexOfBucket = getIndexOfBucket(index);
+
+    return array[indexOfBucket].doubles[field][getIndexInBucket(indexOfBucket, index)];
+  }
+
+  /**
+   * Passes the <code>int</code> field of every element below the size read at the start to the action. The column of
+   * every bucket is read sequentially without bounds validation of every element
+   */
+  public void forEachInt(final int field, final IntConsumer action) {
+    if (field < 0 || field >= intFields)
+      throw new IndexOutOfBoundsException("Field: " + field + ", Fields: " + intFields);
+
+    final int size = size();
+
+    int index = 0;
+
+    for (int bucket = 0; index < size; bucket++) {
+      final int[] column = array[bucket].ints[field];
+      final int count = Math.min(column.length, size - index);
+
+      for (int i = 0; i < count; i++)
+        action.accept(column[i]);
+
+      index += count;
+    }
+  }
+
+  /**
+   * Removes only the last value.
+   */
+  @Override
+  public T remove(final int index) {
+    // Can't remove element from empty list
+    if (descriptor == null)
+      throw new IndexOutOfBoundsException("Size: 0");
+
+    Descriptor<T> currentDescriptor;
+    Descriptor<T> operationDescriptor;
+    T currentElement;
+    int currentIndex;
+
+    do {
+      currentDescriptor = descriptor;
+
+      // Another thread can remove last element
+      if (currentDescriptor.size == 0)
+        throw new IndexOutOfBoundsException("Size: 0");
+
+      // Try to complete previous write operation
+      completeWrite(currentDescriptor.writeOperation);
+
+      currentIndex = currentDescriptor.size - 1;
+      currentElement = getUnchecked(currentIndex);
+
+      operationDescriptor = new Descriptor<T>(currentDescriptor.size - 1, new RecordWriteOperation<T>(currentIndex - 1,
+          null, false));
+
+    } while (!DESCRIPTOR.compareAndSet(this, currentDescriptor, operationDescriptor));
+
+    return currentElement;
+  }
+
+  private void boundsValidation(final int index) {
+    if (index < 0 || index >= size())
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+  }
+
+  @Override
+  public int size() {
+    final Descriptor<T> currentDescriptor = descriptor;
+
+    // Nothing was added yet
+    if (currentDescriptor == null)
+      return 0;
+
+    // Pending elements start from indexOfElement
+    if (currentDescriptor.writeOperation.pending)
+      return currentDescriptor.writeOperation.indexOfElement;
+
+    return currentDescriptor.size;
+  }
+
+  /**
+   * @return count of bytes of columns of allocated buckets
+   */
+  public long allocatedBytes() {
+    final long bytesPerElement = (long) Integer.BYTES * intFields + (long) Long.BYTES * longFields
+        + (long) Double.BYTES * doubleFields;
+
+    long result = 0;
+
+    for (int i = 0; i < ROOT_SIZE; i++)
+      if (BUCKET.getAcquire(array, i) != null)
+        result += bytesPerElement * (2L << i);
+
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "[ExtendedRecordList size: " + size() + ", fields: " + intFields + " int, " + longFields + " long, "
+        + doubleFields + " double]";
+  }
+
+  /**
+   * Columns of bucket, one per field
+   */
+  private static final class Bucket {
+    final int[][]    ints;
+    final long[][]   longs;
+    final double[][] doubles;
+
+    Bucket(final int length, final int intFields, final int longFields, final int doubleFields) {
+      ints = new int[intFields][length];
+      longs = new long[longFields][length];
+      doubles = new double[doubleFields][length];
+    }
+  }
+
+  /**
+   * Fields of one element which are read by the codec
+   */
+  private static final class Fields implements RecordCodec.Fields {
+    private final Bucket bucket;
+    private final int    indexInBucket;
+
+    Fields(final Bucket bucket, final int indexInBucket) {
+      this.bucket = bucket;
+      this.indexInBucket = indexInBucket;
+    }
+
+    @Override
+    public int getInt(final int field) {
+      return bucket.ints[field][indexInBucket];
+    }
+
+    @Override
+    public long getLong(final int field) {
+      return bucket.longs[field][indexInBucket];
+    }
+
+    @Override
+    public double getDouble(final int field) {
+      return bucket.doubles[field][indexInBucket];
+    }
+  }
+
+  private static class Descriptor<T> {
+    public final int                     size;
+    public final RecordWriteOperation<T> writeOperation;
+
+    public Descriptor(final int size, final RecordWriteOperation<T> writeOperation) {
+      this.size = size;
+      this.writeOperation = writeOperation;
+    }
+
+    @Override
+    public String toString() {
+      return "[Descriptor " + hashCode() + ", size: " + size + ", writeOperation: " + writeOperation + "]";
+    }
+  }
+
+}
@@ -0,0 +1,189 @@
+package com.extended.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free LIFO stack over {@link ExtendedList} with elimination backoff.<br>
+ * Push and pop try the descriptor CAS of the list first. When CAS fails because of contention, they meet in the
+ * elimination array: push leaves its element in a random slot for a short time and pop takes element from a random slot,
+ * so the pair finishes without touching the descriptor.<br>
+ * The stack can't contain <code>null</code>
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ * @param <T>
+ */
+public class ExtendedStack<T> {
+
+  /**
+   * How many times push checks that its element was taken from elimination slot
+   */
+  private static final int                  SPINS_OF_ELIMINATION = 64;
+
+  /**
+   * The list keeps elements
+   */
+  private final ExtendedList<T>             list;
+
+  /**
+   * Slots where colliding push and pop exchange elements
+   */
+  private final AtomicReferenceArray<Offer> eliminationArray;
+
+  /**
+   * Creates stack with elimination array of size equal to count of processors
+   */
+  public ExtendedStack() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  public ExtendedStack(final int eliminationArraySize) {
+    if (eliminationArraySize <= 0)
+      throw new IllegalArgumentException("Elimination array size: " + eliminationArraySize);
+
+    list = new ExtendedList<T>();
+    eliminationArray = new AtomicReferenceArray<Offer>(eliminationArraySize);
+  }
+
+  /**
+   * Pushes the element to the top of the stack
+   */
+  public void push(final T element) {
+    if (element == null)
+      throw new NullPointerException();
+
+    Offer offer = null;
+
+    while (!list.tryAdd(element)) {
+      // Contention, try to give the element to pop directly
+      if (offer == null)
+        offer = new Offer(element);
+
+      if (eliminatePush(offer))
+        return;
+    }
+  }
+
+  /**
+   * Pops the element from the top of the stack
+   *
+   * @return the element or <code>null</code> if the stack is empty
+   */
+  @SuppressWarnings("unchecked")
+  public T pop() {
+    while (true) {
+      final Object result = list.tryRemove();
+
+      if (result == ExtendedList.EMPTY)
+        return null;
+
+      if (result != ExtendedList.CAS_FAILED)
+        return (T) result;
+
+      // Contention, try to take the element from push directly
+      final T element = eliminatePop();
+      if (element != null)
+        return element;
+    }
+  }
+
+  /**
+   * Pops up to <code>maxCount</code> elements from the top of the stack by one descriptor CAS
+   *
+   * @return popped elements starting from the top of the stack, the list is empty if the stack is empty
+   */
+  @SuppressWarnings("unchecked")
+  public List<T> popBatch(final int maxCount) {
+    if (maxCount < 0)
+      throw new IllegalArgumentException("Max count: " + maxCount);
+
+    final Object[] elements = new Object[Math.min(maxCount, list.size())];
+
+    int count;
+    while ((count = list.tryRemove(elements, elements.length)) < 0) {
+      Thread.onSpinWait();
+    }
+
+    final List<T> result = new ArrayList<T>(count);
+    for (int i = 0; i < count; i++)
+      result.add((T) elements[i]);
+
+    return result;
+  }
+
+  /**
+   * @return the element from the top of the stack or <code>null</code> if the stack is empty
+   */
+  @SuppressWarnings("unchecked")
+  public T peek() {
+    final Object result = list.peekLast();
+
+    return result == ExtendedList.EMPTY ? null : (T) result;
+  }
+
+  public int size() {
+    return list.size();
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Leaves the offer in a random slot and waits for pop
+   *
+   * @return <code>true</code> if pop took the offer
+   */
+  private boolean eliminatePush(final Offer offer) {
+    final int slot = ThreadLocalRandom.current().nextInt(eliminationArray.length());
+
+    // Slot is busy with another push
+    if (!eliminationArray.compareAndSet(slot, null, offer))
+      return false;
+
+    for (int i = 0; i < SPINS_OF_ELIMINATION; i++) {
+      if (eliminationArray.get(slot) != offer)
+        return true;
+
+      Thread.onSpinWait();
+    }
+
+    // Withdraw the offer. If it's impossible, pop has already taken it
+    return !eliminationArray.compareAndSet(slot, offer, null);
+  }
+
+  /**
+   * Takes the offer from a random slot
+   *
+   * @return the element of push or <code>null</code> if the slot is empty
+   */
+  private T eliminatePop() {
+    final int slot = ThreadLocalRandom.current().nextInt(eliminationArray.length());
+    final Offer offer = eliminationArray.get(slot);
+
+    if (offer != null && eliminationArray.compareAndSet(slot, offer, null))
+      return offer.element;
+
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return list.toString();
+  }
+
+  /**
+   * Unique holder of pushed element, so the same element pushed twice can't be confused in a slot
+   */
+  private class Offer {
+    private final T element;
+
+    Offer(final T element) {
+      this.element = element;
+    }
+  }
+}
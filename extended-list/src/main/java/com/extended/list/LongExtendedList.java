@@ -0,0 +1,428 @@
+package com.extended.list;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The infinity Lock-free dynamically resizable array with <code>long</code> indexes.<br>
+ * It's the same list as {@link ExtendedList}, but indexes and size are <code>long</code>, so the whole geometry of 64
+ * buckets can be used and the list isn't limited by 2^31 elements.<br>
+ * Java array can't be larger than 2^31 elements, so buckets which are larger than the chunk are split into chunks of
+ * the same size. Chunks are allocated on demand:<br>
+ * <br>
+ * [0][1] // bucket 0, one chunk<br>
+ * [2][3][4][5] // bucket 1, one chunk<br>
+ * ...<br>
+ * [chunk 0][chunk 1] // bucket 26, two chunks of 2^26 elements<br>
+ * <br>
+ * Cells are written through a claim of every attempt like cells of {@link ExtendedList}, so a late helper can't
+ * overwrite the cell which got its old value again.<br>
+ * The list can contain <code>null</code>
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ * @param <T>
+ */
+public class LongExtendedList<T> {
+
+  /**
+   * The size of root array
+   */
+  private static final int                  ROOT_SIZE   = 64;
+
+  /**
+   * Chunk keeps 2^26 elements, so it takes 256MB with compressed references
+   */
+  private static final int                  CHUNK_SHIFT = 26;
+
+  /**
+   * Mark of chunk which is being allocated by another thread
+   */
+  private static final Object[]             ALLOCATING  = new Object[0];
+
+  /**
+   * Atomic access to elements of chunks
+   */
+  private static final VarHandle            ELEMENT     = MethodHandles.arrayElementVarHandle(Object[].class);
+
+  /**
+   * Atomic access to chunks of buckets
+   */
+  private static final VarHandle            CHUNK       = MethodHandles.arrayElementVarHandle(Object[][].class);
+
+  /**
+   * The data array: bucket, chunk, element
+   */
+  private final T[][][]                     array;
+
+  /**
+   * Bit of bucket is set by the thread which allocates it, see {@link Buckets}
+   */
+  private final long[]                      bucketMarkers;
+
+  /**
+   * Represents current pointer of array
+   */
+  private final AtomicReference<Descriptor> descriptor;
+
+  private final int                         chunkShift;
+
+  public LongExtendedList() {
+    this(CHUNK_SHIFT);
+  }
+
+  /**
+   * Creates list with chunks of 2^chunkShift elements. Small chunks are used by tests
+   */
+  @SuppressWarnings("unchecked")
+  LongExtendedList(final int chunkShift) {
+    if (chunkShift < 1 || chunkShift > 30)
+      throw new IllegalArgumentException("Chunk shift: " + chunkShift);
+
+    this.chunkShift = chunkShift;
+
+    array = (T[][][]) new Object[ROOT_SIZE][][];
+
+    bucketMarkers = Buckets.newMarkers(ROOT_SIZE);
+
+    descriptor = new AtomicReference<Descriptor>(new Descriptor(0, new WriteOperation<T>(0, null, false)));
+  }
+
+  /**
+   * Calculates bucked id by formula: USED_BITS(elementIndex + 2) - 2
+   *
+   * @param index
+   *          an index of element
+   * @return counts of bits for the index of element
+   */
+  protected int getIndexOfBucket(final long index) {
+    return Buckets.indexOfBucket(index);
+  }
+
+  /**
+   * Calculates index in bucket for element
+   *
+   * @param indexOfBucket
+   *          id of bucket
+   * @param indexOfElement
+   *          index of element
+   * @return index in bucket for element
+   */
+  protected long getIndexInBucket(final int indexOfBucket, final long indexOfElement) {
+    return Buckets.indexInBucket(indexOfBucket, indexOfElement);
+  }
+
+  /**
+   * @return index of chunk in bucket for index in bucket
+   */
+  protected int getIndexOfChunk(final long indexInBucket) {
+    return (int) (indexInBucket >>> chunkShift);
+  }
+
+  /**
+   * @return index of element in chunk for index in bucket
+   */
+  protected int getIndexInChunk(final long indexInBucket) {
+    return (int) (indexInBucket & ((1 << chunkShift) - 1));
+  }
+
+  @SuppressWarnings("unchecked")
+  protected void allocateBucket(final int bucket) {
+    // Count of chunks should fit to Java array
+    if (bucket + 1 - chunkShift > 30)
+      throw new IllegalStateException("Bucket " + bucket + " needs more than 2^30 chunks");
+
+    final int countOfChunks = bucket + 1 <= chunkShift ? 1 : 1 << (bucket + 1 - chunkShift);
+
+    // If you could mark this bucket
+    if (Buckets.mark(bucketMarkers, bucket))
+      // You can expand array, chunks are allocated on demand
+      array[bucket] = (T[][]) new Object[countOfChunks][];
+  }
+
+  /**
+   * Allocates the chunk once, other threads wait for it
+   */
+  @SuppressWarnings("unchecked")
+  protected void allocateChunk(final int bucket, final int chunk) {
+    final T[][] chunks = array[bucket];
+
+    // If you could mark this chunk
+    if (CHUNK.compareAndSet(chunks, chunk, null, ALLOCATING))
+      // Small buckets are smaller than chunk
+      CHUNK.setRelease(chunks, chunk, new Object[(int) Math.min(2L << bucket, 1L << chunkShift)]);
+  }
+
+  /**
+   * @return the chunk of bucket, it's allocated if it's needed
+   */
+  @SuppressWarnings("unchecked")
+  private T[] getOrAllocateChunk(final int bucket, final int chunk) {
+    // Add new bucket if it's needed
+    while (array[bucket] == null)
+      allocateBucket(bucket);
+
+    T[] result;
+
+    // Add new chunk if it's needed
+    while ((result = (T[]) CHUNK.getAcquire(array[bucket], chunk)) == null || result == ALLOCATING) {
+      if (result == null)
+        allocateChunk(bucket, chunk);
+      else
+        Thread.onSpinWait();
+    }
+
+    return result;
+  }
+
+  protected void completeWrite(final WriteOperation<T> writeOperation) {
+    if (writeOperation.pending) {
+      // Try to find a bucket and chunk to put element
+      final int bucket = getIndexOfBucket(writeOperation.indexOfElement);
+      final long indexInBucket = getIndexInBucket(bucket, writeOperation.indexOfElement);
+
+      final T[] chunk = getOrAllocateChunk(bucket, getIndexOfChunk(indexInBucket));
+      final int indexInChunk = getIndexInChunk(indexInBucket);
+
+      // Add element. Late helper mustn't overwrite elements put to the cell after the operation was completed
+      writeCell(writeOperation, chunk, indexInChunk);
+
+      // Complete write
+      // Important point. Pending should be volatile for preventing reordering with previous line of code
+      writeOperation.pending = false;
+    }
+  }
+
+  /**
+   * Puts the element of pending operation to the cell through the claim of this attempt
+   */
+  private static void writeCell(final WriteOperation<?> writeOperation, final Object[] chunk, final int index) {
+    while (writeOperation.pending) {
+      final Object value = ELEMENT.getVolatile(chunk, index);
+
+      // Another write can't start before the claim is completed
+      if (value instanceof WriteClaim) {
+        ((WriteClaim) value).complete(chunk, index);
+        continue;
+      }
+
+      // Another helper put the element already
+      if (value == writeOperation.element)
+        return;
+
+      final WriteClaim claim = new WriteClaim(writeOperation, value);
+
+      if (ELEMENT.compareAndSet(chunk, index, value, claim)) {
+        claim.complete(chunk, index);
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return the value of the cell, the claim of pending write is completed first
+   */
+  private static Object getCell(final Object[] chunk, final int index) {
+    Object value = ELEMENT.getAcquire(chunk, index);
+
+    while (value instanceof WriteClaim) {
+      ((WriteClaim) value).complete(chunk, index);
+      value = ELEMENT.getAcquire(chunk, index);
+    }
+
+    return value;
+  }
+
+  /**
+   * Appends the element to the end of the list
+   */
+  public boolean add(final T element) {
+    Descriptor currentDescriptor;
+    Descriptor operationDescriptor;
+
+    do {
+      currentDescriptor = descriptor.get();
+
+      // Try to complete previous write operation
+      completeWrite(currentDescriptor.writeOperation);
+
+      operationDescriptor = new Descriptor(currentDescriptor.size + 1, new WriteOperation<T>(currentDescriptor.size, element));
+
+    } while (!descriptor.compareAndSet(currentDescriptor, operationDescriptor));
+
+    // Complete current operation
+    completeWrite(operationDescriptor.writeOperation);
+
+    return true;
+  }
+
+  /**
+   * Replaces the element atomically, so concurrent setters get different old values
+   *
+   * @return the previous element
+   */
+  @SuppressWarnings("unchecked")
+  public T set(final long index, final T element) {
+    boundsValidation(index);
+
+    final int indexOfBucket = getIndexOfBucket(index);
+    final long indexInBucket = getIndexInBucket(indexOfBucket, index);
+
+    final Object[] chunk = array[indexOfBucket][getIndexOfChunk(indexInBucket)];
+    final int indexInChunk = getIndexInChunk(indexInBucket);
+
+    while (true) {
+      // Claim of late helper is completed by the old value before it's replaced
+      final Object value = getCell(chunk, indexInChunk);
+
+      if (ELEMENT.compareAndSet(chunk, indexInChunk, value, element))
+        return (T) value;
+    }
+  }
+
+  /**
+   * Returns the element with acquire semantic, so element put by {@link #set(long, Object)} in another thread is
+   * visible
+   */
+  public T get(final long index) {
+    boundsValidation(index);
+
+    return getUnchecked(index);
+  }
+
+  @SuppressWarnings("unchecked")
+  private T getUnchecked(final long index) {
+    final int indexOfBucket = getIndexOfBucket(index);
+    final long indexInBucket = getIndexInBucket(indexOfBucket, index);
+
+    return (T) getCell(array[indexOfBucket][getIndexOfChunk(indexInBucket)], getIndexInChunk(indexInBucket));
+  }
+
+  /**
+   * Removes only the last value.
+   */
+  public T remove() {
+    Descriptor currentDescriptor;
+    Descriptor operationDescriptor;
+    T currentElement;
+    long currentIndex;
+
+    do {
+      currentDescriptor = descriptor.get();
+
+      // Another thread can remove last element
+      if (currentDescriptor.size == 0)
+        throw new IndexOutOfBoundsException("Size: 0");
+
+      // Try to complete previous write operation
+      completeWrite(currentDescriptor.writeOperation);
+
+      currentIndex = currentDescriptor.size - 1;
+      currentElement = getUnchecked(currentIndex);
+
+      operationDescriptor = new Descriptor(currentDescriptor.size - 1, new WriteOperation<T>(currentIndex - 1, null, false));
+
+    } while (!descriptor.compareAndSet(currentDescriptor, operationDescriptor));
+
+    return currentElement;
+  }
+
+  private void boundsValidation(final long index) {
+    if (index < 0 || index >= longSize())
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + longSize());
+  }
+
+  public long longSize() {
+    final Descriptor currentDescriptor = descriptor.get();
+
+    // Pending elements start from indexOfElement
+    if (currentDescriptor.writeOperation.pending)
+      return currentDescriptor.writeOperation.indexOfElement;
+
+    return currentDescriptor.size;
+  }
+
+  public boolean isEmpty() {
+    return longSize() == 0;
+  }
+
+  @Override
+  public String toString() {
+    return "[LongExtendedList size: " + longSize() + "]";
+  }
+
+  private class Descriptor {
+    public final long              size;
+    public final WriteOperation<T> writeOperation;
+
+    public Descriptor(final long size, final WriteOperation<T> writeOperation) {
+      this.size = size;
+      this.writeOperation = writeOperation;
+    }
+
+    @Override
+    public String toString() {
+      return "[Descriptor " + hashCode() + ", size: " + size + ", writeOperation: " + writeOperation + "]";
+    }
+  }
+
+  /**
+   * Placeholder of the cell which is put by an attempt to complete the pending write. It's completed by the element if
+   * the operation is still pending when the claim is decided or by the replaced value otherwise. The operation is
+   * completed only after its claim is replaced by the element, and stale CAS of a completed claim fails
+   */
+  private static final class WriteClaim {
+    private final WriteOperation<?> writeOperation;
+    private final Object            expected;
+
+    WriteClaim(final WriteOperation<?> writeOperation, final Object expected) {
+      this.writeOperation = writeOperation;
+      this.expected = expected;
+    }
+
+    /**
+     * Replaces the claim by the element or by the replaced value
+     */
+    void complete(final Object[] chunk, final int index) {
+      ELEMENT.compareAndSet(chunk, index, this, writeOperation.pending ? writeOperation.element : expected);
+    }
+
+    @Override
+    public String toString() {
+      return "[WriteClaim " + hashCode() + ", expected: " + expected + ", writeOperation: " + writeOperation + "]";
+    }
+  }
+
+  protected static class WriteOperation<T> {
+    public final long       indexOfElement;
+    public final T          element;
+    public volatile boolean pending;
+
+    /**
+     * Creates write operation for index and element<br>
+     * This operation is pending by default
+     */
+    public WriteOperation(final long indexOfElement, final T element) {
+      this(indexOfElement, element, true);
+    }
+
+    /**
+     * Creates finished write operation for index and element<br>
+     * This operation is pending by default
+     */
+    public WriteOperation(final long indexOfElement, final T element, final boolean pending) {
+      this.indexOfElement = indexOfElement;
+      this.element = element;
+      this.pending = pending;
+    }
+
+    @Override
+    public String toString() {
+      return "[WriteOperation " + hashCode() + ", indexOfElement: " + indexOfElement + ", element: " + element + ", pending: "
+          + pending + "]";
+    }
+  }
+
+}
@@ -0,0 +1,449 @@
+package com.extended.list;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The infinity dynamically resizable array List which keeps data in a file.<br>
+ * Every bucket is a region of the file mapped by {@link FileChannel#map}, elements are converted to the fixed count of
+ * bytes by {@link Codec}. Regions follow the header in order of buckets, so bucket k starts at
+ * <code>HEADER_SIZE + ((2 ^ (k + 1)) - 2) * codec.size()</code><br>
+ * <br>
+ * The header keeps size of the list. Regions are contiguous, so the list reopened from the same file maps buckets of
+ * the size without reading elements.<br>
+ * Elements and header are written to the disk by {@link #force()} and {@link #close()}. Operations completed after the
+ * last <code>force</code> can be lost by crash of OS.<br>
+ * Remove is lock-free. Append is blocking: record of element is written by one thread, other threads wait for it while
+ * they complete the append, see {@link ClaimedWriteOperation}. {@link #set(int, Object)} writes the record in place,
+ * so concurrent readers can see fields of both records.<br>
+ * The list can't contain <code>null</code>. The file mustn't be changed by several lists at the same time
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ * @param <T>
+ */
+public class MappedExtendedList<T> extends AbstractList<T> implements List<T>, Closeable {
+
+  /**
+   * The size of root array
+   */
+  private static final int                  ROOT_SIZE                = Buckets.ROOT_SIZE;
+
+  /**
+   * Bytes before the first bucket
+   */
+  static final int                          HEADER_SIZE              = 64;
+
+  private static final int                  MAGIC                    = 0x45584c31;
+
+  private static final int                  MAGIC_POSITION           = 0;
+  private static final int                  ELEMENT_SIZE_POSITION    = 4;
+  private static final int                  SIZE_POSITION            = 8;
+
+  private static final VarHandle            BUCKET                   = MethodHandles
+      .arrayElementVarHandle(MappedByteBuffer[].class);
+
+  /**
+   * The data array.
+   */
+  private final MappedByteBuffer[]          array;
+
+  /**
+   * Converts elements to bytes and back
+   */
+  private final Codec<T>                    codec;
+
+  private final FileChannel                 channel;
+
+  private final MappedByteBuffer            header;
+
+  /**
+   * Headers are written one by one
+   */
+  private final Object                      forceLock;
+
+  /**
+   * Bit of bucket is set by the thread which allocates it, see {@link Buckets}
+   */
+  private final long[]                      bucketMarkers;
+
+  /**
+   * Represents current pointer of array
+   */
+  private final AtomicReference<Descriptor> descriptor;
+
+  private volatile boolean                  closed;
+
+  /**
+   * Opens the list kept in the file. The file is created if it doesn't exist
+   *
+   * @throws IOException
+   *           if the file can't be opened, it was written with another size of element or it's shorter than the size
+   */
+  public MappedExtendedList(final Path file, final Codec<T> codec) throws IOException {
+    this.codec = codec;
+
+    forceLock = new Object();
+
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+    try {
+      final boolean isNew = channel.size() == 0;
+
+      header = channel.map(MapMode.READ_WRITE, 0, HEADER_SIZE);
+
+      if (isNew) {
+        header.putInt(MAGIC_POSITION, MAGIC);
+        header.putInt(ELEMENT_SIZE_POSITION, codec.size());
+      } else if (header.getInt(MAGIC_POSITION) != MAGIC) {
+        throw new IOException("File " + file + " doesn't contain list");
+      } else if (header.getInt(ELEMENT_SIZE_POSITION) != codec.size()) {
+        throw new IOException("File " + file + " contains elements of " + header.getInt(ELEMENT_SIZE_POSITION)
+            + " bytes, codec writes " + codec.size() + " bytes");
+      }
+
+      array = new MappedByteBuffer[ROOT_SIZE];
+
+      bucketMarkers = Buckets.newMarkers(ROOT_SIZE);
+
+      final long size = header.getLong(SIZE_POSITION);
+
+      if (size < 0 || size > Integer.MAX_VALUE)
+        throw new IOException("File " + file + " contains wrong size: " + size);
+
+      if (size > 0) {
+        final int lastBucket = getIndexOfBucket((int) size - 1);
+
+        // Every element counted by the header must be in the file, mapping would fill missing regions with zeros
+        final long length = HEADER_SIZE + (long) codec.size() * ((2L << (lastBucket + 1)) - 2);
+        if (channel.size() < length)
+          throw new IOException("File " + file + " contains " + size + " elements, but only " + channel.size()
+              + " bytes of " + length);
+
+        // Map buckets of counted elements
+        for (int i = 0; i <= lastBucket; i++)
+          allocateBucket(i);
+      }
+
+      descriptor = new AtomicReference<Descriptor>(new Descriptor((int) size, new RecordWriteOperation<T>((int) size,
+          null, false)));
+    } catch (final IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Calculates bucked id by formula: USED_BITS(elementIndex + 2) - 2
+   *
+   * @param index
+   *          an index of element
+   * @return counts of bits for the index of element
+   */
+  protected int getIndexOfBucket(final int index) {
+    return Buckets.indexOfBucket(index);
+  }
+
+  /**
+   * Calculates index in bucket for element
+   *
+   * @param indexOfBucket
+   *          id of bucket
+   * @param indexOfElement
+   *          index of element
+   * @return index in bucket for element
+   */
+  protected int getIndexInBucket(final int indexOfBucket, final int indexOfElement) {
+    return Buckets.indexInBucket(indexOfBucket, indexOfElement);
+  }
+
+  /**
+   * @return count of bytes of the bucket
+   * @throws IllegalStateException
+   *           if the bucket is larger than mapped region can be
+   */
+  private int bucketCapacity(final int bucket) {
+    // Mapped region can't be larger than Integer.MAX_VALUE bytes
+    final long capacity = (long) codec.size() << (bucket + 1);
+    if (capacity > Integer.MAX_VALUE)
+      throw new IllegalStateException("Bucket " + bucket + " needs " + capacity + " bytes");
+
+    return (int) capacity;
+  }
+
+  protected void allocateBucket(final int bucket) {
+    // If you could mark this bucket
+    if (Buckets.mark(bucketMarkers, bucket)) {
+      // Region of bucket follows regions of all previous buckets
+      final long position = HEADER_SIZE + (long) codec.size() * ((2L << bucket) - 2);
+
+      try {
+        // You can expand array, the region is published after it's mapped. The file grows if it's needed
+        BUCKET.setRelease(array, bucket, channel.map(MapMode.READ_WRITE, position, bucketCapacity(bucket)));
+      } catch (final IOException e) {
+        // Let another thread try again
+        Buckets.unmark(bucketMarkers, bucket);
+        throw new UncheckedIOException(e);
+      } catch (final RuntimeException | Error e) {
+        Buckets.unmark(bucketMarkers, bucket);
+        throw e;
+      }
+    }
+  }
+
+  private MappedByteBuffer getOrAllocateBucket(final int bucket) {
+    MappedByteBuffer result;
+
+    // Add new bucket if it's needed, other threads wait for the marked bucket
+    while ((result = (MappedByteBuffer) BUCKET.getAcquire(array, bucket)) == null) {
+      allocateBucket(bucket);
+      Thread.onSpinWait();
+    }
+
+    return result;
+  }
+
+  private MappedByteBuffer getBucket(final int bucket) {
+    return (MappedByteBuffer) BUCKET.getAcquire(array, bucket);
+  }
+
+  protected void completeWrite(final RecordWriteOperation<T> writeOperation) {
+    while (writeOperation.pending) {
+      // Bytes of record can't be written atomically, so only one thread writes them
+      if (!writeOperation.claim()) {
+        writeOperation.awaitWriter();
+        continue;
+      }
+
+      // Try to find a bucket to put element
+      final int bucket = getIndexOfBucket(writeOperation.indexOfElement);
+
+      final int indexInBucket = getIndexInBucket(bucket, writeOperation.indexOfElement);
+
+      try {
+        // Add element
+        codec.write(getOrAllocateBucket(bucket), indexInBucket * codec.size(), writeOperation.element);
+      } catch (final RuntimeException | Error e) {
+        // Let another thread try again
+        writeOperation.release();
+        throw e;
+      }
+
+      // Complete write
+      // Important point. Pending should be volatile for preventing reordering with previous line of code
+      writeOperation.pending = false;
+    }
+  }
+
+  @Override
+  public boolean add(final T element) {
+    if (element == null)
+      throw new NullPointerException();
+
+    checkNotClosed();
+
+    Descriptor currentDescriptor;
+    Descriptor operationDescriptor;
+
+    do {
+      currentDescriptor = descriptor.get();
+
+      // Try to complete previous write operation
+      completeWrite(currentDescriptor.writeOperation);
+
+      // The bucket of new element must be allocatable before the operation is published
+      bucketCapacity(getIndexOfBucket(currentDescriptor.size));
+
+      operationDescriptor = new Descriptor(currentDescriptor.size + 1, new RecordWriteOperation<T>(currentDescriptor.size,
+          element));
+
+    } while (!descriptor.compareAndSet(currentDescriptor, operationDescriptor));
+
+    // Complete current operation
+    completeWrite(operationDescriptor.writeOperation);
+
+    return true;
+  }
+
+  @Override
+  public T set(final int index, final T element) {
+    if (element == null)
+      throw new NullPointerException();
+
+    boundsValidation(index);
+
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int position = getIndexInBucket(indexOfBucket, index) * codec.size();
+
+    final MappedByteBuffer bucket = getBucket(indexOfBucket);
+    final T oldValue = codec.read(bucket, position);
+
+    codec.write(bucket, position, element);
+
+    return oldValue;
+  }
+
+  @Override
+  public T get(final int index) {
+    boundsValidation(index);
+
+    return getUnchecked(index);
+  }
+
+  private T getUnchecked(final int index) {
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+
+    return codec.read(getBucket(indexOfBucket), indexInBucket * codec.size());
+  }
+
+  /**
+   * Removes only the last value.
+   */
+  @Override
+  public T remove(final int index) {
+    checkNotClosed();
+
+    Descriptor currentDescriptor;
+    Descriptor operationDescriptor;
+    T currentElement;
+    int currentIndex;
+
+    do {
+      currentDescriptor = descriptor.get();
+
+      // Another thread can remove last element
+      if (currentDescriptor.size == 0)
+        throw new IndexOutOfBoundsException("Size: 0");
+
+      // Try to complete previous write operation
+      completeWrite(currentDescriptor.writeOperation);
+
+      currentIndex = currentDescriptor.size - 1;
+      currentElement = getUnchecked(currentIndex);
+
+      operationDescriptor = new Descriptor(currentDescriptor.size - 1, new RecordWriteOperation<T>(currentIndex - 1, null,
+          false));
+
+    } while (!descriptor.compareAndSet(currentDescriptor, operationDescriptor));
+
+    return currentElement;
+  }
+
+  private void boundsValidation(final int index) {
+    checkNotClosed();
+
+    if (index >= size())
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+  }
+
+  private void checkNotClosed() {
+    if (closed)
+      throw new IllegalStateException("List is closed");
+  }
+
+  @Override
+  public int size() {
+    final Descriptor currentDescriptor = descriptor.get();
+
+    // Pending elements start from indexOfElement
+    if (currentDescriptor.writeOperation.pending)
+      return currentDescriptor.writeOperation.indexOfElement;
+
+    return currentDescriptor.size;
+  }
+
+  /**
+   * @return count of bytes mapped for buckets
+   */
+  public long allocatedBytes() {
+    long result = 0;
+
+    for (int i = 0; i < ROOT_SIZE; i++) {
+      final MappedByteBuffer bucket = getBucket(i);
+
+      if (bucket != null)
+        result += bucket.capacity();
+    }
+
+    return result;
+  }
+
+  /**
+   * Writes elements and then the header to the disk.<br>
+   * The header keeps the size of completed operations read at the start, pending writes of other threads and
+   * operations completed during forcing aren't saved. Concurrent calls are done one by one, so the header written
+   * last always counts elements forced before it
+   */
+  public void force() {
+    synchronized (forceLock) {
+      checkNotClosed();
+
+      // Size is read first, buckets of counted elements were allocated before their operations were completed
+      final int size = size();
+
+      if (size > 0)
+        for (int i = 0; i <= getIndexOfBucket(size - 1); i++)
+          getBucket(i).force();
+
+      // Header is written after elements, so it never counts elements which aren't on the disk
+      header.putLong(SIZE_POSITION, size);
+      header.force();
+    }
+  }
+
+  /**
+   * Forces the list, unmaps all buckets and closes the file.<br>
+   * Calling of any method of closed list except <code>close</code> throws {@link IllegalStateException}. Closing
+   * mustn't race with other methods: buckets are unmapped, and access to unmapped memory crashes the JVM, so other
+   * threads have to stop using the list before it's closed
+   */
+  @Override
+  public void close() throws IOException {
+    synchronized (forceLock) {
+      if (closed)
+        return;
+
+      force();
+
+      closed = true;
+
+      for (int i = 0; i < ROOT_SIZE; i++) {
+        DirectBuffers.free(array[i]);
+        array[i] = null;
+      }
+
+      DirectBuffers.free(header);
+
+      channel.close();
+    }
+  }
+
+  private class Descriptor {
+    public final int                     size;
+    public final RecordWriteOperation<T> writeOperation;
+
+    public Descriptor(final int size, final RecordWriteOperation<T> writeOperation) {
+      this.size = size;
+      this.writeOperation = writeOperation;
+    }
+
+    @Override
+    public String toString() {
+      return "[Descriptor " + hashCode() + ", size: " + size + ", writeOperation: " + writeOperation + "]";
+    }
+  }
+
+}
@@ -0,0 +1,349 @@
+package com.extended.list;
+
+import java.io.Closeable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The infinity dynamically resizable array List which keeps data out of heap.<br>
+ * Every bucket is a direct {@link ByteBuffer}, elements are converted to the fixed count of bytes by {@link Codec}.<br>
+ * Remove is lock-free. Append is blocking: record of element is written by one thread, other threads wait for it while
+ * they complete the append, see {@link ClaimedWriteOperation}.<br>
+ * {@link #set(int, Object)} writes bytes of record in place, so it isn't atomic: a concurrent reader can build the
+ * element from bytes of the old and the new record. Every field which the codec writes by one absolute put is read
+ * whole.<br>
+ * The list can't contain <code>null</code><br>
+ * Memory of buckets is freed by {@link #close()}. The list mustn't be used by any thread during and after closing
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ * @param <T>
+ */
+public class OffHeapExtendedList<T> extends AbstractList<T> implements List<T>, Closeable {
+
+  /**
+   * The size of root array
+   */
+  private static final int                  ROOT_SIZE = Buckets.ROOT_SIZE;
+
+  private static final VarHandle            BUCKET    = MethodHandles.arrayElementVarHandle(ByteBuffer[].class);
+
+  /**
+   * The data array.
+   */
+  private final ByteBuffer[]                array;
+
+  /**
+   * Converts elements to bytes and back
+   */
+  private final Codec<T>                    codec;
+
+  /**
+   * Bit of bucket is set by the thread which allocates it, see {@link Buckets}
+   */
+  private final long[]                      bucketMarkers;
+
+  /**
+   * Represents current pointer of array
+   */
+  private final AtomicReference<Descriptor> descriptor;
+
+  private volatile boolean                  closed;
+
+  public OffHeapExtendedList(final Codec<T> codec) {
+    this.codec = codec;
+
+    array = new ByteBuffer[ROOT_SIZE];
+
+    bucketMarkers = Buckets.newMarkers(ROOT_SIZE);
+
+    descriptor = new AtomicReference<Descriptor>(null);
+  }
+
+  /**
+   * Calculates bucked id by formula: USED_BITS(elementIndex + 2) - 2
+   *
+   * @param index
+   *          an index of element
+   * @return counts of bits for the index of element
+   */
+  protected int getIndexOfBucket(final int index) {
+    return Buckets.indexOfBucket(index);
+  }
+
+  /**
+   * Calculates index in bucket for element
+   *
+   * @param indexOfBucket
+   *          id of bucket
+   * @param indexOfElement
+   *          index of element
+   * @return index in bucket for element
+   */
+  protected int getIndexInBucket(final int indexOfBucket, final int indexOfElement) {
+    return Buckets.indexInBucket(indexOfBucket, indexOfElement);
+  }
+
+  /**
+   * @return count of bytes of the bucket
+   * @throws IllegalStateException
+   *           if the bucket is larger than direct buffer can be
+   */
+  private int bucketCapacity(final int bucket) {
+    // Direct buffer can't be larger than Integer.MAX_VALUE bytes
+    final long capacity = (long) codec.size() << (bucket + 1);
+    if (capacity > Integer.MAX_VALUE)
+      throw new IllegalStateException("Bucket " + bucket + " needs " + capacity + " bytes");
+
+    return (int) capacity;
+  }
+
+  protected void allocateBucket(final int bucket) {
+    // If you could mark this bucket
+    if (Buckets.mark(bucketMarkers, bucket)) {
+      try {
+        // You can expand array, the buffer is published after it's created
+        BUCKET.setRelease(array, bucket, ByteBuffer.allocateDirect(bucketCapacity(bucket)));
+      } catch (final RuntimeException | Error e) {
+        // Let another thread try again
+        Buckets.unmark(bucketMarkers, bucket);
+        throw e;
+      }
+    }
+  }
+
+  private ByteBuffer getOrAllocateBucket(final int bucket) {
+    ByteBuffer result;
+
+    // Add new bucket if it's needed, other threads wait for the marked bucket
+    while ((result = (ByteBuffer) BUCKET.getAcquire(array, bucket)) == null) {
+      allocateBucket(bucket);
+      Thread.onSpinWait();
+    }
+
+    return result;
+  }
+
+  private ByteBuffer getBucket(final int bucket) {
+    return (ByteBuffer) BUCKET.getAcquire(array, bucket);
+  }
+
+  protected void completeWrite(final RecordWriteOperation<T> writeOperation) {
+    while (writeOperation.pending) {
+      // Bytes of record can't be written atomically, so only one thread writes them
+      if (!writeOperation.claim()) {
+        writeOperation.awaitWriter();
+        continue;
+      }
+
+      // Try to find a bucket to put element
+      final int bucket = getIndexOfBucket(writeOperation.indexOfElement);
+
+      final int indexInBucket = getIndexInBucket(bucket, writeOperation.indexOfElement);
+
+      try {
+        // Add element
+        codec.write(getOrAllocateBucket(bucket), indexInBucket * codec.size(), writeOperation.element);
+      } catch (final RuntimeException | Error e) {
+        // Let another thread try again
+        writeOperation.release();
+        throw e;
+      }
+
+      // Complete write
+      // Important point. Pending should be volatile for preventing reordering with previous line of code
+      writeOperation.pending = false;
+    }
+  }
+
+  @Override
+  public boolean add(final T element) {
+    if (element == null)
+      throw new NullPointerException();
+
+    checkNotClosed();
+
+    // Initialize the first operation
+    while (descriptor.get() == null)
+      descriptor.compareAndSet(null, new Descriptor(0, new RecordWriteOperation<T>(0, null, false)));
+
+    Descriptor currentDescriptor;
+    Descriptor operationDescriptor;
+
+    do {
+      currentDescriptor = descriptor.get();
+
+      // Try to complete previous write operation
+      completeWrite(currentDescriptor.writeOperation);
+
+      // The bucket of new element must be allocatable before the operation is published
+      bucketCapacity(getIndexOfBucket(currentDescriptor.size));
+
+      operationDescriptor = new Descriptor(currentDescriptor.size + 1, new RecordWriteOperation<T>(currentDescriptor.size,
+          element));
+
+    } while (!descriptor.compareAndSet(currentDescriptor, operationDescriptor));
+
+    // Complete current operation
+    completeWrite(operationDescriptor.writeOperation);
+
+    return true;
+  }
+
+  /**
+   * Replaces the record in place. The write isn't atomic for concurrent readers and setters of the same index, they can
+   * see fields of both records
+   */
+  @Override
+  public T set(final int index, final T element) {
+    if (element == null)
+      throw new NullPointerException();
+
+    boundsValidation(index);
+
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int position = getIndexInBucket(indexOfBucket, index) * codec.size();
+
+    final ByteBuffer bucket = getBucket(indexOfBucket);
+    final T oldValue = codec.read(bucket, position);
+
+    codec.write(bucket, position, element);
+
+    return oldValue;
+  }
+
+  @Override
+  public T get(final int index) {
+    boundsValidation(index);
+
+    return getUnchecked(index);
+  }
+
+  private T getUnchecked(final int index) {
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+
+    return codec.read(getBucket(indexOfBucket), indexInBucket * codec.size());
+  }
+
+  /**
+   * Removes only the last value.
+   */
+  @Override
+  public T remove(final int index) {
+    checkNotClosed();
+
+    // Can't remove element from empty list
+    if (descriptor.get() == null)
+      throw new IndexOutOfBoundsException("Size: 0");
+
+    Descriptor currentDescriptor;
+    Descriptor operationDescriptor;
+    T currentElement;
+    int currentIndex;
+
+    do {
+      currentDescriptor = descriptor.get();
+
+      // Another thread can remove last element
+      if (currentDescriptor.size == 0)
+        throw new IndexOutOfBoundsException("Size: 0");
+
+      // Try to complete previous write operation
+      completeWrite(currentDescriptor.writeOperation);
+
+      currentIndex = currentDescriptor.size - 1;
+      currentElement = getUnchecked(currentIndex);
+
+      operationDescriptor = new Descriptor(currentDescriptor.size - 1, new RecordWriteOperation<T>(currentIndex - 1, null,
+          false));
+
+    } while (!descriptor.compareAndSet(currentDescriptor, operationDescriptor));
+
+    return currentElement;
+  }
+
+  private void boundsValidation(final int index) {
+    checkNotClosed();
+
+    if (descriptor.get() == null)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: 0");
+
+    if (index >= size())
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+  }
+
+  private void checkNotClosed() {
+    if (closed)
+      throw new IllegalStateException("List is closed");
+  }
+
+  @Override
+  public int size() {
+    final Descriptor currentDescriptor = descriptor.get();
+
+    // Nothing was added yet
+    if (currentDescriptor == null)
+      return 0;
+
+    // Pending elements start from indexOfElement
+    if (currentDescriptor.writeOperation.pending)
+      return currentDescriptor.writeOperation.indexOfElement;
+
+    return currentDescriptor.size;
+  }
+
+  /**
+   * @return count of bytes allocated out of heap
+   */
+  public long allocatedBytes() {
+    long result = 0;
+
+    for (int i = 0; i < ROOT_SIZE; i++) {
+      final ByteBuffer bucket = getBucket(i);
+
+      if (bucket != null)
+        result += bucket.capacity();
+    }
+
+    return result;
+  }
+
+  /**
+   * Frees memory of all buckets.<br>
+   * Calling of any method of closed list except <code>close</code> throws {@link IllegalStateException}
+   */
+  @Override
+  public void close() {
+    if (closed)
+      return;
+
+    closed = true;
+
+    for (int i = 0; i < ROOT_SIZE; i++) {
+      DirectBuffers.free(array[i]);
+      array[i] = null;
+    }
+  }
+
+  private class Descriptor {
+    public final int                     size;
+    public final RecordWriteOperation<T> writeOperation;
+
+    public Descriptor(final int size, final RecordWriteOperation<T> writeOperation) {
+      this.size = size;
+      this.writeOperation = writeOperation;
+    }
+
+    @Override
+    public String toString() {
+      return "[Descriptor " + hashCode() + ", size: " + size + ", writeOperation: " + writeOperation + "]";
+    }
+  }
+
+}
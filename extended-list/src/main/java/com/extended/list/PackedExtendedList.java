@@ -0,0 +1,409 @@
+package com.extended.list;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The infinity Lock-free dynamically resizable array List which doesn't allocate descriptors for add and remove.<br>
+ * It's the same list as {@link ExtendedList}, but the descriptor is packed into one <code>long</code>:<br>
+ * <br>
+ * [size: 32 bits][pending: 1 bit][publication: 7 bits][version: 24 bits]<br>
+ * <br>
+ * The element of pending write is published in the publication slot leased by the writing thread for the time of
+ * <code>add</code>, so other threads can help to complete the write like {@link ExtendedList#completeWrite}.<br>
+ * The version protects the state from ABA, so a helper can check that the publication slot still keeps the element
+ * of the pending write. The cell is written through a claim of every attempt which is completed by the
+ * element only while the state is pending, so a late helper can't overwrite the cell which got its old value again.
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ * @param <T>
+ */
+public class PackedExtendedList<T> extends AbstractList<T> implements List<T> {
+
+  /**
+   * The size of root array
+   */
+  private static final int          ROOT_SIZE         = Buckets.ROOT_SIZE;
+
+  /**
+   * Count of publication slots. It's a limit of concurrent <code>add</code>, others wait for a free slot
+   */
+  private static final int          PUBLICATIONS      = 128;
+
+  /**
+   * Distance between publication slots in arrays, so slots of different threads are in different cache lines
+   */
+  private static final int          PADDING           = 16;
+
+  private static final int          SIZE_SHIFT        = 32;
+  private static final long         PENDING           = 1L << 31;
+  private static final int          PUBLICATION_SHIFT = 24;
+  private static final long         PUBLICATION_MASK  = PUBLICATIONS - 1;
+  private static final long         VERSION_MASK      = (1L << PUBLICATION_SHIFT) - 1;
+
+  private static final VarHandle    STATE;
+  private static final VarHandle    ELEMENT           = MethodHandles.arrayElementVarHandle(Object[].class);
+  private static final VarHandle    OWNER             = MethodHandles.arrayElementVarHandle(int[].class);
+
+  static {
+    try {
+      STATE = MethodHandles.lookup().findVarHandle(PackedExtendedList.class, "state", long.class);
+    } catch (final ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * The data array.
+   */
+  private final T[][]               array;
+
+  /**
+   * Bit of bucket is set by the thread which allocates it, see {@link Buckets}
+   */
+  private final long[]              bucketMarkers;
+
+  /**
+   * Elements of pending writes, one slot per writing thread
+   */
+  private final Object[]            publications;
+
+  /**
+   * Marks of leased publication slots
+   */
+  private final int[]               owners;
+
+  /**
+   * Packed descriptor: size, pending flag, publication slot of pending write and version
+   */
+  @SuppressWarnings("unused")
+  private volatile long             state;
+
+  @SuppressWarnings("unchecked")
+  public PackedExtendedList() {
+    array = (T[][]) new Object[ROOT_SIZE][];
+
+    bucketMarkers = Buckets.newMarkers(ROOT_SIZE);
+
+    publications = new Object[PUBLICATIONS * PADDING];
+    owners = new int[PUBLICATIONS * PADDING];
+  }
+
+  /**
+   * Calculates bucked id by formula: USED_BITS(elementIndex + 2) - 2
+   *
+   * @param index
+   *          an index of element
+   * @return counts of bits for the index of element
+   */
+  protected int getIndexOfBucket(final int index) {
+    return Buckets.indexOfBucket(index);
+  }
+
+  /**
+   * Calculates index in bucket for element
+   *
+   * @param indexOfBucket
+   *          id of bucket
+   * @param indexOfElement
+   *          index of element
+   * @return index in bucket for element
+   */
+  protected int getIndexInBucket(final int indexOfBucket, final int indexOfElement) {
+    return Buckets.indexInBucket(indexOfBucket, indexOfElement);
+  }
+
+  @SuppressWarnings("unchecked")
+  protected void allocateBucket(final int bucket) {
+    // If you could mark this bucket
+    if (Buckets.mark(bucketMarkers, bucket))
+      // You can expand array
+      array[bucket] = (T[]) new Object[Buckets.bucketSize(bucket)];
+  }
+
+  private static int size(final long state) {
+    return (int) (state >>> SIZE_SHIFT);
+  }
+
+  private static boolean isPending(final long state) {
+    return (state & PENDING) != 0;
+  }
+
+  private static int publication(final long state) {
+    return (int) ((state >>> PUBLICATION_SHIFT) & PUBLICATION_MASK);
+  }
+
+  private static long pack(final int size, final boolean pending, final int publication, final long previousState) {
+    final long version = (previousState + 1) & VERSION_MASK;
+
+    return ((long) size << SIZE_SHIFT) | (pending ? PENDING : 0) | ((long) publication << PUBLICATION_SHIFT) | version;
+  }
+
+  /**
+   * Completes pending write of the state. Any thread can do it
+   */
+  @SuppressWarnings("unchecked")
+  protected void completeWrite(final long pendingState) {
+    if (!isPending(pendingState))
+      return;
+
+    final int indexOfElement = size(pendingState) - 1;
+
+    // Try to find a bucket to put element
+    final int bucket = getIndexOfBucket(indexOfElement);
+
+    // Add new bucket if it's needed
+    while (array[bucket] == null)
+      allocateBucket(bucket);
+
+    final int indexInBucket = getIndexInBucket(bucket, indexOfElement);
+
+    final T element = (T) ELEMENT.getAcquire(publications, publication(pendingState) * PADDING);
+
+    // The writer has already completed this write and may reuse the publication for the next one
+    if (state != pendingState)
+      return;
+
+    // Add element. Late helper mustn't overwrite elements put to the cell after the write was completed
+    writeCell(pendingState, array[bucket], indexInBucket, element);
+
+    // Complete write
+    // Important point. Volatile CAS prevents reordering with previous line of code
+    STATE.compareAndSet(this, pendingState, pack(size(pendingState), false, 0, pendingState));
+  }
+
+  /**
+   * Puts the element of pending write to the cell through the claim of this attempt
+   */
+  private void writeCell(final long pendingState, final Object[] bucketArray, final int index, final Object element) {
+    while (state == pendingState) {
+      final Object value = ELEMENT.getVolatile(bucketArray, index);
+
+      // Another write can't start before the claim is completed
+      if (value instanceof PackedExtendedList<?>.WriteClaim) {
+        ((PackedExtendedList<?>.WriteClaim) value).complete(bucketArray, index);
+        continue;
+      }
+
+      // Another helper put the element already
+      if (value == element)
+        return;
+
+      final WriteClaim claim = new WriteClaim(pendingState, value, element);
+
+      if (ELEMENT.compareAndSet(bucketArray, index, value, claim)) {
+        claim.complete(bucketArray, index);
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return the value of the cell, the claim of pending write is completed first
+   */
+  private Object getCell(final Object[] bucketArray, final int index) {
+    Object value = ELEMENT.getAcquire(bucketArray, index);
+
+    while (value instanceof PackedExtendedList<?>.WriteClaim) {
+      ((PackedExtendedList<?>.WriteClaim) value).complete(bucketArray, index);
+      value = ELEMENT.getAcquire(bucketArray, index);
+    }
+
+    return value;
+  }
+
+  @Override
+  public boolean add(final T element) {
+    final int publication = leasePublication();
+
+    // Publish element for helpers
+    ELEMENT.setRelease(publications, publication * PADDING, element);
+
+    long currentState;
+    long operationState;
+
+    do {
+      currentState = state;
+
+      // Try to complete previous write operation
+      completeWrite(currentState);
+
+      operationState = pack(size(currentState) + 1, true, publication, currentState);
+
+    } while (isPending(currentState) || !STATE.compareAndSet(this, currentState, operationState));
+
+    // Complete current operation
+    completeWrite(operationState);
+
+    releasePublication(publication);
+
+    return true;
+  }
+
+  /**
+   * Leases a free publication slot. Threads start from different slots, so usually the first CAS succeeds
+   */
+  private int leasePublication() {
+    int publication = (int) (Thread.currentThread().getId() & PUBLICATION_MASK);
+
+    while (!OWNER.compareAndSet(owners, publication * PADDING, 0, 1)) {
+      publication = (publication + 1) & (int) PUBLICATION_MASK;
+
+      Thread.onSpinWait();
+    }
+
+    return publication;
+  }
+
+  private void releasePublication(final int publication) {
+    // Don't keep reference to the element
+    ELEMENT.setRelease(publications, publication * PADDING, null);
+
+    OWNER.setRelease(owners, publication * PADDING, 0);
+  }
+
+  /**
+   * Replaces the element atomically, so concurrent setters get different old values
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public T set(final int index, final T element) {
+    boundsValidation(index);
+
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+
+    final Object[] bucketArray = array[indexOfBucket];
+
+    while (true) {
+      // Claim of late helper is completed by the old value before it's replaced
+      final Object value = getCell(bucketArray, indexInBucket);
+
+      if (ELEMENT.compareAndSet(bucketArray, indexInBucket, value, element))
+        return (T) value;
+    }
+  }
+
+  @Override
+  public T get(final int index) {
+    boundsValidation(index);
+
+    return getUnchecked(index);
+  }
+
+  @SuppressWarnings("unchecked")
+  private T getUnchecked(final int index) {
+    final int indexOfBucket = getIndexOfBucket(index);
+    final int indexInBucket = getIndexInBucket(indexOfBucket, index);
+
+    return (T) getCell(array[indexOfBucket], indexInBucket);
+  }
+
+  /**
+   * Removes only the last value.
+   */
+  @Override
+  public T remove(final int index) {
+    long currentState;
+    T currentElement;
+    int currentSize;
+
+    do {
+      currentState = state;
+
+      // Try to complete previous write operation
+      if (isPending(currentState)) {
+        completeWrite(currentState);
+        continue;
+      }
+
+      currentSize = size(currentState);
+
+      // Another thread can remove last element
+      if (currentSize == 0)
+        throw new IndexOutOfBoundsException("Size: 0");
+
+      currentElement = getUnchecked(currentSize - 1);
+
+      if (STATE.compareAndSet(this, currentState, pack(currentSize - 1, false, 0, currentState)))
+        return currentElement;
+
+    } while (true);
+  }
+
+  private void boundsValidation(final int index) {
+    final int size = size();
+
+    if (index >= size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+  }
+
+  @Override
+  public int size() {
+    final long currentState = state;
+
+    // Pending element isn't counted
+    if (isPending(currentState))
+      return size(currentState) - 1;
+
+    return size(currentState);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < ROOT_SIZE; i++) {
+      if (array[i] == null)
+        continue;
+
+      final Object[] values = new Object[array[i].length];
+      for (int j = 0; j < values.length; j++)
+        values[j] = getCell(array[i], j);
+
+      sb.append(Arrays.asList(values));
+      sb.append("\n");
+    }
+
+    if (sb.length() > 0)
+      sb.deleteCharAt(sb.length() - 1);
+
+    return sb.toString();
+  }
+
+  /**
+   * Placeholder of the cell which is put by an attempt to complete the pending write. It's completed by the element if
+   * the state is still pending when the claim is decided or by the replaced value otherwise. Every attempt puts its own
+   * claim, so stale CAS of a completed claim fails
+   */
+  private final class WriteClaim {
+    private final long   pendingState;
+    private final Object expected;
+    private final Object element;
+
+    WriteClaim(final long pendingState, final Object expected, final Object element) {
+      this.pendingState = pendingState;
+      this.expected = expected;
+      this.element = element;
+    }
+
+    /**
+     * Replaces the claim by the element or by the replaced value
+     */
+    void complete(final Object[] bucketArray, final int index) {
+      // State can't be completed before the claim is replaced by the element, so pending state means applied claim
+      ELEMENT.compareAndSet(bucketArray, index, this, state == pendingState ? element : expected);
+    }
+
+    @Override
+    public String toString() {
+      return "[WriteClaim " + hashCode() + ", expected: " + expected + ", element: " + element + ", pendingState: "
+          + pendingState + "]";
+    }
+  }
+
+}
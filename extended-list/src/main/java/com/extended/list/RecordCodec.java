@@ -0,0 +1,81 @@
+package com.extended.list;
+
+/**
+ * Splits an element to the fixed count of primitive fields and builds it back.<br>
+ * {@link ExtendedRecordList} keeps every field in its own column, so fields are numbered from 0 separately for
+ * <code>int</code>, <code>long</code> and <code>double</code> fields.<br>
+ * Codec declares kinds of fields of element by implementing {@link Ints}, {@link Longs} and {@link Doubles}, the list
+ * keeps no columns of other kinds
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ * @param <T>
+ */
+public interface RecordCodec<T> {
+
+  /**
+   * Builds the element from fields. Fields are valid only during the call
+   */
+  T read(Fields fields);
+
+  /**
+   * Codec of element which has <code>int</code> fields
+   */
+  interface Ints<T> extends RecordCodec<T> {
+
+    /**
+     * @return count of <code>int</code> fields of element
+     */
+    int intFields();
+
+    /**
+     * @return <code>int</code> field of the element
+     */
+    int getInt(T element, int field);
+  }
+
+  /**
+   * Codec of element which has <code>long</code> fields
+   */
+  interface Longs<T> extends RecordCodec<T> {
+
+    /**
+     * @return count of <code>long</code> fields of element
+     */
+    int longFields();
+
+    /**
+     * @return <code>long</code> field of the element
+     */
+    long getLong(T element, int field);
+  }
+
+  /**
+   * Codec of element which has <code>double</code> fields
+   */
+  interface Doubles<T> extends RecordCodec<T> {
+
+    /**
+     * @return count of <code>double</code> fields of element
+     */
+    int doubleFields();
+
+    /**
+     * @return <code>double</code> field of the element
+     */
+    double getDouble(T element, int field);
+  }
+
+  /**
+   * Fields of one element kept by the list
+   */
+  interface Fields {
+
+    int getInt(int field);
+
+    long getLong(int field);
+
+    double getDouble(int field);
+  }
+}
@@ -0,0 +1,37 @@
+package com.extended.list;
+
+/**
+ * Write operation of the element which can't be written by one atomic store: bytes of off-heap record or fields of
+ * record. It's completed by one thread like every {@link ClaimedWriteOperation}
+ *
+ * @author Roman Kostenko, romankoste@gmail.com
+ *
+ * @version 1.0
+ * @param <T>
+ */
+class RecordWriteOperation<T> extends ClaimedWriteOperation {
+
+  public final T element;
+
+  /**
+   * Creates write operation for index and element<br>
+   * This operation is pending by default
+   */
+  RecordWriteOperation(final int indexOfElement, final T element) {
+    this(indexOfElement, element, true);
+  }
+
+  /**
+   * Creates finished write operation for index and element
+   */
+  RecordWriteOperation(final int indexOfElement, final T element, final boolean pending) {
+    super(indexOfElement, pending);
+    this.element = element;
+  }
+
+  @Override
+  public String toString() {
+    return "[RecordWriteOperation " + hashCode() + ", indexOfElement: " + indexOfElement + ", element: " + element
+        + ", pending: " + pending + "]";
+  }
+}
@@ -0,0 +1,143 @@
+package com.extended.list;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class BucketGeometryUnitTest {
+
+  @DataProvider
+  public Object[][] geometries() {
+    return new Object[][] { { BucketGeometry.DEFAULT }, { BucketGeometry.doubling(1) }, { BucketGeometry.doubling(64) },
+        { BucketGeometry.of(2, 2) }, { BucketGeometry.of(1, 4) }, { BucketGeometry.of(16, 64) },
+        { BucketGeometry.chunked(2, BucketGeometry.MIN_CHUNK_SIZE) }, { BucketGeometry.chunked(8, 1 << 20) } };
+  }
+
+  @Test(dataProvider = "geometries")
+  public void testBucketsFollowEachOther(final BucketGeometry geometry) {
+    long firstIndex = 0;
+
+    for (int bucket = 0; bucket < geometry.bucketCount(); bucket++) {
+      final int bucketSize = geometry.bucketSize(bucket);
+      final long lastIndex = Math.min(firstIndex + bucketSize - 1, Integer.MAX_VALUE - 1);
+
+      Assert.assertEquals(geometry.firstIndexOfBucket(bucket), firstIndex);
+
+      // The first, middle and last elements of the bucket
+      for (final long index : new long[] { firstIndex, (firstIndex + lastIndex) / 2, lastIndex }) {
+        Assert.assertEquals(geometry.indexOfBucket((int) index), bucket, "Index: " + index);
+        Assert.assertEquals(geometry.indexInBucket(bucket, (int) index), index - firstIndex, "Index: " + index);
+      }
+
+      firstIndex += bucketSize;
+    }
+
+    // Only the last doubling doesn't fit to Java array
+    Assert.assertTrue(firstIndex >= (1L << 31) - geometry.bucketSize(0), geometry.toString());
+  }
+
+  @Test(dataProvider = "geometries")
+  public void testEveryIndexOfSmallList(final BucketGeometry geometry) {
+    int bucket = 0;
+    int indexInBucket = 0;
+
+    for (int index = 0; index < 1 << 18; index++) {
+      if (indexInBucket == geometry.bucketSize(bucket)) {
+        bucket++;
+        indexInBucket = 0;
+      }
+
+      Assert.assertEquals(geometry.indexOfBucket(index), bucket);
+      Assert.assertEquals(geometry.indexInBucket(bucket, index), indexInBucket);
+
+      indexInBucket++;
+    }
+  }
+
+  @Test
+  public void testDefaultGeometry() {
+    final BucketGeometry geometry = BucketGeometry.DEFAULT;
+
+    for (int bucket = 0; bucket < geometry.bucketCount(); bucket++) {
+      Assert.assertEquals(geometry.bucketSize(bucket), 2 << bucket);
+      Assert.assertEquals(geometry.firstIndexOfBucket(bucket), (2L << bucket) - 2);
+    }
+
+    Assert.assertEquals(geometry.growthFactor(), 2.0);
+  }
+
+  @Test
+  public void testGrowthFactor() {
+    Assert.assertEquals(BucketGeometry.growing(2, 2).growthFactor(), 2.0);
+    Assert.assertEquals(BucketGeometry.growing(2, 1.5).growthFactor(), Math.sqrt(2), 1e-9);
+    Assert.assertEquals(BucketGeometry.growing(2, 1.2).growthFactor(), Math.pow(2, 0.25), 1e-9);
+
+    // Buckets of the same size follow each other
+    final BucketGeometry geometry = BucketGeometry.growing(2, 1.5);
+    Assert.assertEquals(geometry.bucketSize(0), 2);
+    Assert.assertEquals(geometry.bucketSize(1), 2);
+    Assert.assertEquals(geometry.bucketSize(2), 4);
+    Assert.assertEquals(geometry.bucketSize(3), 4);
+  }
+
+  @Test
+  public void testChunks() {
+    final BucketGeometry geometry = BucketGeometry.chunked(2, 1 << 20);
+
+    Assert.assertEquals(geometry.bucketSize(18), 1 << 19);
+    Assert.assertEquals(geometry.bucketSize(19), 1 << 20);
+    Assert.assertEquals(geometry.bucketSize(geometry.bucketCount() - 1), 1 << 20);
+
+    // Doubled buckets are followed by 2^11 chunks
+    Assert.assertEquals(geometry.bucketCount(), 19 + (1 << 11));
+  }
+
+  @Test
+  public void testBucketsOfDefaultGeometry() {
+    final BucketGeometry geometry = BucketGeometry.DEFAULT;
+
+    Assert.assertEquals(Buckets.ROOT_SIZE, geometry.bucketCount());
+
+    for (int bucket = 0; bucket < Buckets.ROOT_SIZE; bucket++) {
+      final int firstIndex = (int) geometry.firstIndexOfBucket(bucket);
+      final int lastIndex = (int) Math.min(firstIndex + geometry.bucketSize(bucket) - 1L, Integer.MAX_VALUE - 1);
+
+      Assert.assertEquals(Buckets.bucketSize(bucket), geometry.bucketSize(bucket));
+
+      for (final int index : new int[] { firstIndex, lastIndex }) {
+        Assert.assertEquals(Buckets.indexOfBucket(index), bucket, "Index: " + index);
+        Assert.assertEquals(Buckets.indexInBucket(bucket, index), geometry.indexInBucket(bucket, index), "Index: "
+            + index);
+      }
+    }
+
+    // Long indexes continue the geometry
+    Assert.assertEquals(Buckets.indexOfBucket(1L << 40), 39);
+    Assert.assertEquals(Buckets.indexInBucket(39, 1L << 40), 2);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testFirstBucketSizeIsNotPowerOfTwo() {
+    BucketGeometry.doubling(3);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testTooManyBucketsPerDoubling() {
+    BucketGeometry.of(2, 128);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testIllegalGrowthFactor() {
+    BucketGeometry.growing(2, 1);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testTooSmallChunk() {
+    BucketGeometry.chunked(2, BucketGeometry.MIN_CHUNK_SIZE / 2);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testChunkSmallerThanFirstBucket() {
+    BucketGeometry.chunked(1 << 20, 1 << 19);
+  }
+}
@@ -0,0 +1,92 @@
+package com.extended.list;
+
+import java.util.Arrays;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ChunkedAppenderUnitTest {
+
+  @Test
+  public void testAddByChunks() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    final ChunkedAppender<Integer> appender = list.appender(4);
+
+    // Elements of partially filled chunk aren't visible
+    for (int i = 0; i < 3; i++)
+      appender.add(i);
+
+    Assert.assertEquals(list.size(), 0);
+    Assert.assertEquals(appender.pending(), 3);
+
+    // The full chunk is appended by one CAS
+    appender.add(3);
+
+    Assert.assertEquals(list.size(), 4);
+    Assert.assertEquals(appender.pending(), 0);
+
+    for (int i = 4; i < 10; i++)
+      appender.add(i);
+
+    Assert.assertEquals(list.size(), 8);
+
+    for (int i = 0; i < 8; i++)
+      Assert.assertEquals(list.get(i), Integer.valueOf(i));
+  }
+
+  @Test
+  public void testFlush() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    final ChunkedAppender<Integer> appender = list.appender(1024);
+
+    appender.flush();
+    Assert.assertEquals(list.size(), 0);
+
+    for (int i = 0; i < 10; i++)
+      appender.add(i);
+
+    appender.flush();
+
+    Assert.assertEquals(list.size(), 10);
+    Assert.assertEquals(appender.pending(), 0);
+
+    // Chunk is reused after flush, but appended elements aren't changed
+    appender.add(10);
+    appender.flush();
+
+    Assert.assertEquals(list.size(), 11);
+
+    for (int i = 0; i < 11; i++)
+      Assert.assertEquals(list.get(i), Integer.valueOf(i));
+  }
+
+  @Test
+  public void testAppendersKeepChunksInRow() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    final ChunkedAppender<Integer> first = list.appender(3);
+    final ChunkedAppender<Integer> second = list.appender(3);
+
+    first.add(0);
+    second.add(10);
+    second.add(11);
+    first.add(1);
+    second.add(12);
+    first.add(2);
+
+    // Chunks are ordered by the moment they are full
+    Assert.assertEquals(list, Arrays.asList(10, 11, 12, 0, 1, 2));
+  }
+
+  @Test
+  public void testDefaultChunkSize() {
+    final ChunkedAppender<Integer> appender = new ExtendedList<Integer>().appender();
+
+    Assert.assertEquals(appender.chunkSize(), ChunkedAppender.DEFAULT_CHUNK_SIZE);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testIllegalChunkSize() {
+    new ExtendedList<Integer>().appender(0);
+  }
+
+}
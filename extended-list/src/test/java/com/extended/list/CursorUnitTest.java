@@ -0,0 +1,106 @@
+package com.extended.list;
+
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class CursorUnitTest {
+
+  @Test
+  public void testPoll() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    final Cursor<Integer> cursor = list.cursor();
+    final Integer[] batch = new Integer[4];
+
+    Assert.assertEquals(cursor.poll(batch), 0);
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    Assert.assertEquals(cursor.available(), 10);
+
+    // Batches cross borders of buckets
+    Assert.assertEquals(cursor.poll(batch), 4);
+    Assert.assertEquals(batch, new Integer[] { 0, 1, 2, 3 });
+    Assert.assertEquals(cursor.poll(batch), 4);
+    Assert.assertEquals(batch, new Integer[] { 4, 5, 6, 7 });
+    Assert.assertEquals(cursor.poll(batch, 1, 3), 2);
+    Assert.assertEquals(batch, new Integer[] { 4, 8, 9, 7 });
+
+    Assert.assertEquals(cursor.poll(batch), 0);
+    Assert.assertEquals(cursor.position(), 10);
+    Assert.assertEquals(cursor.available(), 0);
+  }
+
+  @Test
+  public void testCursorAtPosition() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    // Cursor at the size reads only new elements
+    final Cursor<Integer> cursor = list.cursor(list.size());
+    final Integer[] batch = new Integer[4];
+
+    Assert.assertEquals(cursor.poll(batch), 0);
+
+    list.add(10);
+    Assert.assertEquals(cursor.poll(batch), 1);
+    Assert.assertEquals(batch[0], Integer.valueOf(10));
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testCursorAtNegativePosition() {
+    new ExtendedList<Integer>().cursor(-1);
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testPollOutOfBounds() {
+    new ExtendedList<Integer>().cursor().poll(new Integer[4], 2, 3);
+  }
+
+  @Test
+  public void testAwaitNextTimeout() throws InterruptedException {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    final Cursor<Integer> cursor = list.cursor();
+
+    final long start = System.nanoTime();
+
+    Assert.assertEquals(cursor.awaitNext(new Integer[4], 50, TimeUnit.MILLISECONDS), 0);
+    Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+  }
+
+  @Test
+  public void testAwaitNext() throws InterruptedException {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    final Cursor<Integer> cursor = list.cursor();
+    final Integer[] batch = new Integer[4];
+
+    final Thread producer = new Thread(() -> {
+      try {
+        Thread.sleep(50);
+      } catch (final InterruptedException e) {
+        return;
+      }
+
+      list.add(0);
+    });
+    producer.start();
+
+    // Reader is unparked by add
+    Assert.assertEquals(cursor.awaitNext(batch), 1);
+    Assert.assertEquals(batch[0], Integer.valueOf(0));
+
+    producer.join();
+  }
+
+  @Test(expectedExceptions = InterruptedException.class)
+  public void testAwaitNextInterrupted() throws InterruptedException {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    Thread.currentThread().interrupt();
+    list.cursor().awaitNext(new Integer[4]);
+  }
+}
@@ -0,0 +1,74 @@
+package com.extended.list;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ExtendedDoubleListUnitTest {
+
+  @Test
+  public void testAddGetSetRemove() {
+    final ExtendedDoubleList list = new ExtendedDoubleList();
+
+    for (int i = 0; i < 30; i++)
+      list.addDouble(i / 2.0);
+
+    Assert.assertEquals(list.size(), 30);
+    Assert.assertEquals(list.getDouble(0), 0.0);
+    Assert.assertEquals(list.getDouble(29), 14.5);
+
+    Assert.assertEquals(list.setDouble(15, Double.NaN), 7.5);
+    Assert.assertTrue(Double.isNaN(list.getDouble(15)));
+
+    // Remove last element, index doesn't influence
+    Assert.assertEquals(list.removeDouble(0), 14.5);
+    Assert.assertEquals(list.size(), 29);
+  }
+
+  @Test
+  public void testBoxedList() {
+    final List<Double> list = new ExtendedDoubleList();
+
+    list.add(1.5);
+    list.add(2.5);
+
+    Assert.assertEquals(list.get(1), Double.valueOf(2.5));
+    Assert.assertEquals(list.remove(0), Double.valueOf(2.5));
+    Assert.assertEquals(list.size(), 1);
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testGetIndexOutOfBounds() {
+    final ExtendedDoubleList list = new ExtendedDoubleList();
+    list.getDouble(0);
+  }
+
+  @Test
+  public void testWriteToReadFrom() throws IOException {
+    final ExtendedDoubleList list = new ExtendedDoubleList();
+
+    // Elements don't fit to one buffer
+    for (int i = 0; i < 300000; i++)
+      list.addDouble(i / 2.0);
+
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    list.writeTo(Channels.newChannel(output));
+
+    final ExtendedDoubleList restored = ExtendedDoubleList.readFrom(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())));
+
+    Assert.assertEquals(restored.size(), 300000);
+    for (int i = 0; i < 300000; i++)
+      Assert.assertEquals(restored.getDouble(i), i / 2.0);
+
+    // Primitive checkpoint has the same format as checkpoint written by codec
+    final ExtendedList<Double> boxed = ExtendedList.readFrom(Channels.newChannel(new ByteArrayInputStream(output
+        .toByteArray())), Codecs.DOUBLE);
+
+    Assert.assertEquals(boxed, list);
+  }
+}
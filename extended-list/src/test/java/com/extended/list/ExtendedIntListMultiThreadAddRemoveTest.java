@@ -0,0 +1,63 @@
+package com.extended.list;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.testng.collections.Lists;
+
+public class ExtendedIntListMultiThreadAddRemoveTest {
+
+  private ExtendedIntList list;
+  private CountDownLatch  countDownLatch;
+
+  private class Adder implements Runnable {
+    @Override
+    public void run() {
+      // Zero is never added, so it means lost write
+      for (int i = 1; i <= 1000000; i++)
+        list.addInt(i);
+
+      countDownLatch.countDown();
+    }
+  }
+
+  private class Remover implements Runnable {
+    @Override
+    public void run() {
+      for (int i = 0; i < 1000000; i++)
+        try {
+          // Check removed value. We put not-zero and remove not-zero
+          Assert.assertNotEquals(list.removeInt(0), 0);
+        } catch (final IndexOutOfBoundsException e) {
+          // In case exception try to remove one more time
+          i--;
+        }
+      countDownLatch.countDown();
+    }
+  }
+
+  @BeforeClass
+  public void setUp() {
+    list = new ExtendedIntList();
+    countDownLatch = new CountDownLatch(8);
+  }
+
+  @Test
+  public void test6Add2Remove() throws InterruptedException {
+    final List<Runnable> workers = Lists.newArrayList(new Adder(), new Remover(), new Adder(), new Adder(), new Adder(),
+        new Remover(), new Adder(), new Adder());
+
+    for (final Runnable worker : workers)
+      (new Thread(worker)).start();
+
+    // Wait finishing a work
+    countDownLatch.await();
+
+    Assert.assertEquals(list.size(), 4000000);
+    for (int i = 0; i < list.size(); i++)
+      Assert.assertNotEquals(list.getInt(i), 0);
+  }
+}
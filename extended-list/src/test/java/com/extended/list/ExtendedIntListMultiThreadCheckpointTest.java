@@ -0,0 +1,69 @@
+package com.extended.list;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ExtendedIntListMultiThreadCheckpointTest {
+
+  private static final int SIZE    = 1 << 21;
+  private static final int THREADS = 4;
+
+  private ExtendedIntList  list;
+  private AtomicInteger    threads;
+
+  @BeforeClass
+  public void givenSetWriteTo() {
+    list = new ExtendedIntList();
+    threads = new AtomicInteger();
+
+    for (int i = 0; i < SIZE; i++)
+      list.addInt(0);
+  }
+
+  @Test(invocationCount = THREADS, threadPoolSize = THREADS)
+  public void whenSetWriteTo() throws IOException {
+    final int thread = threads.getAndIncrement();
+
+    for (int i = 1; i <= 200; i++) {
+      // The first bucket is changed before the last one, so the first cell is never less than the last one
+      list.setInt(thread, i);
+      list.setInt(SIZE - 1 - thread, i);
+
+      if (i % 20 == 0) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        list.writeTo(Channels.newChannel(output));
+
+        final ExtendedIntList restored = ExtendedIntList.readFrom(Channels.newChannel(new ByteArrayInputStream(output
+            .toByteArray())));
+
+        Assert.assertEquals(restored.size(), SIZE);
+
+        for (int t = 0; t < THREADS; t++)
+          Assert.assertTrue(restored.getInt(t) >= restored.getInt(SIZE - 1 - t), "Checkpoint isn't consistent");
+      }
+    }
+  }
+
+  @AfterClass
+  public void thenSetWriteTo() {
+    try {
+      for (int t = 0; t < THREADS; t++) {
+        Assert.assertEquals(list.getInt(t), 200);
+        Assert.assertEquals(list.getInt(SIZE - 1 - t), 200);
+      }
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+      threads = null;
+    }
+  }
+
+}
@@ -0,0 +1,140 @@
+package com.extended.list;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ExtendedIntListUnitTest {
+
+  @Test
+  public void testAddGetSize() {
+    final ExtendedIntList list = new ExtendedIntList();
+
+    for (int i = 0; i < 30; i++)
+      list.addInt(i);
+
+    Assert.assertEquals(list.size(), 30);
+    Assert.assertEquals(list.getInt(0), 0);
+    Assert.assertEquals(list.getInt(1), 1);
+    Assert.assertEquals(list.getInt(2), 2);
+    Assert.assertEquals(list.getInt(15), 15);
+    Assert.assertEquals(list.getInt(29), 29);
+
+    System.out.println(list);
+  }
+
+  @Test
+  public void testEmptyList() {
+    final ExtendedIntList list = new ExtendedIntList();
+
+    Assert.assertEquals(list.size(), 0);
+    Assert.assertTrue(list.isEmpty());
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testGetIndexOutOfBounds() {
+    final ExtendedIntList list = new ExtendedIntList();
+
+    for (int i = 0; i < 30; i++)
+      list.addInt(i);
+
+    list.getInt(30);
+  }
+
+  @Test
+  public void testSet() {
+    final ExtendedIntList list = new ExtendedIntList();
+
+    for (int i = 0; i < 30; i++)
+      list.addInt(i);
+
+    Assert.assertEquals(list.setInt(15, 100), 15);
+
+    Assert.assertEquals(list.size(), 30);
+    Assert.assertEquals(list.getInt(15), 100);
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testSetToEmptyList() {
+    final ExtendedIntList list = new ExtendedIntList();
+    list.setInt(0, 0);
+  }
+
+  @Test
+  public void testRemove() {
+    final ExtendedIntList list = new ExtendedIntList();
+    list.addInt(0);
+    list.addInt(1);
+    list.addInt(2);
+
+    // Remove last element, index doesn't influence
+    Assert.assertEquals(list.removeInt(0), 2);
+    Assert.assertEquals(list.size(), 2);
+    Assert.assertEquals(list.getInt(1), 1);
+
+    Assert.assertEquals(list.removeInt(0), 1);
+    Assert.assertEquals(list.removeInt(0), 0);
+    Assert.assertEquals(list.size(), 0);
+
+    list.addInt(5);
+    Assert.assertEquals(list.size(), 1);
+    Assert.assertEquals(list.getInt(0), 5);
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testRemoveWhenSizeZerro() {
+    final ExtendedIntList list = new ExtendedIntList();
+    list.addInt(0);
+    list.removeInt(0);
+    list.removeInt(0);
+  }
+
+  @Test
+  public void testBoxedList() {
+    final List<Integer> list = new ExtendedIntList();
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    Assert.assertEquals(list.get(9), Integer.valueOf(9));
+    Assert.assertEquals(list.set(9, 100), Integer.valueOf(9));
+    Assert.assertEquals(list.remove(0), Integer.valueOf(100));
+    Assert.assertEquals(list.size(), 9);
+    Assert.assertTrue(list.contains(8));
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void testAddNull() {
+    final List<Integer> list = new ExtendedIntList();
+    list.add(null);
+  }
+
+  @Test
+  public void testWriteToReadFrom() throws IOException {
+    final ExtendedIntList list = new ExtendedIntList();
+
+    // Elements don't fit to one buffer
+    for (int i = 0; i < 300000; i++)
+      list.addInt(i);
+
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    list.writeTo(Channels.newChannel(output));
+
+    final ExtendedIntList restored = ExtendedIntList.readFrom(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())));
+
+    Assert.assertEquals(restored.size(), 300000);
+    for (int i = 0; i < 300000; i++)
+      Assert.assertEquals(restored.getInt(i), i);
+
+    // Primitive checkpoint has the same format as checkpoint written by codec
+    final ExtendedList<Integer> boxed = ExtendedList.readFrom(Channels.newChannel(new ByteArrayInputStream(output
+        .toByteArray())), Codecs.INT);
+
+    Assert.assertEquals(boxed, list);
+  }
+}
@@ -0,0 +1,112 @@
+package com.extended.list;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.Channels;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+/**
+ * Measures bytes allocated for lists by {@link com.sun.management.ThreadMXBean}. Everything allocated for the list is
+ * kept by it, so allocated bytes are the footprint of the list. Counters of metrics aren't counted
+ */
+public class ExtendedListFootprintTest {
+
+  private static final int       COUNT    = 10000;
+
+  private static final Integer[] ELEMENTS = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+
+  @Test
+  public void testEmptyList() {
+    final ExtendedList<?>[] lists = new ExtendedList<?>[COUNT];
+
+    final long bytes = bytesPerList(() -> {
+      for (int i = 0; i < COUNT; i++)
+        lists[i] = new ExtendedList<Integer>();
+    });
+
+    System.out.println("Empty list: " + bytes + " bytes");
+
+    // Only the object with fields
+    Assert.assertTrue(bytes <= 80, "Empty list: " + bytes + " bytes");
+  }
+
+  @Test
+  public void testListOfTenElements() {
+    final ExtendedList<?>[] lists = new ExtendedList<?>[COUNT];
+
+    final long bytes = bytesPerList(() -> {
+      for (int i = 0; i < COUNT; i++) {
+        final ExtendedList<Integer> list = new ExtendedList<Integer>();
+        list.addAll(ELEMENTS, 0, ELEMENTS.length);
+        lists[i] = list;
+      }
+    });
+
+    System.out.println("List of 10 elements: " + bytes + " bytes");
+
+    // Root array of 30 buckets is 136 bytes, 3 buckets for 14 elements, markers, the descriptor and the last operation
+    Assert.assertTrue(bytes <= 560, "List of 10 elements: " + bytes + " bytes");
+  }
+
+  @Test
+  public void testSetAfterCheckpoint() throws IOException {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 100000; i++)
+      list.add(i);
+
+    // Classes used by set are loaded before counting
+    list.set(99999, 0);
+
+    list.writeTo(Channels.newChannel(new ByteArrayOutputStream()), Codecs.INT);
+
+    final com.sun.management.ThreadMXBean threadMXBean = threadMXBean();
+    final long threadId = Thread.currentThread().getId();
+
+    final long bytes = allocatedBytes(threadMXBean, threadId, () -> list.set(99999, 1));
+
+    System.out.println("Set after checkpoint: " + bytes + " bytes");
+
+    // Only the claim of set, the checkpoint released the last bucket
+    Assert.assertTrue(bytes <= 100, "Set after checkpoint: " + bytes + " bytes");
+
+    final List<Integer> snapshot = list.snapshot();
+    final long snapshotBytes = allocatedBytes(threadMXBean, threadId, () -> list.set(99999, 2));
+
+    // The bucket is copied for the snapshot which is still readable
+    Assert.assertTrue(snapshotBytes > 1000, "Set after snapshot: " + snapshotBytes + " bytes");
+    Assert.assertEquals(snapshot.get(99999), Integer.valueOf(1));
+  }
+
+  private static com.sun.management.ThreadMXBean threadMXBean() {
+    if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean))
+      throw new SkipException("Allocated bytes are counted only by HotSpot");
+
+    return (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+  }
+
+  private static long bytesPerList(final Runnable createLists) {
+    final com.sun.management.ThreadMXBean threadMXBean = threadMXBean();
+    final long threadId = Thread.currentThread().getId();
+
+    final long metricsBytes = ExtendedListMetrics.ENABLED ? allocatedBytes(threadMXBean, threadId, () -> {
+      final ExtendedListMetrics[] metrics = new ExtendedListMetrics[COUNT];
+      for (int i = 0; i < COUNT; i++)
+        metrics[i] = new ExtendedListMetrics();
+    }) : 0;
+
+    return (allocatedBytes(threadMXBean, threadId, createLists) - metricsBytes) / COUNT;
+  }
+
+  private static long allocatedBytes(final com.sun.management.ThreadMXBean threadMXBean, final long threadId,
+      final Runnable action) {
+    final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+    action.run();
+    return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+  }
+}
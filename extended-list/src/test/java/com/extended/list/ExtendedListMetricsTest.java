@@ -0,0 +1,97 @@
+package com.extended.list;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ExtendedListMetricsTest {
+
+  @Test
+  public void testMetricsAreEnabled() {
+    // Surefire enables metrics by system property
+    Assert.assertTrue(ExtendedListMetrics.ENABLED);
+    Assert.assertNotNull(new ExtendedList<Integer>().metrics());
+  }
+
+  @Test
+  public void testSingleThreadStats() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 30; i++)
+      list.add(i);
+
+    list.remove(0);
+
+    final ExtendedListStats stats = list.stats();
+
+    // Nobody competes with the only thread
+    Assert.assertEquals(stats.getDescriptorCasAttempts(), 31);
+    Assert.assertEquals(stats.getDescriptorCasFailures(), 0);
+    Assert.assertEquals(stats.getHelpedWrites(), 0);
+    Assert.assertEquals(stats.getBucketSpins(), 0);
+
+    // Buckets for 2 + 4 + 8 + 16 elements
+    Assert.assertEquals(stats.getBucketAllocations(), 4);
+    Assert.assertEquals(stats.getAllocatedSlots(), 30);
+  }
+
+  @Test
+  public void testReset() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    list.add(0);
+    list.metrics().reset();
+
+    final ExtendedListStats stats = list.stats();
+    Assert.assertEquals(stats.getDescriptorCasAttempts(), 0);
+    Assert.assertEquals(stats.getBucketAllocations(), 1);
+  }
+
+  @Test
+  public void testMultiThreadStats() throws InterruptedException {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    final Thread[] threads = new Thread[8];
+
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(() -> {
+        for (int j = 0; j < 100000; j++)
+          list.add(j);
+      });
+      threads[i].start();
+    }
+
+    for (final Thread thread : threads)
+      thread.join();
+
+    final ExtendedListStats stats = list.stats();
+
+    // Every add has exactly one succeeded CAS
+    Assert.assertEquals(stats.getDescriptorCasAttempts() - stats.getDescriptorCasFailures(), 800000);
+    Assert.assertTrue(stats.getAllocatedSlots() >= 800000);
+
+    System.out.println(stats);
+  }
+
+  @Test
+  public void testJmx() throws JMException {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    final ObjectName objectName = list.metrics().register("testJmx");
+
+    try {
+      Assert.assertEquals(ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "DescriptorCasAttempts"), 10L);
+      Assert.assertEquals(ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "BucketAllocations"), 3L);
+    } finally {
+      list.metrics().unregister(objectName);
+    }
+
+    Assert.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+  }
+}
@@ -0,0 +1,55 @@
+package com.extended.list;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ExtendedListMultiThreadAddAllTest {
+
+  private static final int BATCH_SIZE = 100;
+
+  private ExtendedList<A>  list;
+
+  @BeforeClass
+  public void givenAddAll() {
+    list = new ExtendedList<A>();
+  }
+
+  @Test(invocationCount = 8, threadPoolSize = 8)
+  public void whenAddAll() {
+    final List<A> batch = new ArrayList<A>(BATCH_SIZE);
+
+    for (int i = 0; i < 1000000; i++) {
+      batch.add(new A(i));
+
+      if (batch.size() == BATCH_SIZE) {
+        list.addAll(batch);
+        batch.clear();
+      }
+    }
+  }
+
+  @AfterClass
+  public void thenAddAll() {
+    try {
+      // Validate result size
+      Assert.assertEquals(list.size(), 8000000);
+
+      // Validate CAS. Each batch should be kept in a row without elements of other threads
+      for (int i = 0; i < list.size(); i += BATCH_SIZE) {
+        final int first = list.get(i).i;
+
+        for (int j = 0; j < BATCH_SIZE; j++)
+          Assert.assertEquals(list.get(i + j).i, first + j);
+      }
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+    }
+  }
+
+}
@@ -0,0 +1,66 @@
+package com.extended.list;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ExtendedListMultiThreadAppenderTest {
+
+  private static final int                CHUNK_SIZE = 64;
+
+  /**
+   * Isn't divided by the chunk size, so the last chunk is flushed partially filled
+   */
+  private static final int                COUNT      = 100003;
+
+  private ExtendedList<A>                 list;
+
+  private ThreadLocal<ChunkedAppender<A>> appenders;
+
+  @BeforeClass
+  public void givenAppender() {
+    list = new ExtendedList<A>();
+    appenders = ThreadLocal.withInitial(() -> list.appender(CHUNK_SIZE));
+  }
+
+  @Test(invocationCount = 8, threadPoolSize = 8)
+  public void whenAppend() {
+    final ChunkedAppender<A> appender = appenders.get();
+
+    for (int i = 0; i < COUNT; i++)
+      appender.add(new A(i));
+
+    appender.flush();
+  }
+
+  @AfterClass
+  public void thenAppend() {
+    try {
+      // Validate result size
+      Assert.assertEquals(list.size(), 8 * COUNT);
+
+      // Validate CAS. Each chunk should be kept in a row without elements of other threads
+      int chunks = 0;
+
+      for (int i = 0; i < list.size(); chunks++) {
+        final int first = list.get(i).i;
+        final int length = Math.min(CHUNK_SIZE, COUNT - first);
+
+        Assert.assertEquals(first % CHUNK_SIZE, 0);
+
+        for (int j = 0; j < length; j++)
+          Assert.assertEquals(list.get(i + j).i, first + j);
+
+        i += length;
+      }
+
+      Assert.assertEquals(chunks, 8 * ((COUNT + CHUNK_SIZE - 1) / CHUNK_SIZE));
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+      appenders = null;
+    }
+  }
+
+}
@@ -0,0 +1,64 @@
+package com.extended.list;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ExtendedListMultiThreadCheckpointTest {
+
+  private ExtendedList<Long> list;
+
+  private List<byte[]>       checkpoints;
+
+  @BeforeClass
+  public void givenAddWriteTo() {
+    list = new ExtendedList<Long>();
+    checkpoints = new ArrayList<byte[]>();
+  }
+
+  @Test(invocationCount = 8, threadPoolSize = 8)
+  public void whenAddWriteTo() throws IOException {
+    for (long i = 0; i < 200000; i++) {
+      list.add(i);
+
+      // Checkpoints are written while other threads keep appending
+      if (i % 50000 == 0) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        list.writeTo(Channels.newChannel(output), Codecs.LONG);
+
+        synchronized (checkpoints) {
+          checkpoints.add(output.toByteArray());
+        }
+      }
+    }
+  }
+
+  @AfterClass
+  public void thenAddWriteTo() throws IOException {
+    try {
+      Assert.assertEquals(list.size(), 1600000);
+      Assert.assertEquals(checkpoints.size(), 32);
+
+      // Every checkpoint is a prefix of the list
+      for (final byte[] checkpoint : checkpoints) {
+        final ExtendedList<Long> restored = ExtendedList.readFrom(Channels.newChannel(new ByteArrayInputStream(checkpoint)),
+            Codecs.LONG);
+
+        Assert.assertEquals(restored, list.subList(0, restored.size()));
+      }
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+      checkpoints = null;
+    }
+  }
+
+}
@@ -0,0 +1,84 @@
+package com.extended.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ExtendedListMultiThreadCursorTest {
+
+  private static final int PRODUCERS = 4;
+  private static final int COUNT     = 1000000;
+
+  private ExtendedList<A>  list;
+
+  private List<Thread>     consumers;
+
+  private List<long[]>     sums;
+
+  @BeforeClass
+  public void givenAdd() {
+    list = new ExtendedList<A>();
+
+    consumers = new ArrayList<Thread>();
+    sums = new ArrayList<long[]>();
+
+    // Consumers wait for elements while producers add them
+    for (int i = 0; i < 2; i++) {
+      final long[] sum = new long[2];
+      final Cursor<A> cursor = list.cursor();
+
+      final Thread consumer = new Thread(() -> {
+        final A[] batch = new A[256];
+
+        try {
+          while (cursor.position() < PRODUCERS * COUNT) {
+            final int count = cursor.awaitNext(batch, 10, TimeUnit.SECONDS);
+
+            // Validate that cursor doesn't return pending slots
+            for (int j = 0; j < count; j++) {
+              sum[0] += batch[j].i;
+              sum[1]++;
+            }
+          }
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+
+      consumers.add(consumer);
+      sums.add(sum);
+      consumer.start();
+    }
+  }
+
+  @Test(invocationCount = PRODUCERS, threadPoolSize = PRODUCERS)
+  public void whenAdd() {
+    for (int i = 0; i < COUNT; i++)
+      list.add(new A(i));
+  }
+
+  @AfterClass
+  public void thenAdd() throws InterruptedException {
+    try {
+      for (final Thread consumer : consumers)
+        consumer.join(TimeUnit.MINUTES.toMillis(1));
+
+      // Every consumer reads every element once
+      for (final long[] sum : sums) {
+        Assert.assertEquals(sum[1], PRODUCERS * COUNT);
+        Assert.assertEquals(sum[0], PRODUCERS * ((long) COUNT * (COUNT - 1) / 2));
+      }
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+      consumers = null;
+      sums = null;
+    }
+  }
+
+}
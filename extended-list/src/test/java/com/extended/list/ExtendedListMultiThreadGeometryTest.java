@@ -0,0 +1,48 @@
+package com.extended.list;
+
+import java.util.Arrays;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ExtendedListMultiThreadGeometryTest {
+
+  private ExtendedList<A> growingList;
+
+  private ExtendedList<A> chunkedList;
+
+  @BeforeClass
+  public void givenAdd() {
+    growingList = new ExtendedList<A>(BucketGeometry.growing(1, 1.2));
+    chunkedList = new ExtendedList<A>(BucketGeometry.chunked(2, BucketGeometry.MIN_CHUNK_SIZE));
+  }
+
+  @Test(invocationCount = 8, threadPoolSize = 8)
+  public void whenAdd() {
+    for (int i = 0; i < 100000; i++) {
+      growingList.add(new A(i));
+      chunkedList.add(new A(i));
+    }
+  }
+
+  @AfterClass
+  public void thenAdd() {
+    try {
+      for (final ExtendedList<A> list : Arrays.asList(growingList, chunkedList)) {
+        // Validate result size
+        Assert.assertEquals(list.size(), 800000);
+
+        // Validate CAS. The list mustn't contain null elements because you put not-null new A()
+        for (int i = 0; i < list.size(); i++)
+          Assert.assertNotNull(list.get(i));
+      }
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      growingList = null;
+      chunkedList = null;
+    }
+  }
+
+}
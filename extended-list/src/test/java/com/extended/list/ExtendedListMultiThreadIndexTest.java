@@ -0,0 +1,82 @@
+package com.extended.list;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ExtendedListMultiThreadIndexTest {
+
+  private static final int      COUNT   = 50000;
+
+  private ExtendedList<Integer> list;
+
+  private ExtendedList<Integer> stack;
+
+  private final AtomicInteger   threads = new AtomicInteger();
+
+  @BeforeClass
+  public void givenIndexedList() {
+    list = new ExtendedList<Integer>();
+    list.setIndexed(true);
+
+    stack = new ExtendedList<Integer>();
+    stack.setIndexed(true);
+  }
+
+  @Test(invocationCount = 8, threadPoolSize = 8)
+  public void whenAddSetAndRemove() {
+    final int thread = threads.getAndIncrement();
+
+    for (int i = 0; i < COUNT; i++) {
+      // Elements of every thread are unique, so the thread sees their indexes
+      final int element = thread * COUNT + i;
+      list.add(element);
+
+      final int index = list.indexOf(element);
+      Assert.assertEquals(list.get(index), Integer.valueOf(element));
+
+      if (i % 2 == 0) {
+        Assert.assertEquals(list.set(index, -element - 1), Integer.valueOf(element));
+        Assert.assertFalse(list.contains(element));
+        Assert.assertEquals(list.lastIndexOf(-element - 1), index);
+      }
+
+      // Equal elements are added and removed at the same cells by all threads
+      stack.add(i % 4);
+      stack.remove(stack.size() - 1);
+    }
+  }
+
+  @AfterClass
+  public void thenIndexIsConsistent() {
+    try {
+      Assert.assertEquals(list.size(), 8 * COUNT);
+      Assert.assertEquals(stack.size(), 0);
+
+      for (int i = 0; i < list.size(); i++) {
+        final Integer element = list.get(i);
+
+        Assert.assertEquals(list.indexOf(element), i);
+        Assert.assertEquals(list.lastIndexOf(element), i);
+      }
+
+      for (int i = 0; i < 4; i++)
+        Assert.assertFalse(stack.contains(i));
+
+      // Cells reused after removes are indexed again
+      for (int i = 0; i < 4; i++)
+        stack.add(i);
+
+      for (int i = 0; i < 4; i++)
+        Assert.assertEquals(stack.indexOf(i), i);
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+      stack = null;
+    }
+  }
+
+}
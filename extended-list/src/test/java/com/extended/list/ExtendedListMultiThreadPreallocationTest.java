@@ -0,0 +1,50 @@
+package com.extended.list;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ExtendedListMultiThreadPreallocationTest {
+
+  private ExecutorService preallocationExecutor;
+
+  private ExtendedList<A> list;
+
+  @BeforeClass
+  public void givenAdd() {
+    preallocationExecutor = Executors.newSingleThreadExecutor();
+    list = new ExtendedList<A>(0.75, preallocationExecutor);
+  }
+
+  @Test(invocationCount = 8, threadPoolSize = 8)
+  public void whenAdd() {
+    for (int i = 0; i < 1000000; i++)
+      list.add(new A(i));
+  }
+
+  @AfterClass
+  public void thenAdd() {
+    try {
+      preallocationExecutor.shutdown();
+
+      // Validate result size
+      Assert.assertEquals(list.size(), 8000000);
+
+      // Validate CAS. The list mustn't contain null elements because you put not-null new A()
+      for (int i = 0; i < list.size(); i++)
+        Assert.assertNotNull(list.get(i));
+
+      // Every bucket is allocated once
+      Assert.assertEquals(list.stats().getAllocatedSlots(), (2 << list.stats().getBucketAllocations()) - 2);
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      preallocationExecutor = null;
+      list = null;
+    }
+  }
+
+}
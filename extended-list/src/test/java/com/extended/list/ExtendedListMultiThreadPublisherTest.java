@@ -0,0 +1,101 @@
+package com.extended.list;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ExtendedListMultiThreadPublisherTest {
+
+  private static final int    PRODUCERS = 4;
+  private static final int    COUNT     = 250000;
+
+  private ExtendedList<A>     list;
+
+  private SummingSubscriber[] subscribers;
+
+  @BeforeClass
+  public void givenAdd() {
+    list = new ExtendedList<A>();
+
+    // Unbounded subscriber and subscribers which request small batches
+    subscribers = new SummingSubscriber[] { new SummingSubscriber(Long.MAX_VALUE), new SummingSubscriber(1),
+        new SummingSubscriber(100) };
+
+    for (final SummingSubscriber subscriber : subscribers)
+      list.publisher(0).subscribe(subscriber);
+  }
+
+  @Test(invocationCount = PRODUCERS, threadPoolSize = PRODUCERS)
+  public void whenAdd() {
+    for (int i = 0; i < COUNT; i++)
+      list.add(new A(i));
+  }
+
+  @AfterClass
+  public void thenAdd() throws InterruptedException {
+    try {
+      // Every subscriber gets every element once
+      for (final SummingSubscriber subscriber : subscribers) {
+        Assert.assertTrue(subscriber.received.await(1, TimeUnit.MINUTES));
+        Assert.assertEquals(subscriber.sum, PRODUCERS * ((long) COUNT * (COUNT - 1) / 2));
+        Assert.assertNull(subscriber.error);
+      }
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+      subscribers = null;
+    }
+  }
+
+  private static class SummingSubscriber implements Flow.Subscriber<A> {
+    private final long           batch;
+
+    private final CountDownLatch received = new CountDownLatch(1);
+
+    private Flow.Subscription    subscription;
+
+    private long                 count;
+
+    private volatile long        sum;
+
+    private volatile Throwable   error;
+
+    SummingSubscriber(final long batch) {
+      this.batch = batch;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(batch);
+    }
+
+    @Override
+    public void onNext(final A item) {
+      sum += item.i;
+
+      if (++count == PRODUCERS * COUNT)
+        received.countDown();
+
+      // Request the next batch when the previous one is delivered
+      if (batch != Long.MAX_VALUE && count % batch == 0)
+        subscription.request(batch);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      Assert.fail("Publisher of the list never completes");
+    }
+  }
+
+}
@@ -0,0 +1,66 @@
+package com.extended.list;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ExtendedListMultiThreadShrinkTest {
+
+  private ExtendedList<A> list;
+
+  private AtomicInteger   removedCount;
+
+  @BeforeClass
+  public void givenAddRemove() {
+    list = new ExtendedList<A>();
+    list.setAutoShrink(true);
+
+    removedCount = new AtomicInteger();
+  }
+
+  @Test(invocationCount = 8, threadPoolSize = 8)
+  public void whenAddRemove() {
+    // Every thread grows and drains the list, so buckets are released and allocated again by concurrent add
+    for (int cycle = 0; cycle < 20; cycle++) {
+      for (int i = 0; i < 10000; i++)
+        list.add(new A(i));
+
+      for (int i = 0; i < 10000; i++) {
+        try {
+          // The list mustn't return elements of released buckets
+          Assert.assertNotNull(list.remove(list.size() - 1));
+          removedCount.incrementAndGet();
+        } catch (final IndexOutOfBoundsException e) {
+          // Other threads removed all elements
+        }
+      }
+
+      list.trimToSize();
+    }
+  }
+
+  @AfterClass
+  public void thenAddRemove() {
+    try {
+      // Validate result size
+      Assert.assertEquals(list.size(), 8 * 20 * 10000 - removedCount.get());
+
+      // Validate CAS. The list mustn't contain null elements because you put not-null new A()
+      for (int i = 0; i < list.size(); i++)
+        Assert.assertNotNull(list.get(i));
+
+      // Buckets after the last element are released
+      list.trimToSize();
+      final int size = list.size();
+      Assert.assertEquals(list.stats().getAllocatedSlots(), size == 0 ? 0 : (2 << list.getIndexOfBucket(size - 1) + 1) - 2);
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+      removedCount = null;
+    }
+  }
+
+}
@@ -0,0 +1,58 @@
+package com.extended.list;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ExtendedListMultiThreadSlotTest {
+
+  private static final int SLOTS = 100;
+
+  private ExtendedList<Long> list;
+
+  @BeforeClass
+  public void givenSlots() {
+    list = new ExtendedList<Long>();
+    for (int i = 0; i < SLOTS; i++)
+      list.add(0L);
+  }
+
+  @Test(invocationCount = 8, threadPoolSize = 8)
+  public void whenIncrement() {
+    for (int i = 0; i < 1000000; i++) {
+      final int index = i % SLOTS;
+
+      // Mix all kinds of atomic updates
+      switch (i % 3) {
+        case 0:
+          list.getAndUpdate(index, value -> value + 1);
+          break;
+        case 1:
+          list.accumulateAndGet(index, 1L, Long::sum);
+          break;
+        default:
+          Long current;
+          do
+            current = list.getVolatile(index);
+          while (!list.compareAndSet(index, current, current + 1));
+      }
+    }
+  }
+
+  @AfterClass
+  public void thenIncrement() {
+    try {
+      // Validate that no one increment is lost
+      long sum = 0;
+      for (int i = 0; i < SLOTS; i++)
+        sum += list.get(i);
+
+      Assert.assertEquals(sum, 8000000);
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+    }
+  }
+
+}
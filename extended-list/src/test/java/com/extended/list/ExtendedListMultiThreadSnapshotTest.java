@@ -0,0 +1,65 @@
+package com.extended.list;
+
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ExtendedListMultiThreadSnapshotTest {
+
+  private static final int SLOTS = 100;
+
+  private ExtendedList<Long> list;
+
+  @BeforeClass
+  public void givenSlots() {
+    list = new ExtendedList<Long>();
+    for (int i = 0; i < SLOTS; i++)
+      list.add(0L);
+  }
+
+  @Test(invocationCount = 8, threadPoolSize = 8)
+  public void whenIncrementAndSnapshot() {
+    for (int i = 0; i < 1000000; i++) {
+      // Every thread increments slots in order, so at any moment a slot isn't less than the next one
+      list.getAndUpdate(i % SLOTS, value -> value + 1);
+
+      if (i % 10000 == 0)
+        validateSnapshot(list.snapshot());
+    }
+  }
+
+  private void validateSnapshot(final List<Long> snapshot) {
+    final long[] values = new long[SLOTS];
+    for (int i = 0; i < SLOTS; i++)
+      values[i] = snapshot.get(i);
+
+    // Every thread is at most one increment ahead in the first slot
+    Assert.assertTrue(values[0] - values[SLOTS - 1] <= 8);
+
+    for (int i = 1; i < SLOTS; i++)
+      Assert.assertTrue(values[i - 1] >= values[i], "Slot " + (i - 1) + ": " + values[i - 1] + ", slot " + i + ": " + values[i]);
+
+    // Snapshot doesn't see later changes
+    for (int i = 0; i < SLOTS; i++)
+      Assert.assertEquals(snapshot.get(i).longValue(), values[i]);
+  }
+
+  @AfterClass
+  public void thenIncrement() {
+    try {
+      // Validate that no one increment is lost
+      long sum = 0;
+      for (int i = 0; i < SLOTS; i++)
+        sum += list.get(i);
+
+      Assert.assertEquals(sum, 8000000);
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+    }
+  }
+
+}
@@ -0,0 +1,189 @@
+package com.extended.list;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ExtendedListPublisherUnitTest {
+
+  @Test
+  public void testRequest() throws InterruptedException {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    final QueueSubscriber subscriber = new QueueSubscriber();
+    list.publisher(0).subscribe(subscriber);
+
+    // Nothing is delivered without demand
+    Assert.assertNull(subscriber.elements.poll(50, TimeUnit.MILLISECONDS));
+
+    subscriber.subscription.request(3);
+    for (int i = 0; i < 3; i++)
+      Assert.assertEquals(subscriber.elements.poll(1, TimeUnit.SECONDS), Integer.valueOf(i));
+
+    Assert.assertNull(subscriber.elements.poll(50, TimeUnit.MILLISECONDS));
+
+    // Demand is kept while subscriber waits for new elements
+    subscriber.subscription.request(10);
+    for (int i = 3; i < 10; i++)
+      Assert.assertEquals(subscriber.elements.poll(1, TimeUnit.SECONDS), Integer.valueOf(i));
+
+    for (int i = 10; i < 20; i++)
+      list.add(i);
+
+    for (int i = 10; i < 13; i++)
+      Assert.assertEquals(subscriber.elements.poll(1, TimeUnit.SECONDS), Integer.valueOf(i));
+
+    Assert.assertNull(subscriber.elements.poll(50, TimeUnit.MILLISECONDS));
+    Assert.assertNull(subscriber.error);
+  }
+
+  @Test
+  public void testFromIndex() throws InterruptedException {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    final QueueSubscriber subscriber = new QueueSubscriber();
+    list.publisher(8).subscribe(subscriber);
+    subscriber.subscription.request(Long.MAX_VALUE);
+
+    Assert.assertEquals(subscriber.elements.poll(1, TimeUnit.SECONDS), Integer.valueOf(8));
+    Assert.assertEquals(subscriber.elements.poll(1, TimeUnit.SECONDS), Integer.valueOf(9));
+
+    list.add(10);
+    Assert.assertEquals(subscriber.elements.poll(1, TimeUnit.SECONDS), Integer.valueOf(10));
+  }
+
+  @Test
+  public void testCancel() throws InterruptedException {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    final QueueSubscriber subscriber = new QueueSubscriber();
+    list.publisher(0).subscribe(subscriber);
+    subscriber.subscription.request(Long.MAX_VALUE);
+
+    list.add(0);
+    Assert.assertEquals(subscriber.elements.poll(1, TimeUnit.SECONDS), Integer.valueOf(0));
+
+    subscriber.subscription.cancel();
+    list.add(1);
+
+    Assert.assertNull(subscriber.elements.poll(50, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testRequestZero() throws InterruptedException {
+    final QueueSubscriber subscriber = new QueueSubscriber();
+    new ExtendedList<Integer>().publisher(0).subscribe(subscriber);
+
+    subscriber.subscription.request(0);
+
+    Assert.assertTrue(subscriber.failed.await(1, TimeUnit.SECONDS));
+    Assert.assertTrue(subscriber.error instanceof IllegalArgumentException);
+  }
+
+  @Test
+  public void testRequestNegativeInOnNext() throws InterruptedException {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    final QueueSubscriber subscriber = new QueueSubscriber() {
+      private volatile boolean delivering;
+
+      @Override
+      public void onNext(final Integer item) {
+        delivering = true;
+        super.onNext(item);
+
+        // Error is signalled after onNext returns
+        subscription.request(-1);
+        delivering = false;
+      }
+
+      @Override
+      public void onError(final Throwable throwable) {
+        Assert.assertFalse(delivering, "onError is called during onNext");
+        super.onError(throwable);
+      }
+    };
+
+    list.publisher(0).subscribe(subscriber);
+    subscriber.subscription.request(Long.MAX_VALUE);
+
+    Assert.assertTrue(subscriber.failed.await(1, TimeUnit.SECONDS));
+    Assert.assertTrue(subscriber.error instanceof IllegalArgumentException);
+
+    // Delivery stops after the error
+    Assert.assertEquals(subscriber.elements.size(), 1);
+  }
+
+  @Test
+  public void testRejectedExecution() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    list.add(0);
+
+    final QueueSubscriber subscriber = new QueueSubscriber();
+    new ExtendedListPublisher<Integer>(list, 0, task -> {
+      throw new RejectedExecutionException();
+    }).subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+
+    // The calling thread signals the error, because there is no delivery task
+    Assert.assertTrue(subscriber.error instanceof RejectedExecutionException);
+    Assert.assertTrue(subscriber.elements.isEmpty());
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void testSubscribeNull() {
+    new ExtendedList<Integer>().publisher(0).subscribe(null);
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testNegativeFromIndex() {
+    new ExtendedList<Integer>().publisher(-1);
+  }
+
+  private static class QueueSubscriber implements Flow.Subscriber<Integer> {
+    private final BlockingQueue<Integer> elements = new LinkedBlockingQueue<Integer>();
+
+    volatile Flow.Subscription           subscription;
+
+    private volatile Throwable           error;
+
+    private final CountDownLatch         failed   = new CountDownLatch(1);
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(final Integer item) {
+      elements.add(item);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      error = throwable;
+      failed.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      Assert.fail("Publisher of the list never completes");
+    }
+  }
+}
@@ -1,10 +1,25 @@
 package com.extended.list;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import com.extended.list.ExtendedList.RangeWriteOperation;
 import com.extended.list.ExtendedList.WriteOperation;
 
 public class ExtendedListUnitTest {
@@ -253,4 +268,925 @@ public class ExtendedListUnitTest {
     list.remove(0);
     list.remove(0);
   }
+
+  @Test
+  public void testAddAll() {
+    final List<Integer> list = new ExtendedList<Integer>();
+    list.add(0);
+
+    final List<Integer> elements = new ArrayList<Integer>();
+    for (int i = 1; i < 30; i++)
+      elements.add(i);
+
+    // The range crosses several buckets
+    Assert.assertTrue(list.addAll(elements));
+
+    Assert.assertEquals(list.size(), 30);
+    for (int i = 0; i < 30; i++)
+      Assert.assertEquals(list.get(i), Integer.valueOf(i));
+
+    list.add(30);
+    Assert.assertEquals(list.size(), 31);
+    Assert.assertEquals(list.get(30), Integer.valueOf(30));
+
+    System.out.println(list);
+  }
+
+  @Test
+  public void testAddAllToEmptyList() {
+    final List<Integer> list = new ExtendedList<Integer>();
+
+    Assert.assertFalse(list.addAll(Collections.<Integer> emptyList()));
+    Assert.assertEquals(list.size(), 0);
+
+    Assert.assertTrue(list.addAll(Arrays.asList(0, 1, 2)));
+    Assert.assertEquals(list.size(), 3);
+    Assert.assertEquals(list.get(0), Integer.valueOf(0));
+    Assert.assertEquals(list.get(2), Integer.valueOf(2));
+
+    // Remove last element of the range
+    Assert.assertEquals(list.remove(0), Integer.valueOf(2));
+    Assert.assertEquals(list.size(), 2);
+  }
+
+  @Test
+  public void testAddAllArray() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    final Integer[] elements = new Integer[] { 0, 1, 2, 3, 4, 5, 6 };
+
+    Assert.assertTrue(list.addAll(elements, 2, 4));
+
+    // Changes of the source array don't influence on the list
+    elements[2] = 100;
+
+    Assert.assertEquals(list.size(), 4);
+    Assert.assertEquals(list.get(0), Integer.valueOf(2));
+    Assert.assertEquals(list.get(3), Integer.valueOf(5));
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testAddAllArrayOutOfBounds() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    list.addAll(new Integer[] { 0, 1, 2 }, 2, 2);
+  }
+
+  @Test
+  public void testCompleteRangeWrite() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    final RangeWriteOperation<Integer> writeOperation = new RangeWriteOperation<Integer>(1, new Integer[] { 100, 101, 102, 103 },
+        1, 3);
+
+    // Write operation should be pending by default
+    Assert.assertTrue(writeOperation.pending);
+
+    // Try to put 101, 102 and 103 to cells 1, 2 and 3 of two buckets
+    list.completeWrite(writeOperation);
+
+    Assert.assertEquals(list.get(0), Integer.valueOf(0));
+    Assert.assertEquals(list.get(1), Integer.valueOf(101));
+    Assert.assertEquals(list.get(2), Integer.valueOf(102));
+    Assert.assertEquals(list.get(3), Integer.valueOf(103));
+    Assert.assertEquals(list.get(4), Integer.valueOf(4));
+
+    // Write operation should be finished
+    Assert.assertFalse(writeOperation.pending);
+  }
+
+  @Test
+  public void testSpliterator() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 30; i++)
+      list.add(i);
+
+    final Spliterator<Integer> suffix = list.spliterator();
+    Assert.assertEquals(suffix.getExactSizeIfKnown(), 30);
+    Assert.assertTrue(suffix.hasCharacteristics(Spliterator.SUBSIZED));
+
+    // Split on the first element of the last bucket
+    final Spliterator<Integer> prefix = suffix.trySplit();
+    Assert.assertEquals(prefix.getExactSizeIfKnown(), 14);
+    Assert.assertEquals(suffix.getExactSizeIfKnown(), 16);
+
+    // Elements added after creation aren't visible
+    list.add(30);
+
+    final List<Integer> elements = new ArrayList<Integer>();
+    prefix.forEachRemaining(elements::add);
+    Assert.assertTrue(suffix.tryAdvance(elements::add));
+    suffix.forEachRemaining(elements::add);
+    Assert.assertFalse(suffix.tryAdvance(elements::add));
+
+    Assert.assertEquals(elements, list.subList(0, 30));
+  }
+
+  @Test
+  public void testSpliteratorInsideBucket() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 4096; i++)
+      list.add(i);
+
+    final Spliterator<Integer> suffix = list.spliterator();
+
+    // The first split is on the bucket boundary [2046, 4094)
+    Assert.assertEquals(suffix.trySplit().getExactSizeIfKnown(), 2046);
+
+    // The range [2046, 4096) starts in the bucket of middle element, so it's split in the middle
+    final Spliterator<Integer> prefix = suffix.trySplit();
+    Assert.assertEquals(prefix.getExactSizeIfKnown(), 1025);
+    Assert.assertEquals(suffix.getExactSizeIfKnown(), 1025);
+
+    final List<Integer> elements = new ArrayList<Integer>();
+    suffix.forEachRemaining(elements::add);
+    Assert.assertEquals(elements, list.subList(3071, 4096));
+  }
+
+  @Test
+  public void testParallelStream() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 100000; i++)
+      list.add(i);
+
+    Assert.assertEquals(list.parallelStream().mapToLong(Integer::longValue).sum(), 4999950000L);
+    Assert.assertEquals(list.parallelStream().filter(i -> i % 2 == 0).count(), 50000);
+    Assert.assertEquals(list.parallelStream().collect(Collectors.toList()), list);
+  }
+
+  @Test
+  public void testSpliteratorOfEmptyList() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    Assert.assertEquals(list.stream().count(), 0);
+    Assert.assertNull(list.spliterator().trySplit());
+  }
+
+  @Test
+  public void testIterator() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 30; i++)
+      list.add(i);
+
+    final Iterator<Integer> iterator = list.iterator();
+
+    // Changes after creation don't throw ConcurrentModificationException
+    list.add(30);
+    list.set(29, 100);
+
+    for (int i = 0; i < 29; i++) {
+      Assert.assertTrue(iterator.hasNext());
+      Assert.assertEquals(iterator.next(), Integer.valueOf(i));
+    }
+
+    // Replaced element is visible, added element isn't
+    Assert.assertEquals(iterator.next(), Integer.valueOf(100));
+    Assert.assertFalse(iterator.hasNext());
+
+    try {
+      iterator.next();
+      Assert.fail();
+    } catch (final NoSuchElementException e) {
+      // Okay
+    }
+  }
+
+  @Test
+  public void testIteratorOfEmptyList() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    Assert.assertFalse(list.iterator().hasNext());
+
+    for (final Integer element : list)
+      Assert.fail("Unexpected element " + element);
+  }
+
+  @Test
+  public void testForEach() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 30; i++)
+      list.add(i);
+
+    final List<Integer> elements = new ArrayList<Integer>();
+
+    // Elements added during walking aren't visible
+    list.forEach(element -> {
+      elements.add(element);
+      list.add(element);
+    });
+
+    Assert.assertEquals(list.size(), 60);
+    Assert.assertEquals(elements, list.subList(0, 30));
+    Assert.assertEquals(elements, list.subList(30, 60));
+  }
+
+  @Test
+  public void testCompareAndSet() {
+    final ExtendedList<A> list = new ExtendedList<A>();
+    final A a = new A(1);
+
+    list.add(new A(0));
+    list.add(a);
+
+    // Elements are compared by reference
+    Assert.assertFalse(list.compareAndSet(1, new A(1), new A(2)));
+    Assert.assertSame(list.get(1), a);
+
+    final A b = new A(2);
+    Assert.assertTrue(list.compareAndSet(1, a, b));
+    Assert.assertSame(list.getVolatile(1), b);
+  }
+
+  @Test
+  public void testGetAndSet() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    Assert.assertEquals(list.getAndSet(5, 100), Integer.valueOf(5));
+    Assert.assertEquals(list.get(5), Integer.valueOf(100));
+  }
+
+  @Test
+  public void testGetAndUpdate() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    Assert.assertEquals(list.getAndUpdate(7, i -> i * 10), Integer.valueOf(7));
+    Assert.assertEquals(list.get(7), Integer.valueOf(70));
+  }
+
+  @Test
+  public void testAccumulateAndGet() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    Assert.assertEquals(list.accumulateAndGet(3, 10, Integer::sum), Integer.valueOf(13));
+    Assert.assertEquals(list.get(3), Integer.valueOf(13));
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testCompareAndSetIndexOutOfBounds() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    list.add(0);
+    list.compareAndSet(1, null, 1);
+  }
+
+  @Test
+  public void testSnapshot() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 30; i++)
+      list.add(i);
+
+    final List<Integer> snapshot = list.snapshot();
+
+    // Change shared buckets and reuse indexes of the snapshot
+    list.set(0, 100);
+    list.set(29, 100);
+    list.remove(29);
+    list.remove(28);
+    list.add(200);
+    list.add(300);
+    list.add(400);
+
+    Assert.assertEquals(snapshot.size(), 30);
+    for (int i = 0; i < 30; i++)
+      Assert.assertEquals(snapshot.get(i), Integer.valueOf(i));
+
+    // The next snapshot sees changes
+    final List<Integer> nextSnapshot = list.snapshot();
+
+    Assert.assertEquals(nextSnapshot.size(), 31);
+    Assert.assertEquals(nextSnapshot.get(0), Integer.valueOf(100));
+    Assert.assertEquals(nextSnapshot.get(28), Integer.valueOf(200));
+    Assert.assertEquals(nextSnapshot.get(30), Integer.valueOf(400));
+  }
+
+  @Test
+  public void testSnapshotsShareBucket() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    final List<Integer> first = list.snapshot();
+    final List<Integer> second = list.snapshot();
+
+    list.getAndUpdate(5, i -> -i);
+
+    Assert.assertEquals(first.get(5), Integer.valueOf(5));
+    Assert.assertEquals(second.get(5), Integer.valueOf(5));
+    Assert.assertEquals(list.get(5), Integer.valueOf(-5));
+  }
+
+  @Test
+  public void testSnapshotInsideUpdateFunction() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    final List<List<Integer>> snapshots = new ArrayList<List<Integer>>();
+
+    // The function runs while nothing of the bucket is held, so the snapshot doesn't wait for the update
+    list.getAndUpdate(5, i -> {
+      snapshots.add(list.snapshot());
+      return -i;
+    });
+
+    Assert.assertEquals(snapshots.size(), 1);
+    Assert.assertEquals(snapshots.get(0).get(5), Integer.valueOf(5));
+    Assert.assertEquals(list.get(5), Integer.valueOf(-5));
+  }
+
+  @Test
+  public void testSnapshotOfEmptyList() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    Assert.assertTrue(list.snapshot().isEmpty());
+
+    list.add(0);
+    list.remove(0);
+
+    Assert.assertTrue(list.snapshot().isEmpty());
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void testSnapshotIsImmutable() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    list.add(0);
+    list.snapshot().set(0, 1);
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testSnapshotIndexOutOfBounds() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    list.add(0);
+
+    final List<Integer> snapshot = list.snapshot();
+    list.add(1);
+
+    snapshot.get(1);
+  }
+
+  @Test
+  public void testEnsureCapacity() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    // Buckets for 2 + 4 + 8 + 16 elements
+    list.ensureCapacity(30);
+
+    Assert.assertEquals(list.stats().getBucketAllocations(), 4);
+    Assert.assertEquals(list.stats().getAllocatedSlots(), 30);
+    Assert.assertEquals(list.size(), 0);
+
+    for (int i = 0; i < 30; i++)
+      list.add(i);
+
+    Assert.assertEquals(list.stats().getBucketAllocations(), 4);
+    Assert.assertEquals(list.get(29), Integer.valueOf(29));
+  }
+
+  @Test
+  public void testPreallocation() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>(0.5);
+
+    // The first element fills a half of bucket 0
+    list.add(0);
+    Assert.assertEquals(list.stats().getBucketAllocations(), 2);
+
+    // The second element of bucket 1 fills a half of it
+    list.add(1);
+    list.add(2);
+    Assert.assertEquals(list.stats().getBucketAllocations(), 2);
+
+    list.add(3);
+    Assert.assertEquals(list.stats().getBucketAllocations(), 3);
+
+    list.add(4);
+
+    // Range write preallocates too
+    list.addAll(Arrays.asList(5, 6, 7, 8, 9, 10));
+    Assert.assertEquals(list.stats().getBucketAllocations(), 4);
+
+    for (int i = 0; i < 11; i++)
+      Assert.assertEquals(list.get(i), Integer.valueOf(i));
+  }
+
+  @Test
+  public void testPreallocationByExecutor() {
+    final List<Runnable> tasks = new ArrayList<Runnable>();
+    final ExtendedList<Integer> list = new ExtendedList<Integer>(1, tasks::add);
+
+    list.add(0);
+    Assert.assertEquals(tasks.size(), 0);
+
+    // Full bucket 0
+    list.add(1);
+
+    // Bucket 1 is allocated by the executor only once
+    Assert.assertEquals(tasks.size(), 1);
+    Assert.assertEquals(list.stats().getBucketAllocations(), 1);
+
+    tasks.get(0).run();
+    Assert.assertEquals(list.stats().getBucketAllocations(), 2);
+
+    list.add(2);
+    Assert.assertEquals(list.stats().getBucketAllocations(), 2);
+    Assert.assertEquals(list.get(2), Integer.valueOf(2));
+  }
+
+  @Test
+  public void testPreallocationByStalledExecutor() {
+    final List<Runnable> tasks = new ArrayList<Runnable>();
+    final ExtendedList<Integer> list = new ExtendedList<Integer>(1, tasks::add);
+
+    list.add(0);
+    list.add(1);
+    Assert.assertEquals(tasks.size(), 1);
+
+    // The executor didn't run the task, so the writer allocates bucket 1 itself
+    list.add(2);
+    Assert.assertEquals(list.get(2), Integer.valueOf(2));
+    Assert.assertEquals(list.stats().getBucketAllocations(), 2);
+
+    // Late task doesn't replace the bucket
+    tasks.get(0).run();
+    Assert.assertEquals(list.stats().getBucketAllocations(), 2);
+    Assert.assertEquals(list.get(2), Integer.valueOf(2));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testPreallocationThreshold() {
+    new ExtendedList<Integer>(0);
+  }
+
+  @Test
+  public void testRemoveClearsSlot() throws InterruptedException {
+    final ExtendedList<Object> list = new ExtendedList<Object>();
+
+    Object element = new Object();
+    final WeakReference<Object> reference = new WeakReference<Object>(element);
+
+    list.add(element);
+    list.add(new Object());
+    Assert.assertNotSame(list.remove(1), element);
+    Assert.assertSame(list.remove(0), element);
+    element = null;
+
+    // The list mustn't keep removed element
+    for (int i = 0; i < 100 && reference.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    Assert.assertNull(reference.get());
+  }
+
+  @Test
+  public void testTryRemoveClearsSlots() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    final Object[] destination = new Object[4];
+    Assert.assertEquals(list.tryRemove(destination, 4), 4);
+    Assert.assertEquals(destination, new Object[] { 9, 8, 7, 6 });
+    Assert.assertEquals(list.size(), 6);
+
+    // Added elements aren't cleared by completed remove
+    list.add(10);
+    Assert.assertEquals(list.get(6), Integer.valueOf(10));
+    Assert.assertEquals(list.tryRemove(destination, 0), 0);
+    Assert.assertEquals(list.size(), 7);
+  }
+
+  @Test
+  public void testTrimToSize() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    // Buckets for 2 + 4 + 8 + 16 elements
+    for (int i = 0; i < 30; i++)
+      list.add(i);
+
+    for (int i = 0; i < 25; i++)
+      list.remove(list.size() - 1);
+
+    Assert.assertEquals(list.stats().getAllocatedSlots(), 30);
+
+    // Buckets 0 and 1 keep 5 elements
+    list.trimToSize();
+    Assert.assertEquals(list.stats().getAllocatedSlots(), 6);
+    Assert.assertEquals(list.stats().getBucketReleases(), 2);
+    Assert.assertEquals(list, Arrays.asList(0, 1, 2, 3, 4));
+
+    // Released buckets are allocated again
+    for (int i = 5; i < 30; i++)
+      list.add(i);
+
+    Assert.assertEquals(list.stats().getAllocatedSlots(), 30);
+    Assert.assertEquals(list.get(29), Integer.valueOf(29));
+
+    while (!list.isEmpty())
+      list.remove(list.size() - 1);
+
+    list.trimToSize();
+    Assert.assertEquals(list.stats().getAllocatedSlots(), 0);
+    Assert.assertTrue(list.isEmpty());
+
+    list.add(0);
+    Assert.assertEquals(list, Arrays.asList(0));
+  }
+
+  @Test
+  public void testTrimToSizeOfEmptyList() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    list.trimToSize();
+    Assert.assertEquals(list.stats().getBucketReleases(), 0);
+  }
+
+  @Test
+  public void testAutoShrink() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    list.setAutoShrink(true);
+
+    for (int i = 0; i < 62; i++)
+      list.add(i);
+
+    // Buckets 0 - 4
+    Assert.assertEquals(list.stats().getAllocatedSlots(), 62);
+
+    // Bucket 2 of the next add and spare bucket 3 are kept
+    while (list.size() > 6)
+      list.remove(list.size() - 1);
+
+    Assert.assertEquals(list.stats().getAllocatedSlots(), 30);
+
+    // Add and remove at the border of bucket don't release the spare bucket
+    for (int i = 0; i < 10; i++) {
+      list.add(6);
+      list.remove(6);
+    }
+
+    Assert.assertEquals(list.stats().getBucketReleases(), 1);
+    Assert.assertEquals(list, Arrays.asList(0, 1, 2, 3, 4, 5));
+  }
+
+  @Test
+  public void testFootprintOfGrowDrainCycles() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    list.setAutoShrink(true);
+
+    for (int cycle = 0; cycle < 10; cycle++) {
+      for (int i = 0; i < 100000; i++)
+        list.add(i);
+
+      // 2^17 - 2 slots keep 100000 elements
+      Assert.assertEquals(list.stats().getAllocatedSlots(), (2 << 16) - 2);
+
+      while (!list.isEmpty())
+        list.remove(list.size() - 1);
+
+      // Buckets 0 and 1 are kept after drain
+      Assert.assertEquals(list.stats().getAllocatedSlots(), 6, "Cycle " + cycle);
+    }
+
+    Assert.assertEquals(list.stats().getBucketAllocations() - list.stats().getBucketReleases(), 2);
+  }
+
+  @Test
+  public void testWriteToReadFrom() throws IOException {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    // Elements don't fit to one buffer
+    for (int i = 0; i < 300000; i++)
+      list.add(i);
+
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    list.writeTo(Channels.newChannel(output), Codecs.INT);
+
+    Assert.assertEquals(output.size(), Checkpoints.HEADER_SIZE + 300000 * 4);
+
+    final ExtendedList<Integer> restored = ExtendedList.readFrom(Channels.newChannel(new ByteArrayInputStream(output
+        .toByteArray())), Codecs.INT);
+
+    Assert.assertEquals(restored, list);
+
+    // Restored list keeps growing
+    restored.add(300000);
+    Assert.assertEquals(restored.get(300000), Integer.valueOf(300000));
+  }
+
+  @Test
+  public void testWriteToReadFromEmptyList() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    new ExtendedList<Long>().writeTo(Channels.newChannel(output), Codecs.LONG);
+
+    final ExtendedList<Long> restored = ExtendedList.readFrom(Channels.newChannel(new ByteArrayInputStream(output
+        .toByteArray())), Codecs.LONG);
+
+    Assert.assertTrue(restored.isEmpty());
+    restored.add(0L);
+    Assert.assertEquals(restored.get(0), Long.valueOf(0));
+  }
+
+  @Test
+  public void testWriteToAfterSet() throws IOException {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    list.writeTo(Channels.newChannel(output), Codecs.INT);
+
+    // Checkpoint shares buckets with the list like snapshot
+    list.set(0, 100);
+    Assert.assertEquals(list.get(0), Integer.valueOf(100));
+
+    list.writeTo(Channels.newChannel(output), Codecs.INT);
+
+    final ReadableByteChannel input = Channels.newChannel(new ByteArrayInputStream(output.toByteArray()));
+    Assert.assertEquals(ExtendedList.readFrom(input, Codecs.INT).get(0), Integer.valueOf(0));
+    Assert.assertEquals(ExtendedList.readFrom(input, Codecs.INT).get(0), Integer.valueOf(100));
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void testReadFromWithAnotherCodec() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    new ExtendedList<Integer>().writeTo(Channels.newChannel(output), Codecs.INT);
+
+    ExtendedList.readFrom(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())), Codecs.LONG);
+  }
+
+  @Test(expectedExceptions = EOFException.class)
+  public void testReadFromTruncated() throws IOException {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    list.add(0);
+    list.add(1);
+
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    list.writeTo(Channels.newChannel(output), Codecs.INT);
+
+    final byte[] bytes = output.toByteArray();
+    ExtendedList.readFrom(Channels.newChannel(new ByteArrayInputStream(bytes, 0, bytes.length - 1)), Codecs.INT);
+  }
+
+  @Test
+  public void testGetRange() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    for (int i = 0; i < 100; i++)
+      list.add(i);
+
+    // The range crosses borders of several buckets
+    final Integer[] destination = new Integer[52];
+    Assert.assertEquals(list.getRange(5, 55, destination, 1), 50);
+
+    Assert.assertNull(destination[0]);
+    for (int i = 0; i < 50; i++)
+      Assert.assertEquals(destination[i + 1], Integer.valueOf(i + 5));
+    Assert.assertNull(destination[51]);
+
+    Assert.assertEquals(list.getRange(100, 100, destination, 52), 0);
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testGetRangeOutOfSize() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    list.add(0);
+
+    list.getRange(0, 2, new Integer[2], 0);
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testGetRangeOutOfDestination() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    list.add(0);
+    list.add(1);
+
+    list.getRange(0, 2, new Integer[2], 1);
+  }
+
+  @Test
+  public void testToArray() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    Assert.assertEquals(list.toArray(), new Object[0]);
+
+    final List<Integer> expected = new ArrayList<Integer>();
+    for (int i = 0; i < 100; i++) {
+      list.add(i);
+      expected.add(i);
+    }
+
+    Assert.assertEquals(list.toArray(), expected.toArray());
+    Assert.assertEquals(list.toArray(new Integer[0]), expected.toArray(new Integer[0]));
+
+    // Array larger than the list is marked by null after the last element
+    final Integer[] destination = new Integer[102];
+    Arrays.fill(destination, -1);
+
+    Assert.assertSame(list.toArray(destination), destination);
+    Assert.assertEquals(destination[99], Integer.valueOf(99));
+    Assert.assertNull(destination[100]);
+    Assert.assertEquals(destination[101], Integer.valueOf(-1));
+  }
+
+  @Test
+  public void testSubList() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    final List<Integer> expected = new ArrayList<Integer>();
+    for (int i = 0; i < 100; i++) {
+      list.add(i);
+      expected.add(i);
+    }
+
+    final List<Integer> subList = list.subList(10, 70);
+
+    Assert.assertEquals(subList, expected.subList(10, 70));
+    Assert.assertEquals(subList.toArray(), expected.subList(10, 70).toArray());
+    Assert.assertEquals(subList.toArray(new Integer[0]), expected.subList(10, 70).toArray(new Integer[0]));
+    Assert.assertEquals(subList.subList(5, 20).toArray(), expected.subList(15, 30).toArray());
+
+    // Elements are replaced through the view
+    Assert.assertEquals(subList.set(0, -10), Integer.valueOf(10));
+    Assert.assertEquals(list.get(10), Integer.valueOf(-10));
+
+    Assert.assertTrue(list.subList(100, 100).isEmpty());
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testSubListGetOutOfBounds() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    list.subList(2, 4).get(2);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testSubListOfReversedRange() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    for (int i = 0; i < 10; i++)
+      list.add(i);
+
+    list.subList(4, 2);
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void testSubListAdd() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    list.add(0);
+
+    list.subList(0, 1).add(1);
+  }
+
+  @Test
+  public void testListWithGeometry() {
+    for (final BucketGeometry geometry : new BucketGeometry[] { BucketGeometry.doubling(1), BucketGeometry.growing(4, 1.5),
+        BucketGeometry.chunked(2, BucketGeometry.MIN_CHUNK_SIZE) }) {
+      final ExtendedList<Integer> list = new ExtendedList<Integer>(geometry);
+      final List<Integer> expected = new ArrayList<Integer>();
+
+      for (int i = 0; i < 200000; i++) {
+        list.add(i);
+        expected.add(i);
+      }
+
+      Assert.assertSame(list.geometry(), geometry);
+      Assert.assertEquals(list, expected);
+      Assert.assertEquals(list.snapshot(), expected);
+      Assert.assertEquals(list.toArray(), expected.toArray());
+      Assert.assertEquals(list.parallelStream().mapToLong(Integer::longValue).sum(), 199999L * 200000 / 2);
+
+      // Released buckets follow the bucket of the last element
+      for (int i = 0; i < 100000; i++)
+        list.remove(list.size() - 1);
+
+      list.trimToSize();
+
+      final int lastBucket = list.getIndexOfBucket(list.size() - 1);
+      Assert.assertEquals(list.stats().getAllocatedSlots(), geometry.firstIndexOfBucket(lastBucket + 1));
+      Assert.assertEquals(list, expected.subList(0, 100000));
+    }
+  }
+
+  @Test
+  public void testFootprintOfChunkedGeometry() {
+    final ExtendedList<Integer> doubling = new ExtendedList<Integer>();
+    final ExtendedList<Integer> chunked = new ExtendedList<Integer>(BucketGeometry.chunked(2, BucketGeometry.MIN_CHUNK_SIZE));
+
+    for (int i = 0; i <= 1 << 20; i++) {
+      doubling.add(i);
+      chunked.add(i);
+    }
+
+    // The last doubled bucket is almost empty, the last chunk keeps 3 elements: chunks start at 2^16 - 2
+    Assert.assertEquals(doubling.stats().getAllocatedSlots(), (1L << 21) - 2);
+    Assert.assertEquals(chunked.stats().getAllocatedSlots(), (1L << 20) + BucketGeometry.MIN_CHUNK_SIZE - 2);
+  }
+
+  @Test
+  public void testIndexedLookups() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+    list.setIndexed(true);
+
+    for (int i = 0; i < 1000; i++)
+      list.add(i % 100);
+
+    list.add(null);
+
+    Assert.assertTrue(list.isIndexed());
+    Assert.assertEquals(list.indexOf(42), 42);
+    Assert.assertEquals(list.lastIndexOf(42), 942);
+    Assert.assertEquals(list.indexOf(null), 1000);
+    Assert.assertTrue(list.contains(99));
+    Assert.assertFalse(list.contains(100));
+    Assert.assertEquals(list.indexOf(100), -1);
+    Assert.assertEquals(list.lastIndexOf(100), -1);
+
+    // Set moves the index of the cell to the new element
+    Assert.assertEquals(list.set(42, 100), Integer.valueOf(42));
+    Assert.assertEquals(list.indexOf(100), 42);
+    Assert.assertEquals(list.indexOf(42), 142);
+
+    Assert.assertTrue(list.compareAndSet(142, list.get(142), 200));
+    Assert.assertEquals(list.getAndUpdate(242, i -> 300), Integer.valueOf(42));
+    Assert.assertEquals(list.accumulateAndGet(342, 400, (i, x) -> x), Integer.valueOf(400));
+    Assert.assertEquals(list.indexOf(42), 442);
+    Assert.assertEquals(list.lastIndexOf(200), 142);
+    Assert.assertEquals(list.lastIndexOf(300), 242);
+    Assert.assertEquals(list.lastIndexOf(400), 342);
+
+    // Remove drops the index of the last element
+    Assert.assertNull(list.remove(list.size() - 1));
+    Assert.assertFalse(list.contains(null));
+    Assert.assertEquals(list.remove(list.size() - 1), Integer.valueOf(99));
+    Assert.assertEquals(list.lastIndexOf(99), 899);
+
+    // Equal element added to the same cell
+    list.add(99);
+    Assert.assertEquals(list.lastIndexOf(99), 999);
+  }
+
+  @Test
+  public void testIndexOfAddedRanges() {
+    final ExtendedList<String> list = new ExtendedList<String>();
+    list.setIndexed(true);
+
+    list.addAll(Arrays.asList("a", "b", "c"));
+    list.addAll(new String[] { "x", "b", "y" }, 1, 1);
+
+    final ChunkedAppender<String> appender = list.appender(2);
+    appender.add("c");
+    appender.add("d");
+    appender.add("e");
+    appender.flush();
+
+    Assert.assertEquals(list, Arrays.asList("a", "b", "c", "b", "c", "d", "e"));
+    Assert.assertEquals(list.indexOf("b"), 1);
+    Assert.assertEquals(list.lastIndexOf("b"), 3);
+    Assert.assertEquals(list.lastIndexOf("c"), 4);
+    Assert.assertEquals(list.indexOf("e"), 6);
+  }
+
+  @Test
+  public void testEnableAndDisableIndex() {
+    final ExtendedList<Integer> list = new ExtendedList<Integer>();
+
+    for (int i = 0; i < 1000; i++)
+      list.add(i);
+
+    // Lookups scan the list without index
+    Assert.assertFalse(list.isIndexed());
+    Assert.assertEquals(list.indexOf(500), 500);
+
+    // Index is built from elements of the list
+    list.setIndexed(true);
+    Assert.assertEquals(list.indexOf(500), 500);
+    Assert.assertEquals(list.lastIndexOf(999), 999);
+
+    list.set(500, -1);
+
+    list.setIndexed(false);
+    Assert.assertFalse(list.isIndexed());
+    Assert.assertEquals(list.indexOf(-1), 500);
+    Assert.assertFalse(list.contains(500));
+  }
 }
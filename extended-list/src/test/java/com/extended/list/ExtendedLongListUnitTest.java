@@ -0,0 +1,75 @@
+package com.extended.list;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ExtendedLongListUnitTest {
+
+  @Test
+  public void testAddGetSetRemove() {
+    final ExtendedLongList list = new ExtendedLongList();
+
+    for (long i = 0; i < 30; i++)
+      list.addLong(Integer.MAX_VALUE + i);
+
+    Assert.assertEquals(list.size(), 30);
+    Assert.assertEquals(list.getLong(0), Integer.MAX_VALUE);
+    Assert.assertEquals(list.getLong(29), Integer.MAX_VALUE + 29L);
+
+    Assert.assertEquals(list.setLong(15, Long.MAX_VALUE), Integer.MAX_VALUE + 15L);
+    Assert.assertEquals(list.getLong(15), Long.MAX_VALUE);
+
+    // Remove last element, index doesn't influence
+    Assert.assertEquals(list.removeLong(0), Integer.MAX_VALUE + 29L);
+    Assert.assertEquals(list.size(), 29);
+  }
+
+  @Test
+  public void testBoxedList() {
+    final List<Long> list = new ExtendedLongList();
+
+    list.add(1L);
+    list.add(2L);
+
+    Assert.assertEquals(list.get(1), Long.valueOf(2));
+    Assert.assertEquals(list.remove(0), Long.valueOf(2));
+    Assert.assertEquals(list.size(), 1);
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testGetIndexOutOfBounds() {
+    final ExtendedLongList list = new ExtendedLongList();
+    list.addLong(0);
+    list.getLong(1);
+  }
+
+  @Test
+  public void testWriteToReadFrom() throws IOException {
+    final ExtendedLongList list = new ExtendedLongList();
+
+    // Elements don't fit to one buffer
+    for (int i = 0; i < 300000; i++)
+      list.addLong(Integer.MAX_VALUE + (long) i);
+
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    list.writeTo(Channels.newChannel(output));
+
+    final ExtendedLongList restored = ExtendedLongList.readFrom(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())));
+
+    Assert.assertEquals(restored.size(), 300000);
+    for (int i = 0; i < 300000; i++)
+      Assert.assertEquals(restored.getLong(i), Integer.MAX_VALUE + (long) i);
+
+    // Primitive checkpoint has the same format as checkpoint written by codec
+    final ExtendedList<Long> boxed = ExtendedList.readFrom(Channels.newChannel(new ByteArrayInputStream(output
+        .toByteArray())), Codecs.LONG);
+
+    Assert.assertEquals(boxed, list);
+  }
+}
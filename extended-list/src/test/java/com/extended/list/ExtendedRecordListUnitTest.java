@@ -0,0 +1,258 @@
+package com.extended.list;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ExtendedRecordListUnitTest {
+
+  static final RecordCodec<A> A_CODEC = new RecordCodec.Ints<A>() {
+    @Override
+    public int intFields() {
+      return 1;
+    }
+
+    @Override
+    public int getInt(final A element, final int field) {
+      return element.i;
+    }
+
+    @Override
+    public A read(final Fields fields) {
+      return new A(fields.getInt(0));
+    }
+  };
+
+  private static final RecordCodec<Point> POINT_CODEC = new PointCodec();
+
+  @Test
+  public void testAddGetSize() {
+    final ExtendedRecordList<A> list = new ExtendedRecordList<A>(A_CODEC);
+
+    for (int i = 0; i < 30; i++)
+      list.add(new A(i));
+
+    Assert.assertEquals(list.size(), 30);
+    Assert.assertEquals(list.get(0).i, 0);
+    Assert.assertEquals(list.get(15).i, 15);
+    Assert.assertEquals(list.get(29).i, 29);
+
+    Assert.assertEquals(list.getInt(0, 0), 0);
+    Assert.assertEquals(list.getInt(29, 0), 29);
+
+    // Buckets for 2 + 4 + 8 + 16 ints
+    Assert.assertEquals(list.allocatedBytes(), 30 * 4);
+
+    System.out.println(list);
+  }
+
+  @Test
+  public void testEmptyList() {
+    final ExtendedRecordList<A> list = new ExtendedRecordList<A>(A_CODEC);
+
+    Assert.assertEquals(list.size(), 0);
+    Assert.assertTrue(list.isEmpty());
+    Assert.assertEquals(list.allocatedBytes(), 0);
+  }
+
+  @Test
+  public void testFieldsOfSeveralTypes() {
+    final ExtendedRecordList<Point> list = new ExtendedRecordList<Point>(POINT_CODEC);
+
+    for (int i = 0; i < 100; i++)
+      list.add(new Point(i, -i, Long.MAX_VALUE - i, i / 2.0));
+
+    Assert.assertEquals(list.size(), 100);
+    Assert.assertEquals(list.get(50), new Point(50, -50, Long.MAX_VALUE - 50, 25.0));
+
+    Assert.assertEquals(list.getInt(70, 0), 70);
+    Assert.assertEquals(list.getInt(70, 1), -70);
+    Assert.assertEquals(list.getLong(70, 0), Long.MAX_VALUE - 70);
+    Assert.assertEquals(list.getDouble(70, 0), 35.0);
+
+    // Buckets for 126 elements of 2 ints, long and double
+    Assert.assertEquals(list.allocatedBytes(), 126 * 24);
+  }
+
+  @Test
+  public void testFieldsOfOneKind() {
+    // Codec declares only long fields, so it doesn't implement getters of other kinds
+    final ExtendedRecordList<Long> list = new ExtendedRecordList<Long>(new RecordCodec.Longs<Long>() {
+      @Override
+      public int longFields() {
+        return 1;
+      }
+
+      @Override
+      public long getLong(final Long element, final int field) {
+        return element;
+      }
+
+      @Override
+      public Long read(final Fields fields) {
+        return fields.getLong(0);
+      }
+    });
+
+    for (long i = 0; i < 30; i++)
+      list.add(Long.MAX_VALUE - i);
+
+    Assert.assertEquals(list.get(29), Long.valueOf(Long.MAX_VALUE - 29));
+    Assert.assertEquals(list.getLong(15, 0), Long.MAX_VALUE - 15);
+
+    // Buckets for 2 + 4 + 8 + 16 longs
+    Assert.assertEquals(list.allocatedBytes(), 30 * 8);
+  }
+
+  @Test
+  public void testSet() {
+    final ExtendedRecordList<Point> list = new ExtendedRecordList<Point>(POINT_CODEC);
+
+    for (int i = 0; i < 30; i++)
+      list.add(new Point(i, i, i, i));
+
+    Assert.assertEquals(list.set(15, new Point(1, 2, 3, 4.0)), new Point(15, 15, 15, 15.0));
+
+    Assert.assertEquals(list.size(), 30);
+    Assert.assertEquals(list.get(15), new Point(1, 2, 3, 4.0));
+  }
+
+  @Test
+  public void testRemove() {
+    final ExtendedRecordList<A> list = new ExtendedRecordList<A>(A_CODEC);
+    list.add(new A(0));
+    list.add(new A(1));
+    list.add(new A(2));
+
+    // Remove last element, index doesn't influence
+    Assert.assertEquals(list.remove(0).i, 2);
+    Assert.assertEquals(list.size(), 2);
+
+    Assert.assertEquals(list.remove(0).i, 1);
+    Assert.assertEquals(list.remove(0).i, 0);
+    Assert.assertTrue(list.isEmpty());
+
+    list.add(new A(3));
+    Assert.assertEquals(list.get(0).i, 3);
+  }
+
+  @Test
+  public void testForEachInt() {
+    final ExtendedRecordList<A> list = new ExtendedRecordList<A>(A_CODEC);
+
+    for (int i = 0; i < 1000; i++)
+      list.add(new A(i));
+
+    final List<Integer> result = new ArrayList<Integer>();
+    list.forEachInt(0, result::add);
+
+    Assert.assertEquals(result.size(), 1000);
+    for (int i = 0; i < 1000; i++)
+      Assert.assertEquals(result.get(i).intValue(), i);
+
+    // Empty list doesn't call the action
+    new ExtendedRecordList<A>(A_CODEC).forEachInt(0, i -> Assert.fail());
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testGetIndexOutOfBounds() {
+    final ExtendedRecordList<A> list = new ExtendedRecordList<A>(A_CODEC);
+
+    for (int i = 0; i < 30; i++)
+      list.add(new A(i));
+
+    list.getInt(30, 0);
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testFieldOutOfBounds() {
+    final ExtendedRecordList<A> list = new ExtendedRecordList<A>(A_CODEC);
+    list.add(new A(0));
+
+    list.forEachInt(1, i -> Assert.fail());
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testRemoveFromEmptyList() {
+    new ExtendedRecordList<A>(A_CODEC).remove(0);
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void testAddNull() {
+    new ExtendedRecordList<A>(A_CODEC).add(null);
+  }
+
+  private static final class PointCodec implements RecordCodec.Ints<Point>, RecordCodec.Longs<Point>,
+      RecordCodec.Doubles<Point> {
+
+    @Override
+    public int intFields() {
+      return 2;
+    }
+
+    @Override
+    public int longFields() {
+      return 1;
+    }
+
+    @Override
+    public int doubleFields() {
+      return 1;
+    }
+
+    @Override
+    public int getInt(final Point element, final int field) {
+      return field == 0 ? element.x : element.y;
+    }
+
+    @Override
+    public long getLong(final Point element, final int field) {
+      return element.id;
+    }
+
+    @Override
+    public double getDouble(final Point element, final int field) {
+      return element.weight;
+    }
+
+    @Override
+    public Point read(final Fields fields) {
+      return new Point(fields.getInt(0), fields.getInt(1), fields.getLong(0), fields.getDouble(0));
+    }
+  }
+
+  private static final class Point {
+    final int    x;
+    final int    y;
+    final long   id;
+    final double weight;
+
+    Point(final int x, final int y, final long id, final double weight) {
+      this.x = x;
+      this.y = y;
+      this.id = id;
+      this.weight = weight;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof Point))
+        return false;
+
+      final Point other = (Point) obj;
+      return x == other.x && y == other.y && id == other.id && weight == other.weight;
+    }
+
+    @Override
+    public int hashCode() {
+      return x * 31 + y;
+    }
+
+    @Override
+    public String toString() {
+      return "[" + x + ", " + y + ", " + id + ", " + weight + "]";
+    }
+  }
+}
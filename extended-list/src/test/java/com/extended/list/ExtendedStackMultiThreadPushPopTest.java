@@ -0,0 +1,71 @@
+package com.extended.list;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.testng.collections.Lists;
+
+public class ExtendedStackMultiThreadPushPopTest {
+
+  private static final int COUNT = 1000000;
+
+  private ExtendedStack<A> stack;
+  private AtomicLongArray  popped;
+  private CountDownLatch   countDownLatch;
+
+  private class Pusher implements Runnable {
+    @Override
+    public void run() {
+      for (int i = 0; i < COUNT; i++)
+        stack.push(new A(i));
+
+      countDownLatch.countDown();
+    }
+  }
+
+  private class Popper implements Runnable {
+    @Override
+    public void run() {
+      for (int i = 0; i < COUNT; i++) {
+        final A a = stack.pop();
+
+        // In case empty stack try to pop one more time
+        if (a == null)
+          i--;
+        else
+          popped.incrementAndGet(a.i);
+      }
+
+      countDownLatch.countDown();
+    }
+  }
+
+  @BeforeClass
+  public void setUp() {
+    stack = new ExtendedStack<A>(4);
+    popped = new AtomicLongArray(COUNT);
+    countDownLatch = new CountDownLatch(8);
+  }
+
+  @Test
+  public void test4Push4Pop() throws InterruptedException {
+    final List<Runnable> workers = Lists.newArrayList(new Pusher(), new Popper(), new Pusher(), new Popper(), new Pusher(),
+        new Popper(), new Pusher(), new Popper());
+
+    for (final Runnable worker : workers)
+      (new Thread(worker)).start();
+
+    // Wait finishing a work
+    countDownLatch.await();
+
+    Assert.assertTrue(stack.isEmpty());
+
+    // Every pushed element is popped exactly once
+    for (int i = 0; i < COUNT; i++)
+      Assert.assertEquals(popped.get(i), 4);
+  }
+}
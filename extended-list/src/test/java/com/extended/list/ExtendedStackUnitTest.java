@@ -0,0 +1,68 @@
+package com.extended.list;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ExtendedStackUnitTest {
+
+  @Test
+  public void testPushPop() {
+    final ExtendedStack<Integer> stack = new ExtendedStack<Integer>();
+
+    for (int i = 0; i < 30; i++)
+      stack.push(i);
+
+    Assert.assertEquals(stack.size(), 30);
+    Assert.assertEquals(stack.peek(), Integer.valueOf(29));
+
+    for (int i = 29; i >= 0; i--)
+      Assert.assertEquals(stack.pop(), Integer.valueOf(i));
+
+    Assert.assertTrue(stack.isEmpty());
+  }
+
+  @Test
+  public void testEmptyStack() {
+    final ExtendedStack<Integer> stack = new ExtendedStack<Integer>();
+
+    Assert.assertNull(stack.pop());
+    Assert.assertNull(stack.peek());
+    Assert.assertEquals(stack.popBatch(10), Collections.emptyList());
+
+    stack.push(1);
+    Assert.assertEquals(stack.pop(), Integer.valueOf(1));
+    Assert.assertNull(stack.pop());
+  }
+
+  @Test
+  public void testPopBatch() {
+    final ExtendedStack<Integer> stack = new ExtendedStack<Integer>();
+
+    for (int i = 0; i < 10; i++)
+      stack.push(i);
+
+    Assert.assertEquals(stack.popBatch(3), Arrays.asList(9, 8, 7));
+    Assert.assertEquals(stack.size(), 7);
+    Assert.assertEquals(stack.peek(), Integer.valueOf(6));
+
+    // Batch is limited by size of the stack
+    Assert.assertEquals(stack.popBatch(100), Arrays.asList(6, 5, 4, 3, 2, 1, 0));
+    Assert.assertTrue(stack.isEmpty());
+
+    stack.push(10);
+    Assert.assertEquals(stack.pop(), Integer.valueOf(10));
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void testPushNull() {
+    new ExtendedStack<Integer>().push(null);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testZeroEliminationArray() {
+    new ExtendedStack<Integer>(0);
+  }
+}
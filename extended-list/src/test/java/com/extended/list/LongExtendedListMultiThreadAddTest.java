@@ -0,0 +1,39 @@
+package com.extended.list;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class LongExtendedListMultiThreadAddTest {
+
+  private LongExtendedList<Integer> list;
+
+  @BeforeClass
+  public void givenAdd() {
+    // Small chunks, so threads allocate chunks concurrently
+    list = new LongExtendedList<Integer>(10);
+  }
+
+  @Test(invocationCount = 8, threadPoolSize = 8)
+  public void whenAdd() {
+    for (int i = 0; i < 1000000; i++)
+      list.add(i);
+  }
+
+  @AfterClass
+  public void thenAdd() {
+    try {
+      // Validate result size
+      Assert.assertEquals(list.longSize(), 8000000);
+
+      // Validate CAS
+      for (long i = 0; i < list.longSize(); i++)
+        Assert.assertNotNull(list.get(i));
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+    }
+  }
+
+}
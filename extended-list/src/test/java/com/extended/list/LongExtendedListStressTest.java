@@ -0,0 +1,109 @@
+package com.extended.list;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+/**
+ * Several threads add elements and remove the last ones, so cells are written, removed and written again while late
+ * helpers can still complete their writes.<br>
+ * Adding of more than 3 * 10^9 elements needs about 14GB of heap, so it's run only with
+ * <code>-Dcom.extended.list.stress=true</code>
+ */
+public class LongExtendedListStressTest {
+
+  private static final long SIZE    = 3100000000L;
+  private static final int  THREADS = 4;
+
+  @Test
+  public void testAddRemoveChurn() throws InterruptedException {
+    // Small chunks, so writes cross chunks
+    final LongExtendedList<Long> list = new LongExtendedList<Long>(2);
+    final List<List<Long>> removed = new ArrayList<List<Long>>();
+
+    final Thread[] threads = new Thread[THREADS];
+
+    for (int t = 0; t < THREADS; t++) {
+      final long thread = t;
+      final List<Long> removedByThread = new ArrayList<Long>();
+      removed.add(removedByThread);
+
+      threads[t] = new Thread(() -> {
+        // Every element is a new object, so the element written by late helper is visible
+        for (long i = 0; i < 200000; i++) {
+          list.add(thread << 32 | i);
+
+          if (i % 3 == 0)
+            removedByThread.add(list.remove());
+        }
+      });
+      threads[t].start();
+    }
+
+    for (final Thread thread : threads)
+      thread.join();
+
+    // Every added element is either in the list or removed once
+    final Set<Long> elements = new HashSet<Long>();
+
+    for (long i = 0; i < list.longSize(); i++)
+      Assert.assertTrue(elements.add(list.get(i)), "Duplicate at " + i);
+
+    for (final List<Long> removedByThread : removed)
+      for (final Long element : removedByThread)
+        Assert.assertTrue(elements.add(element), "Removed twice: " + element);
+
+    Assert.assertEquals(elements.size(), THREADS * 200000);
+  }
+
+  @Test
+  public void testAddBeyondInteger() throws InterruptedException {
+    if (!Boolean.getBoolean("com.extended.list.stress"))
+      throw new SkipException("Stress tests are enabled by -Dcom.extended.list.stress=true");
+
+    final LongExtendedList<Integer> list = new LongExtendedList<Integer>();
+
+    // Counts of elements of every thread which were added and not removed
+    final AtomicLongArray counts = new AtomicLongArray(THREADS);
+
+    final Thread[] threads = new Thread[THREADS];
+
+    for (int t = 0; t < THREADS; t++) {
+      // Cached elements don't take heap, every thread adds its own
+      final Integer element = Integer.valueOf(t);
+
+      threads[t] = new Thread(() -> {
+        for (long i = 0; i < SIZE / THREADS; i++) {
+          list.add(element);
+          counts.incrementAndGet(element);
+
+          // Cells of the end are removed and written again
+          if (i % 1000 == 0) {
+            counts.decrementAndGet(list.remove());
+            list.add(element);
+            counts.incrementAndGet(element);
+          }
+        }
+      });
+      threads[t].start();
+    }
+
+    for (final Thread thread : threads)
+      thread.join();
+
+    Assert.assertEquals(list.longSize(), SIZE / THREADS * THREADS);
+
+    final long[] actual = new long[THREADS];
+    for (long i = 0; i < list.longSize(); i++)
+      actual[list.get(i)]++;
+
+    for (int t = 0; t < THREADS; t++)
+      Assert.assertEquals(actual[t], counts.get(t), "Thread " + t);
+  }
+}
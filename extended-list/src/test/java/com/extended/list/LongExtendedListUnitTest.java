@@ -0,0 +1,79 @@
+package com.extended.list;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LongExtendedListUnitTest {
+
+  @Test
+  public void testAddGetSize() {
+    final LongExtendedList<Integer> list = new LongExtendedList<Integer>();
+
+    for (int i = 0; i < 1000; i++)
+      list.add(i);
+
+    Assert.assertEquals(list.longSize(), 1000);
+    for (int i = 0; i < 1000; i++)
+      Assert.assertEquals(list.get(i), Integer.valueOf(i));
+  }
+
+  @Test
+  public void testChunks() {
+    // Chunks of 4 elements, so bucket 2 has two chunks and bucket 9 has 256 chunks
+    final LongExtendedList<Integer> list = new LongExtendedList<Integer>(2);
+
+    for (int i = 0; i < 2000; i++)
+      list.add(i);
+
+    for (int i = 0; i < 2000; i++)
+      Assert.assertEquals(list.get(i), Integer.valueOf(i));
+
+    Assert.assertEquals(list.set(1500, -1), Integer.valueOf(1500));
+    Assert.assertEquals(list.get(1500), Integer.valueOf(-1));
+
+    // Remove last element
+    Assert.assertEquals(list.remove(), Integer.valueOf(1999));
+    Assert.assertEquals(list.longSize(), 1999);
+
+    list.add(2000);
+    Assert.assertEquals(list.get(1998), Integer.valueOf(1998));
+    Assert.assertEquals(list.get(1999), Integer.valueOf(2000));
+  }
+
+  @Test
+  public void testGeometryBeyondInteger() {
+    final LongExtendedList<Integer> list = new LongExtendedList<Integer>();
+
+    // Bucket 30 starts from 2^31 - 2 and keeps 2^31 elements
+    Assert.assertEquals(list.getIndexOfBucket(Integer.MAX_VALUE - 2L), 29);
+    Assert.assertEquals(list.getIndexOfBucket(Integer.MAX_VALUE - 1L), 30);
+    Assert.assertEquals(list.getIndexInBucket(30, Integer.MAX_VALUE - 1L), 0);
+
+    final long index = 3000000000L;
+    final int bucket = list.getIndexOfBucket(index);
+    final long indexInBucket = list.getIndexInBucket(bucket, index);
+
+    Assert.assertEquals(bucket, 30);
+    Assert.assertEquals(indexInBucket, index - Integer.MAX_VALUE + 1);
+
+    // Chunks of 2^26 elements
+    Assert.assertEquals(list.getIndexOfChunk(indexInBucket), (int) (indexInBucket >>> 26));
+    Assert.assertEquals(list.getIndexInChunk(indexInBucket), (int) (indexInBucket % (1 << 26)));
+
+    // The last bucket of long indexes
+    Assert.assertEquals(list.getIndexOfBucket(Long.MAX_VALUE - 2), 61);
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testGetIndexOutOfBounds() {
+    final LongExtendedList<Integer> list = new LongExtendedList<Integer>();
+
+    list.add(0);
+    list.get(1);
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testRemoveFromEmptyList() {
+    new LongExtendedList<Integer>().remove();
+  }
+}
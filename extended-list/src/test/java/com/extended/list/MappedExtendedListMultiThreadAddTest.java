@@ -0,0 +1,54 @@
+package com.extended.list;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class MappedExtendedListMultiThreadAddTest {
+
+  private Path                        file;
+
+  private MappedExtendedList<Integer> list;
+
+  @BeforeClass
+  public void givenAdd() throws IOException {
+    file = Files.createTempFile("mapped-extended-list", ".bin");
+    Files.delete(file);
+
+    list = new MappedExtendedList<Integer>(file, Codecs.INT);
+  }
+
+  @Test(invocationCount = 8, threadPoolSize = 8)
+  public void whenAdd() {
+    // Zero is never added, so it means lost write
+    for (int i = 1; i <= 1000000; i++)
+      list.add(i);
+  }
+
+  @AfterClass
+  public void thenAdd() throws IOException {
+    try {
+      list.close();
+
+      // Validate result of reopened list
+      try (final MappedExtendedList<Integer> reopened = new MappedExtendedList<Integer>(file, Codecs.INT)) {
+        Assert.assertEquals(reopened.size(), 8000000);
+
+        // Validate CAS
+        for (int i = 0; i < reopened.size(); i++)
+          Assert.assertNotEquals(reopened.get(i).intValue(), 0);
+      }
+
+      Files.delete(file);
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+    }
+  }
+
+}
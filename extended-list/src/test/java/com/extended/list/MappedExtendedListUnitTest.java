@@ -0,0 +1,224 @@
+package com.extended.list;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class MappedExtendedListUnitTest {
+
+  private Path file;
+
+  @BeforeMethod
+  public void createFile() throws IOException {
+    file = Files.createTempFile("mapped-extended-list", ".bin");
+    Files.delete(file);
+  }
+
+  @AfterMethod
+  public void deleteFile() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void testAddGetSize() throws IOException {
+    try (final MappedExtendedList<Long> list = new MappedExtendedList<Long>(file, Codecs.LONG)) {
+      for (long i = 0; i < 30; i++)
+        list.add(Long.MAX_VALUE - i);
+
+      Assert.assertEquals(list.size(), 30);
+      Assert.assertEquals(list.get(0), Long.valueOf(Long.MAX_VALUE));
+      Assert.assertEquals(list.get(15), Long.valueOf(Long.MAX_VALUE - 15));
+      Assert.assertEquals(list.get(29), Long.valueOf(Long.MAX_VALUE - 29));
+
+      // Buckets for 2 + 4 + 8 + 16 longs
+      Assert.assertEquals(list.allocatedBytes(), 30 * 8);
+    }
+
+    Assert.assertEquals(Files.size(file), MappedExtendedList.HEADER_SIZE + 30 * 8);
+  }
+
+  @Test
+  public void testReopen() throws IOException {
+    try (final MappedExtendedList<Integer> list = new MappedExtendedList<Integer>(file, Codecs.INT)) {
+      for (int i = 0; i < 100; i++)
+        list.add(i);
+
+      list.set(50, -50);
+      list.remove(0);
+    }
+
+    try (final MappedExtendedList<Integer> list = new MappedExtendedList<Integer>(file, Codecs.INT)) {
+      Assert.assertEquals(list.size(), 99);
+      Assert.assertEquals(list.get(0), Integer.valueOf(0));
+      Assert.assertEquals(list.get(50), Integer.valueOf(-50));
+      Assert.assertEquals(list.get(98), Integer.valueOf(98));
+
+      // Buckets of 2 + 4 + 8 + 16 + 32 + 64 ints are mapped again
+      Assert.assertEquals(list.allocatedBytes(), 126 * 4);
+
+      // Appending continues after the saved size
+      list.add(1000);
+      Assert.assertEquals(list.get(99), Integer.valueOf(1000));
+    }
+
+    try (final MappedExtendedList<Integer> list = new MappedExtendedList<Integer>(file, Codecs.INT)) {
+      Assert.assertEquals(list.size(), 100);
+      Assert.assertEquals(list.get(99), Integer.valueOf(1000));
+    }
+  }
+
+  @Test
+  public void testForce() throws IOException {
+    final MappedExtendedList<Double> list = new MappedExtendedList<Double>(file, Codecs.DOUBLE);
+
+    for (int i = 0; i < 10; i++)
+      list.add(i / 2.0);
+
+    list.force();
+
+    // The header of the file is updated by force, so it can be read while the list is open
+    try (final MappedExtendedList<Double> copy = new MappedExtendedList<Double>(file, Codecs.DOUBLE)) {
+      Assert.assertEquals(copy.size(), 10);
+      Assert.assertEquals(copy.get(9), 4.5);
+    }
+
+    list.close();
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void testReopenWithAnotherCodec() throws IOException {
+    try (final MappedExtendedList<Integer> list = new MappedExtendedList<Integer>(file, Codecs.INT)) {
+      list.add(0);
+    }
+
+    new MappedExtendedList<Long>(file, Codecs.LONG);
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void testOpenNotListFile() throws IOException {
+    Files.write(file, new byte[MappedExtendedList.HEADER_SIZE]);
+
+    new MappedExtendedList<Integer>(file, Codecs.INT);
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void testOpenTruncatedFile() throws IOException {
+    try (final MappedExtendedList<Integer> list = new MappedExtendedList<Integer>(file, Codecs.INT)) {
+      for (int i = 0; i < 10; i++)
+        list.add(i);
+    }
+
+    // The file keeps only the first bucket, the size counts elements of 3 buckets
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.truncate(MappedExtendedList.HEADER_SIZE + 2 * Integer.BYTES);
+    }
+
+    new MappedExtendedList<Integer>(file, Codecs.INT);
+  }
+
+  @Test
+  public void testConcurrentForce() throws IOException, InterruptedException {
+    try (final MappedExtendedList<Integer> list = new MappedExtendedList<Integer>(file, Codecs.INT)) {
+      final Thread[] threads = new Thread[4];
+
+      for (int t = 0; t < threads.length; t++) {
+        threads[t] = new Thread(() -> {
+          for (int i = 1; i <= 10000; i++) {
+            list.add(i);
+
+            if (i % 1000 == 0)
+              list.force();
+          }
+        });
+        threads[t].start();
+      }
+
+      for (final Thread thread : threads)
+        thread.join();
+
+      list.force();
+    }
+
+    try (final MappedExtendedList<Integer> list = new MappedExtendedList<Integer>(file, Codecs.INT)) {
+      Assert.assertEquals(list.size(), 40000);
+
+      for (int i = 0; i < list.size(); i++)
+        Assert.assertNotEquals(list.get(i).intValue(), 0);
+    }
+  }
+
+  @Test
+  public void testBucketOverflow() throws IOException {
+    // The first bucket needs 2 GB
+    final Codec<Integer> codec = new Codec<Integer>() {
+      @Override
+      public int size() {
+        return 1 << 30;
+      }
+
+      @Override
+      public void write(final ByteBuffer buffer, final int position, final Integer element) {
+        throw new AssertionError();
+      }
+
+      @Override
+      public Integer read(final ByteBuffer buffer, final int position) {
+        throw new AssertionError();
+      }
+    };
+
+    try (final MappedExtendedList<Integer> list = new MappedExtendedList<Integer>(file, codec)) {
+      try {
+        list.add(0);
+        Assert.fail();
+      } catch (final IllegalStateException e) {
+        // Okay
+      }
+
+      // The element wasn't published, so the list isn't broken
+      Assert.assertEquals(list.size(), 0);
+
+      try {
+        list.remove(0);
+        Assert.fail();
+      } catch (final IndexOutOfBoundsException e) {
+        // Okay
+      }
+    }
+  }
+
+  @Test
+  public void testClose() throws IOException {
+    final MappedExtendedList<Integer> list = new MappedExtendedList<Integer>(file, Codecs.INT);
+
+    list.add(0);
+    list.close();
+
+    Assert.assertEquals(list.allocatedBytes(), 0);
+
+    // Closing twice is allowed
+    list.close();
+
+    try {
+      list.get(0);
+      Assert.fail();
+    } catch (final IllegalStateException e) {
+      // Okay
+    }
+
+    try {
+      list.force();
+      Assert.fail();
+    } catch (final IllegalStateException e) {
+      // Okay
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.extended.list;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class OffHeapExtendedListMultiThreadAddTest {
+
+  private OffHeapExtendedList<Integer> list;
+
+  @BeforeClass
+  public void givenAdd() {
+    list = new OffHeapExtendedList<Integer>(Codecs.INT);
+  }
+
+  @Test(invocationCount = 8, threadPoolSize = 8)
+  public void whenAdd() {
+    // Zero is never added, so it means lost write
+    for (int i = 1; i <= 1000000; i++)
+      list.add(i);
+  }
+
+  @AfterClass
+  public void thenAdd() {
+    try {
+      // Validate result size
+      Assert.assertEquals(list.size(), 8000000);
+
+      // Validate CAS
+      for (int i = 0; i < list.size(); i++)
+        Assert.assertNotEquals(list.get(i).intValue(), 0);
+
+      list.close();
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+    }
+  }
+
+}
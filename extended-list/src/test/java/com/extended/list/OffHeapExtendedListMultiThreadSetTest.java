@@ -0,0 +1,91 @@
+package com.extended.list;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Set isn't atomic for readers: a reader can build the element from fields of the old and the new record, but every
+ * field is one of the written values
+ */
+public class OffHeapExtendedListMultiThreadSetTest {
+
+  private static final int          SIZE = 16;
+  private static final int          SETS = 200000;
+
+  /**
+   * Record of two <code>int</code> fields
+   */
+  private static final Codec<int[]> PAIR = new Codec<int[]>() {
+    @Override
+    public int size() {
+      return 2 * Integer.BYTES;
+    }
+
+    @Override
+    public void write(final ByteBuffer buffer, final int position, final int[] element) {
+      buffer.putInt(position, element[0]);
+      buffer.putInt(position + Integer.BYTES, element[1]);
+    }
+
+    @Override
+    public int[] read(final ByteBuffer buffer, final int position) {
+      return new int[] { buffer.getInt(position), buffer.getInt(position + Integer.BYTES) };
+    }
+  };
+
+  private OffHeapExtendedList<int[]> list;
+  private AtomicInteger              threads;
+
+  @BeforeClass
+  public void givenSet() {
+    list = new OffHeapExtendedList<int[]>(PAIR);
+    threads = new AtomicInteger();
+
+    for (int i = 0; i < SIZE; i++)
+      list.add(new int[] { 0, 0 });
+  }
+
+  @Test(invocationCount = 4, threadPoolSize = 4)
+  public void whenSet() {
+    // One thread sets records of both fields equal to the counter, other threads read them
+    if (threads.getAndIncrement() == 0) {
+      for (int i = 1; i <= SETS; i++)
+        list.set(i % SIZE, new int[] { i, i });
+
+      return;
+    }
+
+    for (int i = 0; i < SETS; i++) {
+      final int[] element = list.get(i % SIZE);
+
+      // Fields can be of different records, but they are whole values written by set of the index
+      for (final int field : element)
+        Assert.assertTrue(field == 0 || field % SIZE == i % SIZE && field <= SETS, "Field wasn't written: " + field);
+    }
+  }
+
+  @AfterClass
+  public void thenSet() {
+    try {
+      // Records which aren't set concurrently are whole
+      for (int i = 0; i < SIZE; i++) {
+        final int[] element = list.get(i);
+
+        Assert.assertEquals(element[0], element[1]);
+        Assert.assertEquals(element[0] % SIZE, i);
+      }
+
+      list.close();
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+      threads = null;
+    }
+  }
+
+}
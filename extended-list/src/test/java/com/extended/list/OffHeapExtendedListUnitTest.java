@@ -0,0 +1,144 @@
+package com.extended.list;
+
+import java.nio.ByteBuffer;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class OffHeapExtendedListUnitTest {
+
+  private static final Codec<A> CODEC = new Codec<A>() {
+    @Override
+    public int size() {
+      return 4;
+    }
+
+    @Override
+    public void write(final ByteBuffer buffer, final int position, final A element) {
+      buffer.putInt(position, element.i);
+    }
+
+    @Override
+    public A read(final ByteBuffer buffer, final int position) {
+      return new A(buffer.getInt(position));
+    }
+  };
+
+  @Test
+  public void testAddGetSize() {
+    final OffHeapExtendedList<Long> list = new OffHeapExtendedList<Long>(Codecs.LONG);
+
+    for (long i = 0; i < 30; i++)
+      list.add(Long.MAX_VALUE - i);
+
+    Assert.assertEquals(list.size(), 30);
+    Assert.assertEquals(list.get(0), Long.valueOf(Long.MAX_VALUE));
+    Assert.assertEquals(list.get(15), Long.valueOf(Long.MAX_VALUE - 15));
+    Assert.assertEquals(list.get(29), Long.valueOf(Long.MAX_VALUE - 29));
+
+    // Buckets for 2 + 4 + 8 + 16 longs
+    Assert.assertEquals(list.allocatedBytes(), 30 * 8);
+
+    list.close();
+  }
+
+  @Test
+  public void testRecordCodec() {
+    final OffHeapExtendedList<A> list = new OffHeapExtendedList<A>(CODEC);
+
+    for (int i = 0; i < 30; i++)
+      list.add(new A(i));
+
+    Assert.assertEquals(list.set(15, new A(100)).i, 15);
+    Assert.assertEquals(list.get(15).i, 100);
+
+    // Remove last element, index doesn't influence
+    Assert.assertEquals(list.remove(0).i, 29);
+    Assert.assertEquals(list.size(), 29);
+
+    list.close();
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testGetIndexOutOfBounds() {
+    final OffHeapExtendedList<Integer> list = new OffHeapExtendedList<Integer>(Codecs.INT);
+
+    list.add(0);
+    list.get(1);
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void testAddNull() {
+    final OffHeapExtendedList<Integer> list = new OffHeapExtendedList<Integer>(Codecs.INT);
+    list.add(null);
+  }
+
+  @Test
+  public void testClose() {
+    final OffHeapExtendedList<Double> list = new OffHeapExtendedList<Double>(Codecs.DOUBLE);
+
+    for (int i = 0; i < 30; i++)
+      list.add(i / 2.0);
+
+    list.close();
+
+    Assert.assertEquals(list.allocatedBytes(), 0);
+
+    // Closing twice is allowed
+    list.close();
+
+    try {
+      list.get(0);
+      Assert.fail();
+    } catch (final IllegalStateException e) {
+      // Okay
+    }
+
+    try {
+      list.add(0.0);
+      Assert.fail();
+    } catch (final IllegalStateException e) {
+      // Okay
+    }
+  }
+
+  @Test
+  public void testBucketOverflow() {
+    // The first bucket needs 2 GB
+    final OffHeapExtendedList<A> list = new OffHeapExtendedList<A>(new Codec<A>() {
+      @Override
+      public int size() {
+        return 1 << 30;
+      }
+
+      @Override
+      public void write(final ByteBuffer buffer, final int position, final A element) {
+        throw new AssertionError();
+      }
+
+      @Override
+      public A read(final ByteBuffer buffer, final int position) {
+        throw new AssertionError();
+      }
+    });
+
+    try {
+      list.add(new A(0));
+      Assert.fail();
+    } catch (final IllegalStateException e) {
+      // Okay
+    }
+
+    // The element wasn't published, so the list isn't broken
+    Assert.assertEquals(list.size(), 0);
+
+    try {
+      list.remove(0);
+      Assert.fail();
+    } catch (final IndexOutOfBoundsException e) {
+      // Okay
+    }
+
+    list.close();
+  }
+}
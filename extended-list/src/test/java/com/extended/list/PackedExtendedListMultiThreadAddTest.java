@@ -0,0 +1,42 @@
+package com.extended.list;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class PackedExtendedListMultiThreadAddTest {
+
+  private PackedExtendedList<A> list;
+
+  @BeforeClass
+  public void givenAdd() {
+    list = new PackedExtendedList<A>();
+  }
+
+  @Test(invocationCount = 8, threadPoolSize = 8)
+  public void whenAdd() {
+    for (int i = 0; i < 1000000; i++)
+      list.add(new A(i));
+  }
+
+  @AfterClass
+  public void thenAdd() {
+    try {
+      // Validate result size
+      Assert.assertEquals(list.size(), 8000000);
+
+      // Validate CAS. Every element of every thread should be added once
+      final int[] counts = new int[1000000];
+      for (int i = 0; i < list.size(); i++)
+        counts[list.get(i).i]++;
+
+      for (int i = 0; i < counts.length; i++)
+        Assert.assertEquals(counts[i], 8);
+    } finally {
+      // TestNG keeps instances of test classes until the end of suite
+      list = null;
+    }
+  }
+
+}
@@ -0,0 +1,85 @@
+package com.extended.list;
+
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PackedExtendedListUnitTest {
+
+  @Test
+  public void testAddGetSize() {
+    final List<Integer> list = new PackedExtendedList<Integer>();
+
+    Assert.assertEquals(list.size(), 0);
+
+    for (int i = 0; i < 30; i++)
+      list.add(i);
+
+    Assert.assertEquals(list.size(), 30);
+    Assert.assertEquals(list.get(0), Integer.valueOf(0));
+    Assert.assertEquals(list.get(15), Integer.valueOf(15));
+    Assert.assertEquals(list.get(29), Integer.valueOf(29));
+
+    System.out.println(list);
+  }
+
+  @Test
+  public void testAddNull() {
+    final List<Integer> list = new PackedExtendedList<Integer>();
+
+    list.add(null);
+    list.add(1);
+
+    Assert.assertNull(list.get(0));
+    Assert.assertEquals(list.get(1), Integer.valueOf(1));
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testGetIndexOutOfBounds() {
+    final List<Integer> list = new PackedExtendedList<Integer>();
+
+    for (int i = 0; i < 30; i++)
+      list.add(i);
+
+    list.get(30);
+  }
+
+  @Test
+  public void testSet() {
+    final List<Integer> list = new PackedExtendedList<Integer>();
+
+    for (int i = 0; i < 30; i++)
+      list.add(i);
+
+    Assert.assertEquals(list.set(15, 100), Integer.valueOf(15));
+    Assert.assertEquals(list.get(15), Integer.valueOf(100));
+  }
+
+  @Test
+  public void testRemove() {
+    final List<Integer> list = new PackedExtendedList<Integer>();
+    list.add(0);
+    list.add(1);
+    list.add(2);
+
+    // Remove last element, index doesn't influence
+    Assert.assertEquals(list.remove(0), Integer.valueOf(2));
+    Assert.assertEquals(list.size(), 2);
+    Assert.assertEquals(list.remove(0), Integer.valueOf(1));
+    Assert.assertEquals(list.remove(0), Integer.valueOf(0));
+    Assert.assertEquals(list.size(), 0);
+
+    list.add(5);
+    Assert.assertEquals(list.size(), 1);
+    Assert.assertEquals(list.get(0), Integer.valueOf(5));
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testRemoveWhenSizeZerro() {
+    final List<Integer> list = new PackedExtendedList<Integer>();
+    list.add(0);
+    list.remove(0);
+    list.remove(0);
+  }
+}